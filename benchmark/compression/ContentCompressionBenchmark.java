@@ -0,0 +1,134 @@
+import com.example.chatapp.config.ContentCompressionProperties;
+import com.example.chatapp.service.ContentCompressor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ContentCompressor의 절감 바이트와 CPU 비용 측정.
+ * 메시지 크기 분포: 일반 대화 90%(수십 자), 긴 글 8%(수백~2천 자), 봇 페이로드 2%(JSON 로그 2KB~64KB).
+ *
+ * 사용법은 README.md 참고. 인자: [메시지 수] [반복 횟수]
+ */
+public class ContentCompressionBenchmark {
+
+    private static final String[] WORDS = {
+            "안녕하세요", "오늘", "회의", "자료", "확인", "부탁드립니다", "네", "감사합니다", "배포", "완료",
+            "점심", "어디서", "먹을까요", "ok", "the", "build", "is", "green", "please", "review", "PR", "thanks",
+            "ㅋㅋㅋ", "내일", "일정", "변경", "됐어요", "링크", "https://example.com/docs", "😀"
+    };
+    private static final String[] LEVELS = {"INFO", "WARN", "ERROR", "DEBUG"};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Random random = new Random(20240101L);
+        List<String> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(generate(random));
+        }
+
+        ContentCompressionProperties properties = new ContentCompressionProperties();
+        ContentCompressor compressor = new ContentCompressor(properties);
+
+        // 워밍업
+        run(compressor, messages);
+
+        for (int round = 1; round <= rounds; round++) {
+            Result result = run(compressor, messages);
+            System.out.printf(
+                    "round %d: messages=%d compressed=%d raw=%,d B stored=%,d B saved=%.1f%% "
+                            + "compress=%.0f ns/msg decompress=%.0f ns/compressed-msg%n",
+                    round, count, result.compressedCount, result.rawBytes, result.storedBytes,
+                    100.0 * (result.rawBytes - result.storedBytes) / result.rawBytes,
+                    (double) result.compressNanos / count,
+                    result.compressedCount == 0 ? 0.0 : (double) result.decompressNanos / result.compressedCount);
+        }
+    }
+
+    private static Result run(ContentCompressor compressor, List<String> messages) {
+        Result result = new Result();
+        List<ContentCompressor.Compressed> compressed = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (String message : messages) {
+            ContentCompressor.Compressed c = compressor.compress(message);
+            if (c != null) {
+                compressed.add(c);
+            }
+        }
+        result.compressNanos = System.nanoTime() - start;
+
+        long checksum = 0;
+        start = System.nanoTime();
+        for (ContentCompressor.Compressed c : compressed) {
+            checksum += compressor.decompress(c.encoding(), c.content(), c.originalLength()).length();
+        }
+        result.decompressNanos = System.nanoTime() - start;
+
+        for (String message : messages) {
+            result.rawBytes += message.getBytes(StandardCharsets.UTF_8).length;
+        }
+        long compressedRaw = 0;
+        for (ContentCompressor.Compressed c : compressed) {
+            compressedRaw += c.originalLength();
+            result.storedBytes += c.content().length();
+        }
+        result.storedBytes += result.rawBytes - compressedRaw;
+        result.compressedCount = compressed.size();
+        result.checksum = checksum;
+        return result;
+    }
+
+    private static String generate(Random random) {
+        double p = random.nextDouble();
+        if (p < 0.90) {
+            // 로그정규 분포 (중앙값 약 6단어)
+            return sentence(random, (int) Math.max(1, Math.round(Math.exp(1.8 + 0.8 * random.nextGaussian()))));
+        }
+        if (p < 0.98) {
+            return sentence(random, 60 + random.nextInt(340));
+        }
+        return botPayload(random, 2048 + random.nextInt(62 * 1024));
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String botPayload(Random random, int targetBytes) {
+        StringBuilder builder = new StringBuilder("{\"source\":\"ci-bot\",\"lines\":[");
+        long timestamp = 1_700_000_000_000L + random.nextInt(1_000_000);
+        while (builder.length() < targetBytes) {
+            timestamp += random.nextInt(500);
+            builder.append("{\"ts\":").append(timestamp)
+                    .append(",\"level\":\"").append(LEVELS[random.nextInt(LEVELS.length)])
+                    .append("\",\"thread\":\"worker-").append(random.nextInt(16))
+                    .append("\",\"msg\":\"").append(sentence(random, 3 + random.nextInt(10)))
+                    .append("\",\"requestId\":\"").append(Long.toHexString(random.nextLong()))
+                    .append("\"},");
+        }
+        builder.setLength(builder.length() - 1);
+        return builder.append("]}").toString();
+    }
+
+    private static class Result {
+        long rawBytes;
+        long storedBytes;
+        long compressNanos;
+        long decompressNanos;
+        int compressedCount;
+        // 해제 결과를 사용해 JIT가 루프를 제거하지 않도록 함
+        long checksum;
+    }
+}
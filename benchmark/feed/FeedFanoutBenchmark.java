@@ -0,0 +1,174 @@
+import com.example.chatapp.service.ChannelFeedIndex;
+import com.example.chatapp.service.ChannelFeedIndex.FeedSubscriber;
+import com.example.chatapp.service.ChannelFeedService;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 채널별 토픽 구독(/topic/channel/{id}) vs 사용자 피드(/user/queue/feed + ChannelFeedIndex) 비교.
+ * 구독 등록 시간, 힙 사용량, 메시지 1건을 수신 세션별 MESSAGE 프레임으로 만드는 시간을 잰다.
+ * - topic: SimpleBroker처럼 DefaultSubscriptionRegistry로 구독 세션을 찾고 세션마다 헤더를 복사해 프레임을 만든다.
+ * - feed: ChannelFeedIndex에서 (세션, 구독 ID)를 바로 꺼내 ChannelFeedService.feedMessage로 프레임을 만든다.
+ *
+ * 같은 메시지 목록을 두 번 보내고 두 번째(목적지 캐시가 찬 상태)를 측정한다.
+ *
+ * 인자: [세션 수] [세션당 채널 수] [전체 채널 수] [메시지 수] [목적지 캐시 한도]
+ */
+public class FeedFanoutBenchmark {
+
+    private static final byte[] PAYLOAD = "{\"channelId\":\"c\",\"content\":\"hello\"}".getBytes();
+
+    // 만든 프레임을 JIT가 지우지 않도록 잡아 둠
+    private static volatile Message<?> sink;
+
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int channelsPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int totalChannels = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        int messages = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+        int cacheLimit = args.length > 4 ? Integer.parseInt(args[4]) : DefaultSubscriptionRegistry.DEFAULT_CACHE_LIMIT;
+
+        Random random = new Random(7);
+        List<List<String>> membership = new ArrayList<>(sessions);
+        for (int s = 0; s < sessions; s++) {
+            Set<String> channels = new HashSet<>();
+            while (channels.size() < channelsPerSession) {
+                channels.add("channel-" + random.nextInt(totalChannels));
+            }
+            membership.add(new ArrayList<>(channels));
+        }
+        List<String> messageChannels = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            messageChannels.add("channel-" + random.nextInt(totalChannels));
+        }
+
+        System.out.printf("sessions=%d channels/session=%d channels=%d messages=%d cacheLimit=%d%n",
+                sessions, channelsPerSession, totalChannels, messages, cacheLimit);
+        topic(sessions, membership, messageChannels, cacheLimit);
+        feed(sessions, membership, messageChannels, cacheLimit);
+    }
+
+    private static void topic(int sessions, List<List<String>> membership, List<String> messageChannels, int cacheLimit) {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        DefaultSubscriptionRegistry registry = new DefaultSubscriptionRegistry();
+        registry.setCacheLimit(cacheLimit);
+        int subscriptions = 0;
+        for (int s = 0; s < sessions; s++) {
+            int subscriptionId = 0;
+            for (String channelId : membership.get(s)) {
+                registry.registerSubscription(subscribe("session-" + s, "sub-" + subscriptionId++, "/topic/" + channelId));
+                subscriptions++;
+            }
+        }
+        long registerNanos = System.nanoTime() - start;
+        long heap = usedHeap() - heapBefore;
+
+        List<Message<?>> outbound = new ArrayList<>(messageChannels.size());
+        for (String channelId : messageChannels) {
+            outbound.add(message("/topic/" + channelId));
+        }
+        long deliveries = 0;
+        long matchNanos = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            deliveries = 0;
+            start = System.nanoTime();
+            for (Message<?> message : outbound) {
+                MultiValueMap<String, String> result = registry.findSubscriptions(message);
+                for (Map.Entry<String, List<String>> entry : result.entrySet()) {
+                    for (String subscriptionId : entry.getValue()) {
+                        sink = brokerReply(message, entry.getKey(), subscriptionId);
+                        deliveries++;
+                    }
+                }
+            }
+            matchNanos = System.nanoTime() - start;
+        }
+
+        report("topic", subscriptions, registerNanos, heap, matchNanos, outbound.size(), deliveries);
+    }
+
+    private static void feed(int sessions, List<List<String>> membership, List<String> messageChannels, int cacheLimit) {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        // 피드 구독도 SimpleBroker에 등록은 되지만 전달에는 쓰이지 않는다
+        DefaultSubscriptionRegistry registry = new DefaultSubscriptionRegistry();
+        registry.setCacheLimit(cacheLimit);
+        ChannelFeedIndex index = new ChannelFeedIndex();
+        for (int s = 0; s < sessions; s++) {
+            String sessionId = "session-" + s;
+            registry.registerSubscription(subscribe(sessionId, "feed", "/queue/feed-user" + sessionId));
+            List<String> channels = membership.get(s);
+            index.addSession("user-" + s, sessionId, "feed", userId -> channels);
+        }
+        long registerNanos = System.nanoTime() - start;
+        long heap = usedHeap() - heapBefore;
+
+        long deliveries = 0;
+        long matchNanos = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            deliveries = 0;
+            start = System.nanoTime();
+            for (String channelId : messageChannels) {
+                for (FeedSubscriber subscriber : index.getSubscribers(channelId)) {
+                    sink = ChannelFeedService.feedMessage(subscriber, PAYLOAD);
+                    deliveries++;
+                }
+            }
+            matchNanos = System.nanoTime() - start;
+        }
+
+        report("feed ", sessions, registerNanos, heap, matchNanos, messageChannels.size(), deliveries);
+    }
+
+    private static void report(String name, int subscriptions, long registerNanos, long heap,
+                               long matchNanos, int messages, long deliveries) {
+        System.out.printf("%s: subscriptions=%,d register=%,d ms heap=%,d MB "
+                        + "match=%.1f us/msg (%.0f ns/delivery) deliveries=%,d%n",
+                name, subscriptions, registerNanos / 1_000_000, heap / (1024 * 1024),
+                matchNanos / 1000.0 / messages, (double) matchNanos / Math.max(1, deliveries), deliveries);
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(PAYLOAD, accessor.getMessageHeaders());
+    }
+
+    // SimpleBrokerMessageHandler.sendMessageToSubscribers가 구독 세션마다 만드는 프레임
+    private static Message<?> brokerReply(Message<?> message, String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.copyHeadersIfAbsent(message.getHeaders());
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
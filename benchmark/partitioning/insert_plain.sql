@@ -0,0 +1,7 @@
+-- saveMessage 경로: 채널 최대 시퀀스 조회 후 INSERT
+\set c random(0, :channels - 1)
+BEGIN;
+SELECT COALESCE(MAX(sequence_number), 0) FROM bench_messages_plain WHERE channel_id = 'channel-' || :c;
+INSERT INTO bench_messages_plain VALUES (nextval('bench_messages_id_seq'), 'channel-' || :c, 'user-1', repeat('x', 100),
+    'bench-' || nextval('bench_messages_id_seq'), 'CHAT', 0, now(), now());
+COMMIT;
@@ -0,0 +1,7 @@
+-- getMessages 경로: 최신 페이지와 beforeSequence 페이지
+\set c random(0, :channels - 1)
+\set before random(2, :rows / :channels)
+SELECT id, channel_id, user_id, content, message_type, sequence_number, created_at FROM bench_messages_plain
+WHERE channel_id = 'channel-' || :c ORDER BY sequence_number DESC LIMIT 20;
+SELECT id, channel_id, user_id, content, message_type, sequence_number, created_at FROM bench_messages_plain
+WHERE channel_id = 'channel-' || :c AND sequence_number < :before ORDER BY sequence_number DESC LIMIT 20;
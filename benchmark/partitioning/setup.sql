@@ -0,0 +1,52 @@
+-- 파티션/비파티션 비교용 테이블과 데이터 생성 (psql -v rows=100000000 -v channels=100000 -f setup.sql)
+-- 12개월에 걸쳐 채널별 시퀀스가 created_at 순서로 증가하도록 생성한다.
+\set ON_ERROR_STOP on
+
+DROP TABLE IF EXISTS bench_messages_plain, bench_messages_part CASCADE;
+
+CREATE TABLE bench_messages_plain (
+    id BIGINT NOT NULL,
+    channel_id VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    client_message_id VARCHAR(255) NOT NULL,
+    message_type VARCHAR(255) NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE bench_messages_part (LIKE bench_messages_plain INCLUDING DEFAULTS, PRIMARY KEY (id, created_at))
+    PARTITION BY RANGE (created_at);
+
+DO $$
+DECLARE
+    month_start TIMESTAMP WITH TIME ZONE := date_trunc('month', now()) - INTERVAL '11 months';
+BEGIN
+    FOR i IN 0..13 LOOP
+        EXECUTE format('CREATE TABLE bench_messages_part_%s PARTITION OF bench_messages_part FOR VALUES FROM (%L) TO (%L)',
+                       i, month_start + make_interval(months => i), month_start + make_interval(months => i + 1));
+    END LOOP;
+END $$;
+
+-- 행 n: 채널 (n % channels), 채널 내 시퀀스 n / channels, created_at은 12개월 구간에 n 순서로 분포
+INSERT INTO bench_messages_plain
+SELECT n, 'channel-' || (n % :channels), 'user-' || (n % 1000), repeat('x', 100), 'client-' || n, 'CHAT',
+       n / :channels + 1,
+       date_trunc('month', now()) - INTERVAL '11 months' + (n::float8 / :rows) * INTERVAL '335 days',
+       now()
+FROM generate_series(0, :rows - 1) AS n;
+
+INSERT INTO bench_messages_part SELECT * FROM bench_messages_plain;
+
+CREATE INDEX ON bench_messages_plain (channel_id, sequence_number);
+CREATE INDEX ON bench_messages_plain (user_id, channel_id, client_message_id);
+CREATE INDEX ON bench_messages_part (channel_id, sequence_number);
+CREATE INDEX ON bench_messages_part (user_id, channel_id, client_message_id);
+
+CREATE SEQUENCE IF NOT EXISTS bench_messages_id_seq;
+SELECT setval('bench_messages_id_seq', :rows);
+
+VACUUM ANALYZE bench_messages_plain;
+VACUUM ANALYZE bench_messages_part;
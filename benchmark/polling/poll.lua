@@ -0,0 +1,48 @@
+-- GET /messages 폴링. 연결(스레드)마다 채널 하나를 맡아 마지막으로 받은 ETag를 If-None-Match로 보낸다.
+-- 사용: wrk -t4 -c200 -d60s -s poll.lua http://localhost:8080 -- <채널 수> <etag|plain>
+
+local channels = 100
+local mode = "etag"
+local counter = 0
+local threads = {}
+
+function setup(thread)
+   thread:set("id", counter)
+   table.insert(threads, thread)
+   counter = counter + 1
+end
+
+function init(args)
+   channels = tonumber(args[1] or channels)
+   mode = args[2] or mode
+   etag = nil
+   notModified = 0
+   ok = 0
+end
+
+function request()
+   local path = "/messages?channelId=poll-channel-" .. (id % channels)
+   local headers = {}
+   if mode == "etag" and etag ~= nil then
+      headers["If-None-Match"] = etag
+   end
+   return wrk.format("GET", path, headers)
+end
+
+function response(status, headers, body)
+   if status == 304 then
+      notModified = notModified + 1
+   elseif status == 200 then
+      ok = ok + 1
+      etag = headers["ETag"] or headers["etag"]
+   end
+end
+
+function done(summary, latency, requests)
+   local totalOk, totalNotModified = 0, 0
+   for _, thread in ipairs(threads) do
+      totalOk = totalOk + thread:get("ok")
+      totalNotModified = totalNotModified + thread:get("notModified")
+   end
+   io.write(string.format("200: %d, 304: %d\n", totalOk, totalNotModified))
+end
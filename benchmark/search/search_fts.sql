@@ -0,0 +1,13 @@
+-- MessageSearchRepository와 같은 쿼리 (첫 페이지 20건). :word는 단어 번호 (작을수록 일치 행이 많음)
+\set c random(0, :channels - 1)
+WITH q AS (SELECT to_tsquery('simple', (
+    SELECT string_agg(quote_literal(lexeme) || ':*', ' & ')
+    FROM unnest(tsvector_to_array(to_tsvector('simple', 'w' || lpad(:word::text, 3, '0')))) AS lexeme)) AS query)
+SELECT page.*, ts_headline('simple', page.content, q.query, 'MaxWords=20, MinWords=5, MaxFragments=2') AS highlight
+FROM q CROSS JOIN LATERAL (
+    SELECT id, channel_id, user_id, content, message_type, sequence_number, created_at,
+           ts_rank_cd(m.search_vector, q.query) AS rank
+    FROM bench_search_messages m
+    WHERE m.channel_id = 'channel-' || :c AND m.message_type = 'CHAT' AND m.search_vector @@ q.query
+    ORDER BY rank DESC, m.sequence_number DESC LIMIT 21) page
+ORDER BY page.rank DESC, page.sequence_number DESC;
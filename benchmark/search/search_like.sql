@@ -0,0 +1,6 @@
+-- 비교 기준: 채널 범위 LIKE 스캔 (최신 순 20건, 순위/하이라이트 없음)
+\set c random(0, :channels - 1)
+SELECT id, channel_id, user_id, content, message_type, sequence_number, created_at
+FROM bench_search_messages
+WHERE channel_id = 'channel-' || :c AND content LIKE '%w' || lpad(:word::text, 3, '0') || '%'
+ORDER BY sequence_number DESC LIMIT 21;
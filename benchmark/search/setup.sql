@@ -0,0 +1,34 @@
+-- 전문 검색 벤치마크용 테이블과 데이터 생성 (psql -v rows=50000000 -v channels=10000 -f setup.sql)
+-- 본문은 빈도가 다른 단어 200개(w001 ~ w200)에서 무작위로 8~20개를 골라 만든다 (w001이 가장 흔하고 번호가 클수록 드묾).
+-- 단어 길이를 맞춰 접두어 매칭(w001:*)이 다른 단어에 일치하지 않게 한다.
+-- 인덱스/생성 컬럼 정의는 V14 마이그레이션과 같다.
+\set ON_ERROR_STOP on
+
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+DROP TABLE IF EXISTS bench_search_messages;
+
+CREATE TABLE bench_search_messages (
+    id BIGINT NOT NULL PRIMARY KEY,
+    channel_id VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    message_type VARCHAR(255) NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('simple'::regconfig, content)) STORED
+);
+
+-- 단어 번호는 1 + floor(200 * random()^3) - 작은 번호일수록 자주 나옴
+-- 하위 쿼리가 n을 참조해야 행마다 다시 실행됨 (참조가 없으면 한 번만 실행되어 모든 행이 같은 본문)
+INSERT INTO bench_search_messages (id, channel_id, user_id, content, message_type, sequence_number, created_at)
+SELECT n, 'channel-' || (n % :channels), 'user-' || (n % 1000),
+       (SELECT string_agg('w' || lpad((1 + floor(200 * random() ^ 3))::int::text, 3, '0'), ' ')
+        FROM generate_series(1, 8 + (n % 13)) WHERE n IS NOT NULL),
+       'CHAT', n / :channels + 1, now() - (:rows - n) * INTERVAL '1 second'
+FROM generate_series(0, :rows - 1) AS n;
+
+CREATE INDEX ON bench_search_messages (channel_id, sequence_number);
+CREATE INDEX idx_bench_search ON bench_search_messages USING gin (channel_id, search_vector);
+
+VACUUM ANALYZE bench_search_messages;
@@ -0,0 +1,28 @@
+package com.example.chatapp.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 저장마다 한 번씩 계산되는 멱등키 해시.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdempotencyKeyBenchmark {
+
+    private final String userId = "user-12345";
+    private final String channelId = "channel-6789";
+    private long counter;
+
+    @Benchmark
+    public byte[] generateHash() {
+        return IdempotencyKey.generateHash(userId, channelId, "client-msg-" + (counter++));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getMessages에서 캐시 결과와 DB 결과를 합치는 단계 (정렬 + 중복 제거).
+ * 캐시가 페이지 일부만 가진 경우를 가정해 두 목록이 overlap 건만큼 겹친다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MergeMessagesBenchmark {
+
+    @Param({"50", "200"})
+    private int pageSize;
+
+    @Param({"0", "10"})
+    private int overlap;
+
+    private List<MessageResponse> cachedMessages;
+    private List<MessageResponse> dbMessages;
+
+    @Setup
+    public void setUp() {
+        int cachedCount = pageSize / 2;
+        ZonedDateTime now = ZonedDateTime.now();
+
+        cachedMessages = new ArrayList<>();
+        for (long sequence = pageSize; sequence > pageSize - cachedCount; sequence--) {
+            cachedMessages.add(message(sequence, now));
+        }
+        dbMessages = new ArrayList<>();
+        for (long sequence = pageSize - cachedCount + overlap; sequence > 0; sequence--) {
+            dbMessages.add(message(sequence, now));
+        }
+    }
+
+    @Benchmark
+    public List<MessageResponse> latest() {
+        return MessageService.mergeMessages(cachedMessages, dbMessages, null);
+    }
+
+    @Benchmark
+    public List<MessageResponse> afterSequence() {
+        return MessageService.mergeMessages(cachedMessages, dbMessages, 0L);
+    }
+
+    private static MessageResponse message(long sequence, ZonedDateTime now) {
+        return new MessageResponse(sequence, "channel-6789", "user-" + (sequence % 10), "메시지 " + sequence,
+                Message.MessageType.CHAT, sequence, now);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.ContentCompressionProperties;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageCacheService가 캐시(ZSet 멤버)에 쓰고 읽는 JSON 직렬화/역직렬화.
+ * contentLength가 압축 임계치(1KB) 이상이면 LZ4 압축/해제가 포함된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageCacheSerializationBenchmark {
+
+    @Param({"80", "4096"})
+    private int contentLength;
+
+    private MessageCacheService messageCacheService;
+    private MessageResponse message;
+    private String serialized;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Spring Boot 기본 설정과 같게 날짜를 ISO 문자열로 직렬화
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ContentCompressor contentCompressor = new ContentCompressor(new ContentCompressionProperties());
+        messageCacheService = new MessageCacheService(null, objectMapper, null, contentCompressor, null);
+
+        message = new MessageResponse(1_000_001L, "channel-6789", "user-12345", content(contentLength),
+                Message.MessageType.CHAT, 1_000_001L, ZonedDateTime.now());
+        serialized = messageCacheService.serialize(message);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return messageCacheService.serialize(message);
+    }
+
+    @Benchmark
+    public MessageResponse deserialize() {
+        return messageCacheService.deserializeMessage(serialized);
+    }
+
+    // 채팅 본문과 비슷한 반복이 있는 한글/영문 혼합 텍스트
+    private static String content(int length) {
+        String[] words = {"안녕하세요", "오늘", "회의는", "3시에", "시작합니다", "deploy", "완료", "확인", "부탁드립니다", "ok"};
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; builder.length() < length; i++) {
+            builder.append(words[(i * 7) % words.length]).append(' ');
+        }
+        return builder.substring(0, length);
+    }
+}
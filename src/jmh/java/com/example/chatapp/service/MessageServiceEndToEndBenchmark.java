@@ -0,0 +1,119 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.ChatAppApplication;
+import com.example.chatapp.dto.MessageRequest;
+import com.example.chatapp.dto.MessageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실제 PostgreSQL/Redis를 쓰는 saveMessage / getMessages.
+ * docker compose의 postgres(5432), redis(6380)를 대상으로 하며 -Dbench.db.url 등으로 바꿀 수 있다.
+ * 기본 jmh 실행에서는 제외되고 -PjmhEndToEnd를 줘야 실행된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageServiceEndToEndBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    // 조회 대상 채널 수, 채널당 미리 저장할 메시지 수
+    @Param({"100"})
+    private int channels;
+
+    @Param({"500"})
+    private int messagesPerChannel;
+
+    private ConfigurableApplicationContext context;
+    private MessageService messageService;
+    private final List<String> channelIds = new ArrayList<>();
+    private final AtomicLong clientMessageIds = new AtomicLong();
+    private String runId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(ChatAppApplication.class,
+                "--spring.profiles.active=docker",
+                "--spring.datasource.url=" + System.getProperty("bench.db.url",
+                        "jdbc:postgresql://localhost:5432/chatdb?reWriteBatchedInserts=true"),
+                "--spring.datasource.username=" + System.getProperty("bench.db.username", "jih"),
+                "--spring.datasource.password=" + System.getProperty("bench.db.password", "chatpassword"),
+                "--spring.data.redis.host=" + System.getProperty("bench.redis.host", "localhost"),
+                "--spring.data.redis.port=" + System.getProperty("bench.redis.port", "6380"),
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.chatapp=WARN");
+        messageService = context.getBean(MessageService.class);
+        MessageBatchService messageBatchService = context.getBean(MessageBatchService.class);
+
+        // 실행마다 새 채널을 써서 이전 실행의 데이터와 섞이지 않게 함
+        runId = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < channels; i++) {
+            String channelId = "bench-" + runId + "-" + i;
+            channelIds.add(channelId);
+
+            List<MessageRequest> requests = new ArrayList<>(messagesPerChannel);
+            for (int j = 0; j < messagesPerChannel; j++) {
+                requests.add(request(channelId));
+            }
+            messageBatchService.saveMessages(requests);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MessageResponse saveMessage() {
+        return messageService.saveMessage(request(randomChannel()));
+    }
+
+    @Benchmark
+    public List<MessageResponse> getLatestMessages() {
+        return messageService.getMessages(randomChannel(), PAGE_SIZE, null, null);
+    }
+
+    @Benchmark
+    public List<MessageResponse> getMessagesBefore() {
+        long beforeSequence = ThreadLocalRandom.current().nextLong(PAGE_SIZE + 1, messagesPerChannel + 1);
+        return messageService.getMessages(randomChannel(), PAGE_SIZE, null, beforeSequence);
+    }
+
+    @Benchmark
+    public List<MessageResponse> getMessagesAfter() {
+        long afterSequence = ThreadLocalRandom.current().nextLong(0, messagesPerChannel - PAGE_SIZE);
+        return messageService.getMessages(randomChannel(), PAGE_SIZE, afterSequence, null);
+    }
+
+    private String randomChannel() {
+        return channelIds.get(ThreadLocalRandom.current().nextInt(channelIds.size()));
+    }
+
+    private MessageRequest request(String channelId) {
+        MessageRequest request = new MessageRequest();
+        request.setChannelId(channelId);
+        request.setUserId("bench-user-" + ThreadLocalRandom.current().nextInt(1000));
+        request.setContent("벤치마크 메시지 " + clientMessageIds.get());
+        request.setClientMessageId(runId + "-" + clientMessageIds.incrementAndGet());
+        return request;
+    }
+}
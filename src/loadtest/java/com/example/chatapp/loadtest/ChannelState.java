@@ -0,0 +1,28 @@
+package com.example.chatapp.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채널과 지금까지 확인된 최대 시퀀스 (before/after 조회 커서 선택용).
+ */
+class ChannelState {
+
+    private final String channelId;
+    private final AtomicLong maxSequence = new AtomicLong();
+
+    ChannelState(String channelId) {
+        this.channelId = channelId;
+    }
+
+    String channelId() {
+        return channelId;
+    }
+
+    long maxSequence() {
+        return maxSequence.get();
+    }
+
+    void advance(long sequence) {
+        maxSequence.accumulateAndGet(sequence, Math::max);
+    }
+}
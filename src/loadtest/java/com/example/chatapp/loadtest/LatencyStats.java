@@ -0,0 +1,95 @@
+package com.example.chatapp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 종류 하나의 지연 시간(마이크로초) 히스토그램과 오류 수.
+ * Recorder로 여러 스레드가 기록하고, 주기 보고 시 구간 히스토그램을 꺼내 누적한다.
+ */
+class LatencyStats {
+
+    private final String name;
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final AtomicLong errors = new AtomicLong();
+    private Histogram interval;
+
+    LatencyStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void recordNanos(long nanos) {
+        recorder.recordValue(Math.max(1, nanos / 1000));
+    }
+
+    void recordError() {
+        errors.incrementAndGet();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    // 주기 보고 시 호출 (단일 스레드)
+    synchronized Histogram takeInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        return interval;
+    }
+
+    synchronized Histogram total() {
+        return total;
+    }
+
+    // 측정 시작 시점에 워밍업 구간 기록을 버림
+    synchronized void reset() {
+        recorder.reset();
+        total.reset();
+        errors.set(0);
+    }
+
+    static String summary(Histogram histogram, double seconds) {
+        if (histogram.getTotalCount() == 0) {
+            return "count=0";
+        }
+        return String.format(Locale.ROOT, "count=%d (%.1f/s) p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    // HdrHistogram 표준 백분위 분포 파일 (HistogramPlotter 등에서 그대로 읽음), 단위 ms
+    void writePercentileDistribution(Path directory) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+            total().outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    String toJson(double seconds) {
+        Histogram histogram = total();
+        return String.format(Locale.ROOT,
+                "{\"name\":\"%s\",\"count\":%d,\"errors\":%d,\"throughput\":%.2f,\"unit\":\"ms\"," +
+                        "\"p50\":%.3f,\"p90\":%.3f,\"p99\":%.3f,\"p999\":%.3f,\"max\":%.3f}",
+                name, histogram.getTotalCount(), errors(), histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
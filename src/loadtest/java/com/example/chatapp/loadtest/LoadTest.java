@@ -0,0 +1,312 @@
+package com.example.chatapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * REST(POST/GET /messages)와 STOMP(/app/chat.sendMessage) 혼합 부하 생성기.
+ *
+ * - open-loop: 요청을 rate에 맞춘 예정 시각에 시작하고, 지연 시간은 예정 시각부터 잰다
+ *   (서버가 느려져 시작이 밀려도 대기 시간이 빠지지 않음 - coordinated omission 방지)
+ * - 채널은 Zipf 분포로 선택 (소수 인기 채널 + 다수 비인기 채널)
+ * - 메시지 본문에 예정 시각을 넣어 두고, 구독 세션이 받은 시각과의 차이를 전달 지연으로 기록
+ *   (생성기와 구독 세션이 같은 JVM이므로 nanoTime 비교가 가능)
+ */
+public class LoadTest {
+
+    private static final String CONTENT_PREFIX = "lt:";
+    private static final int SEED_BATCH_SIZE = 5000;
+    private static final int REPORT_INTERVAL_SECONDS = 5;
+
+    private final LoadTestOptions options;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ExecutorService stompSenders = Executors.newFixedThreadPool(8);
+
+    private final List<ChannelState> channels = new ArrayList<>();
+    private final ZipfDistribution zipf;
+    private final Map<Operation, LatencyStats> requestStats = new EnumMap<>(Operation.class);
+    private final LatencyStats deliveryStats = new LatencyStats("delivery");
+    private final StompSessions stompSessions = new StompSessions(deliveryStats);
+    private final Semaphore inFlight;
+    private final Operation[] weightedOperations;
+    private final String padding;
+    private volatile long lastReportAt = System.nanoTime();
+
+    LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.zipf = new ZipfDistribution(options.channels, options.zipfExponent);
+        this.inFlight = new Semaphore(options.maxInFlight);
+        for (int i = 0; i < options.channels; i++) {
+            channels.add(new ChannelState("lt-" + runId + "-" + i));
+        }
+        for (Operation operation : options.mix.keySet()) {
+            requestStats.put(operation, new LatencyStats(operation.option()));
+        }
+        this.weightedOperations = options.mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+        this.padding = "x".repeat(Math.max(0, options.contentBytes - 24));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("옵션: " + options);
+        new LoadTest(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        System.out.printf("채널 %d개, 상위 1%% 채널이 요청의 %.1f%%를 차지%n",
+                options.channels, zipf.topShare(Math.max(1, options.channels / 100)) * 100);
+
+        seed();
+        if (options.sessions > 0) {
+            stompSessions.connect(options, channels, zipf);
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long startedAt = System.nanoTime();
+        long measureStartAt = startedAt + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long endAt = measureStartAt + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        reporter.schedule(this::resetStats, options.warmupSeconds, TimeUnit.SECONDS);
+        reporter.scheduleAtFixedRate(() -> report(System.nanoTime() < measureStartAt),
+                REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        generate(startedAt, endAt);
+
+        // 진행 중인 요청과 브로드캐스트 전달을 잠시 기다림
+        inFlight.tryAcquire(options.maxInFlight, 10, TimeUnit.SECONDS);
+        Thread.sleep(2000);
+        reporter.shutdownNow();
+        report(false);
+
+        finish();
+    }
+
+    // 채널마다 seedMessages건을 배치 API로 미리 저장
+    private void seed() throws Exception {
+        if (options.seedMessages == 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (ChannelState channel : channels) {
+            for (int i = 0; i < options.seedMessages; i++) {
+                batch.add(message(channel, "seed " + i));
+                if (batch.size() == SEED_BATCH_SIZE) {
+                    postBatch(batch);
+                    batch.clear();
+                }
+            }
+            channel.advance(options.seedMessages);
+        }
+        if (!batch.isEmpty()) {
+            postBatch(batch);
+        }
+        System.out.printf("초기 메시지 %d건 저장 (%.1fs)%n", (long) options.channels * options.seedMessages,
+                (System.nanoTime() - started) / 1e9);
+    }
+
+    private void postBatch(List<Map<String, Object>> batch) throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(options.baseUrl + "/messages/batch"))
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofMinutes(2))
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of("messages", batch))))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("초기 메시지 저장 실패: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private void generate(long startedAt, long endAt) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        Random random = new Random();
+
+        for (long scheduledAt = startedAt; scheduledAt < endAt; scheduledAt += intervalNanos) {
+            long now;
+            while ((now = System.nanoTime()) < scheduledAt) {
+                LockSupport.parkNanos(scheduledAt - now);
+            }
+
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            ChannelState channel = channels.get(zipf.sample(random));
+            inFlight.acquire();
+
+            long intendedAt = scheduledAt;
+            LatencyStats stats = requestStats.get(operation);
+            CompletableFuture<Boolean> result;
+            try {
+                result = issue(operation, channel, intendedAt);
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            result.whenComplete((success, error) -> {
+                if (error == null && success) {
+                    stats.recordNanos(System.nanoTime() - intendedAt);
+                } else {
+                    stats.recordError();
+                }
+                inFlight.release();
+            });
+        }
+    }
+
+    private CompletableFuture<Boolean> issue(Operation operation, ChannelState channel, long intendedAt) {
+        String query = "/messages?channelId=" + URLEncoder.encode(channel.channelId(), StandardCharsets.UTF_8);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long maxSequence = Math.max(1, channel.maxSequence());
+
+        return switch (operation) {
+            case POST -> send(HttpRequest.newBuilder(URI.create(options.baseUrl + "/messages"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(toJson(message(channel, content(intendedAt))))), channel);
+            case GET_LATEST -> send(HttpRequest.newBuilder(URI.create(options.baseUrl + query)).GET(), null);
+            // 과거 페이지 탐색: 전체 구간에서 균등 선택
+            case GET_BEFORE -> send(HttpRequest.newBuilder(URI.create(options.baseUrl + query +
+                    "&beforeSequence=" + random.nextLong(2, maxSequence + 2))).GET(), null);
+            // 재연결 후 복구: 최근 200건 이내 커서
+            case GET_AFTER -> send(HttpRequest.newBuilder(URI.create(options.baseUrl + query +
+                    "&afterSequence=" + Math.max(0, maxSequence - random.nextLong(1, 201)))).GET(), null);
+            case STOMP_SEND -> CompletableFuture.supplyAsync(() -> {
+                stompSessions.send(message(channel, content(intendedAt)));
+                return true;
+            }, stompSenders);
+        };
+    }
+
+    private CompletableFuture<Boolean> send(HttpRequest.Builder request, ChannelState createdIn) {
+        return httpClient.sendAsync(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    boolean success = response.statusCode() / 100 == 2;
+                    if (success && createdIn != null) {
+                        createdIn.advance(sequenceOf(response.body()));
+                    }
+                    return success;
+                });
+    }
+
+    private Map<String, Object> message(ChannelState channel, String content) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("channelId", channel.channelId());
+        message.put("userId", "lt-user-" + ThreadLocalRandom.current().nextInt(options.users));
+        message.put("content", content);
+        message.put("clientMessageId", runId + "-" + System.nanoTime() + "-" + ThreadLocalRandom.current().nextInt());
+        message.put("messageType", "CHAT");
+        return message;
+    }
+
+    private String content(long sentAtNanos) {
+        return CONTENT_PREFIX + sentAtNanos + ":" + padding;
+    }
+
+    // 부하 생성기가 보낸 메시지가 아니면 0
+    static long sentAtNanos(String content) {
+        if (content == null || !content.startsWith(CONTENT_PREFIX)) {
+            return 0;
+        }
+        int end = content.indexOf(':', CONTENT_PREFIX.length());
+        try {
+            return Long.parseLong(content.substring(CONTENT_PREFIX.length(), end));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private long sequenceOf(String body) {
+        try {
+            return objectMapper.readTree(body).path("sequenceNumber").asLong();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void resetStats() {
+        requestStats.values().forEach(LatencyStats::reset);
+        deliveryStats.reset();
+        lastReportAt = System.nanoTime();
+        System.out.println("--- 워밍업 종료, 측정 시작 ---");
+    }
+
+    private synchronized void report(boolean warmup) {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-3, (now - lastReportAt) / 1e9);
+        lastReportAt = now;
+
+        String label = warmup ? "[warmup] " : "";
+        for (LatencyStats stats : allStats()) {
+            System.out.printf("%s%-8s %s errors=%d%n", label, stats.name(),
+                    LatencyStats.summary(stats.takeInterval(), seconds), stats.errors());
+        }
+    }
+
+    private void finish() throws Exception {
+        Path directory = Path.of(options.outputDirectory);
+        Files.createDirectories(directory);
+
+        System.out.println();
+        System.out.println("=== 결과 (측정 " + options.durationSeconds + "초, 지연 시간은 예정 시각 기준) ===");
+        List<String> json = new ArrayList<>();
+        for (LatencyStats stats : allStats()) {
+            System.out.printf("%-8s %s errors=%d%n", stats.name(),
+                    LatencyStats.summary(stats.total(), options.durationSeconds), stats.errors());
+            stats.writePercentileDistribution(directory);
+            json.add(stats.toJson(options.durationSeconds));
+        }
+
+        String summary = "{\"runId\":\"" + runId + "\",\"options\":\"" + options.toString().replace("\"", "'") +
+                "\",\"results\":[\n  " + String.join(",\n  ", json) + "\n]}\n";
+        Files.writeString(directory.resolve("summary.json"), summary);
+        System.out.println("히스토그램: " + directory.resolve("*.hgrm") + ", 요약: " + directory.resolve("summary.json"));
+
+        stompSessions.disconnect();
+        stompSenders.shutdownNow();
+    }
+
+    private List<LatencyStats> allStats() {
+        List<LatencyStats> stats = new ArrayList<>(requestStats.values());
+        if (!stompSessions.isEmpty()) {
+            stats.add(deliveryStats);
+        }
+        return stats;
+    }
+}
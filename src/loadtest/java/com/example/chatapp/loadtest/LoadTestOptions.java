@@ -0,0 +1,101 @@
+package com.example.chatapp.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * --name=value 형식의 실행 옵션. 기본값은 노트북에서 띄운 단일 노드 기준.
+ */
+class LoadTestOptions {
+
+    String baseUrl = "http://localhost:8080";
+
+    // 측정 시간 / 측정 전 워밍업 시간 (초)
+    int durationSeconds = 60;
+    int warmupSeconds = 10;
+
+    // 초당 요청 수 (open-loop: 응답을 기다리지 않고 일정한 간격으로 시작)
+    int rate = 200;
+
+    // 동시에 진행 중인 요청 한도. 넘으면 다음 요청 시작이 밀리지만 지연 시간은 원래 예정 시각부터 잰다
+    int maxInFlight = 512;
+
+    // 채널 수와 인기도 분포 (Zipf 지수 s, 클수록 상위 채널에 집중)
+    int channels = 1000;
+    double zipfExponent = 1.1;
+
+    // 채널당 미리 넣어 둘 메시지 수 (before/after 조회 대상)
+    int seedMessages = 100;
+
+    // STOMP 세션 수, 세션당 구독 채널 수 (구독 채널도 Zipf로 선택)
+    int sessions = 200;
+    int subscriptionsPerSession = 5;
+
+    int users = 10000;
+    int contentBytes = 120;
+
+    // 요청 비율 (합이 100일 필요는 없음)
+    final Map<Operation, Integer> mix = new LinkedHashMap<>(Map.of(
+            Operation.POST, 30,
+            Operation.GET_LATEST, 40,
+            Operation.GET_BEFORE, 10,
+            Operation.GET_AFTER, 10,
+            Operation.STOMP_SEND, 10));
+
+    String outputDirectory = "build/reports/loadtest";
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션은 --name=value 형식이어야 합니다: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> options.baseUrl = value.replaceAll("/+$", "");
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "rate" -> options.rate = Integer.parseInt(value);
+                case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "channels" -> options.channels = Integer.parseInt(value);
+                case "zipf" -> options.zipfExponent = Double.parseDouble(value);
+                case "seed-messages" -> options.seedMessages = Integer.parseInt(value);
+                case "sessions" -> options.sessions = Integer.parseInt(value);
+                case "subscriptions" -> options.subscriptionsPerSession = Integer.parseInt(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "content-bytes" -> options.contentBytes = Integer.parseInt(value);
+                case "mix" -> options.parseMix(value);
+                case "output" -> options.outputDirectory = value;
+                default -> throw new IllegalArgumentException("알 수 없는 옵션: " + name);
+            }
+        }
+        if (options.sessions == 0) {
+            options.mix.remove(Operation.STOMP_SEND);
+        }
+        return options;
+    }
+
+    // 예: post=30,latest=40,before=10,after=10,stomp=10
+    private void parseMix(String value) {
+        mix.clear();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromOption(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix에 비율이 0보다 큰 요청이 하나 이상 있어야 합니다");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "baseUrl=" + baseUrl + ", duration=" + durationSeconds + "s, warmup=" + warmupSeconds + "s, rate=" + rate +
+                "/s, maxInFlight=" + maxInFlight + ", channels=" + channels + ", zipf=" + zipfExponent +
+                ", seedMessages=" + seedMessages + ", sessions=" + sessions + "x" + subscriptionsPerSession +
+                ", users=" + users + ", contentBytes=" + contentBytes + ", mix=" + mix;
+    }
+}
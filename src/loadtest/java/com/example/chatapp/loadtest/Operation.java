@@ -0,0 +1,29 @@
+package com.example.chatapp.loadtest;
+
+import java.util.Arrays;
+
+enum Operation {
+
+    POST("post"),
+    GET_LATEST("latest"),
+    GET_BEFORE("before"),
+    GET_AFTER("after"),
+    STOMP_SEND("stomp");
+
+    private final String option;
+
+    Operation(String option) {
+        this.option = option;
+    }
+
+    String option() {
+        return option;
+    }
+
+    static Operation fromOption(String option) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.option.equals(option))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 요청 종류: " + option));
+    }
+}
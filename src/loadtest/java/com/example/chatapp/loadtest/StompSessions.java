@@ -0,0 +1,133 @@
+package com.example.chatapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채널을 구독하는 STOMP 세션들. 받은 메시지 본문의 전송 시각(lt:{nanoTime}:...)으로 브로드캐스트 전달 지연을 기록하고,
+ * 같은 세션으로 /app/chat.sendMessage 요청도 보낸다.
+ */
+class StompSessions {
+
+    private final WebSocketStompClient stompClient;
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final LatencyStats deliveryStats;
+    private final AtomicLong deliveries = new AtomicLong();
+
+    StompSessions(LatencyStats deliveryStats) {
+        this.deliveryStats = deliveryStats;
+        this.stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        this.stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    void connect(LoadTestOptions options, List<ChannelState> channels, ZipfDistribution zipf) throws Exception {
+        // SockJS 엔드포인트(/ws)의 raw WebSocket 경로
+        String url = options.baseUrl.replaceFirst("^http", "ws") + "/ws/websocket";
+        Random random = new Random(42);
+
+        List<CompletableFuture<StompSession>> connecting = new ArrayList<>();
+        for (int i = 0; i < options.sessions; i++) {
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.set("userId", "lt-subscriber-" + i);
+            connecting.add(stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders,
+                    new StompSessionHandlerAdapter() {
+                    }));
+        }
+
+        int failed = 0;
+        for (CompletableFuture<StompSession> future : connecting) {
+            StompSession session;
+            try {
+                session = future.get(10, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                failed++;
+                continue;
+            }
+            sessions.add(session);
+
+            Set<Integer> subscribed = new HashSet<>();
+            int subscriptions = Math.min(options.subscriptionsPerSession, channels.size());
+            while (subscribed.size() < subscriptions) {
+                int rank = zipf.sample(random);
+                if (subscribed.add(rank)) {
+                    ChannelState channel = channels.get(rank);
+                    session.subscribe("/topic/channel/" + channel.channelId(), new DeliveryHandler(channel));
+                }
+            }
+        }
+        if (sessions.isEmpty() && options.sessions > 0) {
+            throw new IllegalStateException("STOMP 세션을 하나도 연결하지 못했습니다: " + url);
+        }
+        System.out.printf("STOMP 세션 연결: %d개 (실패 %d개)%n", sessions.size(), failed);
+    }
+
+    void send(Map<String, Object> message) {
+        sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()))
+                .send("/app/chat.sendMessage", message);
+    }
+
+    boolean isEmpty() {
+        return sessions.isEmpty();
+    }
+
+    long deliveries() {
+        return deliveries.get();
+    }
+
+    void disconnect() {
+        sessions.forEach(session -> {
+            try {
+                session.disconnect();
+            } catch (RuntimeException ignored) {
+                // 종료 중 오류는 무시
+            }
+        });
+        stompClient.stop();
+    }
+
+    private class DeliveryHandler implements StompFrameHandler {
+
+        private final ChannelState channel;
+
+        private DeliveryHandler(ChannelState channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long receivedAt = System.nanoTime();
+            JsonNode message = (JsonNode) payload;
+            channel.advance(message.path("sequenceNumber").asLong());
+
+            long sentAt = LoadTest.sentAtNanos(message.path("content").asText());
+            if (sentAt != 0) {
+                deliveries.incrementAndGet();
+                deliveryStats.recordNanos(receivedAt - sentAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.chatapp.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 0..n-1 순위를 P(k) ∝ 1/(k+1)^s 로 뽑는다. 0이 가장 인기 있는 채널.
+ * 누적 분포를 미리 계산해 두고 이진 탐색으로 샘플링한다 (n = 수십만까지 충분).
+ */
+class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    // 상위 k개 순위가 차지하는 비율 (실행 로그 출력용)
+    double topShare(int k) {
+        return cumulative[Math.min(k, cumulative.length) - 1];
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.chatapp.actuator;
+
+import com.example.chatapp.service.CacheWarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/health 의 cacheWarmup 항목.
+ * 기동 워밍업이 끝나기 전에는 OUT_OF_SERVICE(503)로 보고해 로드밸런서가 트래픽을 보내지 않게 한다.
+ * 실행 중 재워밍(REHYDRATING)은 DB로 우회 가능하므로 UP으로 보고하고 상태는 details로만 노출한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    @Override
+    public Health health() {
+        CacheWarmupService.State state = cacheWarmupService.getState();
+        Health.Builder builder = state == CacheWarmupService.State.STARTING ? Health.outOfService() : Health.up();
+        builder.withDetail("state", state);
+
+        CacheWarmupService.WarmupResult lastResult = cacheWarmupService.getLastResult();
+        if (lastResult != null) {
+            builder.withDetail("lastRun", lastResult);
+        }
+        return builder.build();
+    }
+}
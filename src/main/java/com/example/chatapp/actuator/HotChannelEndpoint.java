@@ -0,0 +1,42 @@
+package com.example.chatapp.actuator;
+
+import com.example.chatapp.hotchannel.HotChannel;
+import com.example.chatapp.hotchannel.HotChannelTracker;
+import com.example.chatapp.hotchannel.HotChannelTracker.Kind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/hotchannels - 슬라이딩 윈도우 동안 쓰기/읽기가 많은 채널 (클러스터 합산과 이 노드 결과).
+ */
+@Component
+@Endpoint(id = "hotchannels")
+@RequiredArgsConstructor
+public class HotChannelEndpoint {
+
+    private final HotChannelTracker hotChannelTracker;
+
+    @ReadOperation
+    public Map<String, Object> hotChannels() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("nodeId", hotChannelTracker.getNodeId());
+        response.put("window", hotChannelTracker.getWindow());
+        response.put("mergedAt", hotChannelTracker.getMergedAt());
+        response.put("cluster", byKind(true));
+        response.put("local", byKind(false));
+        return response;
+    }
+
+    private Map<String, List<HotChannel>> byKind(boolean cluster) {
+        Map<String, List<HotChannel>> channels = new LinkedHashMap<>();
+        channels.put("writes", cluster ? hotChannelTracker.getClusterTop(Kind.WRITE) : hotChannelTracker.getLocalTop(Kind.WRITE));
+        channels.put("reads", cluster ? hotChannelTracker.getClusterTop(Kind.READ) : hotChannelTracker.getLocalTop(Kind.READ));
+        return channels;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.chatapp.actuator;
+
+import com.example.chatapp.jfr.JfrRecordingService;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * /actuator/jfr - JFR 녹화 목록 조회, 시작(POST), 덤프 다운로드(GET /{id}), 종료(DELETE /{id}).
+ * 덤프 파일은 JDK Mission Control 또는 `jfr print --events com.example.chatapp.*`로 본다.
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private final JfrRecordingService recordingService;
+
+    @ReadOperation
+    public Map<String, Object> recordings() {
+        List<Map<String, Object>> recordings = recordingService.getRecordings().stream()
+                .map(this::describe)
+                .toList();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("recordings", recordings);
+        return response;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> start(@Nullable String name, @Nullable String settings,
+                                                          @Nullable Duration duration) {
+        try {
+            Recording recording = recordingService.start(name != null ? name : "chat-manual",
+                    settings != null ? settings : "default", duration);
+            return new WebEndpointResponse<>(describe(recording));
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of(
+                    "error", "Bad Request",
+                    "message", "녹화 설정을 읽을 수 없습니다: " + settings), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector long id) throws IOException {
+        Optional<Path> file = recordingService.dump(id);
+        return file.<WebEndpointResponse<Resource>>map(path -> new WebEndpointResponse<>(new FileSystemResource(path)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> stop(@Selector long id) {
+        return new WebEndpointResponse<>(recordingService.stop(id)
+                ? WebEndpointResponse.STATUS_NO_CONTENT : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    private Map<String, Object> describe(Recording recording) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", recording.getId());
+        response.put("name", recording.getName());
+        response.put("state", recording.getState());
+        response.put("startTime", recording.getStartTime());
+        response.put("duration", recording.getDuration());
+        response.put("maxAge", recording.getMaxAge());
+        response.put("size", recording.getSize());
+        return response;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.chatapp.actuator;
+
+import com.example.chatapp.service.RedisCircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/health 의 redisCircuitBreaker 항목.
+ * 캐시는 DB로 우회 가능하므로 브레이커가 열려 있어도 UP으로 보고하고 상태는 details로만 노출한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private final RedisCircuitBreaker circuitBreaker;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up()
+                .withDetail("state", circuitBreaker.getState())
+                .withDetail("consecutiveFailures", circuitBreaker.getConsecutiveFailures());
+
+        if (circuitBreaker.getOpenedAt() != null) {
+            builder.withDetail("openedAt", circuitBreaker.getOpenedAt());
+        }
+        return builder.build();
+    }
+}
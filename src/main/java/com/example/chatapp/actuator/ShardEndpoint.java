@@ -0,0 +1,55 @@
+package com.example.chatapp.actuator;
+
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.entity.ChannelShardAssignment;
+import com.example.chatapp.service.ChannelMigrationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * /actuator/shards - 채널 샤드 배정 조회 및 채널 이전.
+ * 이전은 요청 스레드에서 끝까지 실행되므로 큰 채널은 응답까지 시간이 걸린다.
+ */
+@Component
+@Endpoint(id = "shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "chat.datasource.shards", name = "enabled", havingValue = "true")
+public class ShardEndpoint {
+
+    private final ShardRouter shardRouter;
+    private final ChannelMigrationService channelMigrationService;
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        Map<String, Object> assignments = new TreeMap<>();
+        shardRouter.getAssignments().forEach((channelId, assignment) ->
+                assignments.put(channelId, Map.of("shardId", assignment.getShardId(), "status", assignment.getStatus())));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("shardCount", shardRouter.getShardCount());
+        response.put("assignments", assignments);
+        return response;
+    }
+
+    @WriteOperation
+    public Map<String, Object> migrate(String channelId, int targetShard) {
+        int sourceShard = shardRouter.shardOf(channelId);
+        long messages = channelMigrationService.migrate(channelId, targetShard);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("channelId", channelId);
+        response.put("sourceShard", sourceShard);
+        response.put("targetShard", targetShard);
+        response.put("messages", messages);
+        response.put("status", ChannelShardAssignment.Status.ACTIVE);
+        return response;
+    }
+}
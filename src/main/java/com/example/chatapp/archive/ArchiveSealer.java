@@ -0,0 +1,179 @@
+package com.example.chatapp.archive;
+
+import com.example.chatapp.config.ArchiveProperties;
+import com.example.chatapp.datasource.DataSourceRoutingContext;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.MessageArchiveSegment;
+import com.example.chatapp.exception.ChannelMigrationInProgressException;
+import com.example.chatapp.repository.MessageArchiveRepository;
+import com.example.chatapp.repository.MessageArchiveSegmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * sealAfter보다 오래된 메시지를 채널별 세그먼트 파일로 옮기고 messages에서 삭제한다.
+ * 파일을 먼저 완성한 뒤 같은 트랜잭션에서 세그먼트 등록과 행 삭제를 하므로, 실패해도 메시지가 사라지지 않는다.
+ * 세그먼트는 채널 내 연속된 시퀀스 구간만 담는다.
+ * 모든 인스턴스가 같은 시각에 실행하므로 세그먼트마다 채널 봉인 잠금(advisory lock)을 잡고, 잠금 안에서 마지막 봉인 위치를 다시 읽는다.
+ * 실패 시 만든 파일은 세그먼트 목록에 없을 때만 지운다 (등록된 세그먼트의 파일은 메시지 행이 이미 삭제되었을 수 있음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArchiveSealer {
+
+    private final ArchiveProperties properties;
+    private final MessageArchiveService archiveService;
+    private final MessageArchiveRepository archiveRepository;
+    private final MessageArchiveSegmentRepository segmentRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${chat.archive.seal-cron:0 30 3 * * *}")
+    public void sealArchives() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(properties.getSealAfter());
+        for (int shardId = 0; shardId < shardRouter.getShardCount(); shardId++) {
+            int shard = shardId;
+            try {
+                DataSourceRoutingContext.onShard(shard, () -> {
+                    sealShard(shard, cutoff);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.warn("아카이브 실패, 다음 주기에 재시도 - shard-{}, 오류: {}", shard, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void sealShard(int shardId, OffsetDateTime cutoff) {
+        List<String> channelIds = archiveRepository.findSealCandidates(
+                cutoff, properties.getSegmentMinMessages(), properties.getChannelsPerRun());
+
+        for (String channelId : channelIds) {
+            try {
+                // 이전 중이거나 다른 샤드로 옮겨진 채널은 건너뜀
+                if (shardRouter.shardForWrite(channelId) != shardId) {
+                    continue;
+                }
+            } catch (ChannelMigrationInProgressException e) {
+                continue;
+            }
+            sealChannel(channelId, cutoff);
+        }
+    }
+
+    /**
+     * @return 아카이브한 메시지 수
+     */
+    public long sealChannel(String channelId, OffsetDateTime cutoff) {
+        long sealed = 0;
+        long lastSequence = 0;
+
+        while (true) {
+            MessageArchiveSegment segment = sealNextSegment(channelId, cutoff);
+            if (segment == null) {
+                break;
+            }
+            lastSequence = segment.getLastSequence();
+            sealed += segment.getMessageCount();
+
+            if (segment.getMessageCount() < properties.getSegmentMaxMessages()) {
+                break;
+            }
+        }
+
+        if (sealed > 0) {
+            log.info("메시지 아카이브 완료 - channelId: {}, 메시지: {}건, 마지막 시퀀스: {}", channelId, sealed, lastSequence);
+        }
+        return sealed;
+    }
+
+    /**
+     * 채널 봉인 잠금 안에서 다음 구간을 세그먼트 파일로 쓰고, 등록과 행 삭제를 같은 트랜잭션에서 커밋한다.
+     * @return 봉인할 구간이 없거나 다른 인스턴스가 봉인 중이면 null
+     */
+    private MessageArchiveSegment sealNextSegment(String channelId, OffsetDateTime cutoff) {
+        String[] writtenFileName = new String[1];
+        try {
+            return transactionTemplate.execute(status -> {
+                if (!archiveRepository.tryLockChannelForSeal(channelId)) {
+                    log.debug("다른 인스턴스가 봉인 중인 채널 건너뜀 - channelId: {}", channelId);
+                    return null;
+                }
+
+                Long lastArchived = segmentRepository.findLastArchivedSequence(channelId);
+                List<MessageResponse> messages = contiguousPrefix(archiveRepository.findMessagesToSeal(
+                        channelId, lastArchived != null ? lastArchived : 0L, cutoff, properties.getSegmentMaxMessages()));
+                if (messages.isEmpty() || messages.size() < properties.getSegmentMinMessages()) {
+                    return null;
+                }
+
+                long firstSequence = messages.get(0).getSequenceNumber();
+                long lastSequence = messages.get(messages.size() - 1).getSequenceNumber();
+                String fileName = segmentFileName(channelId, firstSequence, lastSequence);
+                long sizeBytes;
+                try {
+                    sizeBytes = ArchiveSegmentWriter.write(archiveService.getDirectory().resolve(fileName),
+                            channelId, messages, properties.getIndexInterval());
+                } catch (IOException e) {
+                    throw new IllegalStateException("아카이브 세그먼트 쓰기 실패: " + fileName, e);
+                }
+                writtenFileName[0] = fileName;
+
+                MessageArchiveSegment segment = segmentRepository.save(new MessageArchiveSegment(
+                        channelId, firstSequence, lastSequence, messages.size(), fileName, sizeBytes));
+                archiveRepository.deleteMessages(channelId, firstSequence, lastSequence);
+                return segment;
+            });
+        } catch (RuntimeException e) {
+            if (writtenFileName[0] != null) {
+                deleteUnregisteredSegment(channelId, writtenFileName[0], e);
+            }
+            throw e;
+        }
+    }
+
+    // 등록된 세그먼트의 파일은 지우지 않음 (해당 메시지 행이 이미 삭제되어 파일이 유일한 사본일 수 있음)
+    private void deleteUnregisteredSegment(String channelId, String fileName, RuntimeException failure) {
+        try {
+            if (segmentRepository.existsByChannelIdAndFileName(channelId, fileName)) {
+                log.warn("등록된 세그먼트 파일이므로 유지 - channelId: {}, file: {}", channelId, fileName);
+                return;
+            }
+            Files.deleteIfExists(archiveService.getDirectory().resolve(fileName));
+        } catch (IOException | RuntimeException deleteFailure) {
+            failure.addSuppressed(deleteFailure);
+        }
+    }
+
+    // 시퀀스가 끊긴 지점(아직 cutoff 이전이 아닌 행 등)까지만 하나의 구간으로 묶음
+    private static List<MessageResponse> contiguousPrefix(List<MessageResponse> messages) {
+        for (int i = 1; i < messages.size(); i++) {
+            if (messages.get(i).getSequenceNumber() != messages.get(i - 1).getSequenceNumber() + 1) {
+                return messages.subList(0, i);
+            }
+        }
+        return messages;
+    }
+
+    // 채널 ID 해시로 디렉터리를 나눠 한 디렉터리에 파일이 몰리지 않게 함
+    private static String segmentFileName(String channelId, long firstSequence, long lastSequence) {
+        String channelKey = UUID.nameUUIDFromBytes(channelId.getBytes(StandardCharsets.UTF_8)).toString();
+        return channelKey.substring(0, 2) + "/" + channelKey + "/" + firstSequence + "-" + lastSequence + ".seg";
+    }
+}
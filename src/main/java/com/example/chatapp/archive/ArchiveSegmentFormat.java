@@ -0,0 +1,22 @@
+package com.example.chatapp.archive;
+
+/**
+ * 채널별 아카이브 세그먼트 파일 형식 (시퀀스 오름차순, 한 번 쓰면 변경하지 않음).
+ * <pre>
+ * header : int MAGIC, int VERSION, int indexInterval, UTF channelId
+ * record : long id, long sequence, long createdAtSecond, int createdAtNano, UTF messageType, UTF userId,
+ *          int contentLength, byte[] content(UTF-8)
+ * index  : (long sequence, long offset) x indexCount - indexInterval 레코드마다 하나 (sparse)
+ * footer : long indexOffset, int indexCount, int recordCount, long firstSequence, long lastSequence, int MAGIC
+ * </pre>
+ */
+final class ArchiveSegmentFormat {
+
+    static final int MAGIC = 0x43485347; // "CHSG"
+    static final int VERSION = 1;
+    static final int INDEX_ENTRY_SIZE = Long.BYTES * 2;
+    static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+    private ArchiveSegmentFormat() {
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.chatapp.archive;
+
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 메모리 매핑된 세그먼트 파일 조회. sparse index로 시작 블록을 찾은 뒤 블록 단위로만 순차 읽는다.
+ * 매핑 버퍼는 조회마다 duplicate()해서 사용하므로 여러 스레드가 공유해도 된다.
+ */
+public final class ArchiveSegmentReader {
+
+    private final MappedByteBuffer buffer;
+    private final String channelId;
+    private final int indexInterval;
+    private final long[] indexSequences;
+    private final int[] indexOffsets;
+    private final int recordsEnd;
+    private final int recordCount;
+    private final long firstSequence;
+    private final long lastSequence;
+
+    private ArchiveSegmentReader(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        int size = buffer.capacity();
+        if (size < ArchiveSegmentFormat.FOOTER_SIZE || buffer.getInt(0) != ArchiveSegmentFormat.MAGIC
+                || buffer.getInt(size - Integer.BYTES) != ArchiveSegmentFormat.MAGIC) {
+            throw new IOException("아카이브 세그먼트 형식이 아닙니다");
+        }
+        if (buffer.getInt(Integer.BYTES) != ArchiveSegmentFormat.VERSION) {
+            throw new IOException("지원하지 않는 세그먼트 버전: " + buffer.getInt(Integer.BYTES));
+        }
+
+        ByteBuffer header = buffer.duplicate().position(Integer.BYTES * 2);
+        this.indexInterval = header.getInt();
+        this.channelId = readUtf(header);
+
+        ByteBuffer footer = buffer.duplicate().position(size - ArchiveSegmentFormat.FOOTER_SIZE);
+        this.recordsEnd = Math.toIntExact(footer.getLong());
+        int indexCount = footer.getInt();
+        this.recordCount = footer.getInt();
+        this.firstSequence = footer.getLong();
+        this.lastSequence = footer.getLong();
+
+        this.indexSequences = new long[indexCount];
+        this.indexOffsets = new int[indexCount];
+        ByteBuffer index = buffer.duplicate().position(recordsEnd);
+        for (int i = 0; i < indexCount; i++) {
+            indexSequences[i] = index.getLong();
+            indexOffsets[i] = Math.toIntExact(index.getLong());
+        }
+    }
+
+    public static ArchiveSegmentReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지되며 GC 시 해제된다
+            return new ArchiveSegmentReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return afterSequence 초과 메시지를 시퀀스 오름차순으로 최대 limit개
+     */
+    public List<MessageResponse> readAfter(long afterSequence, int limit) {
+        List<MessageResponse> messages = new ArrayList<>();
+        if (limit <= 0 || afterSequence >= lastSequence) {
+            return messages;
+        }
+
+        ByteBuffer records = buffer.duplicate().position(indexOffsets[Math.max(0, floorBlock(afterSequence + 1))]);
+        while (records.position() < recordsEnd && messages.size() < limit) {
+            MessageResponse message = readRecord(records);
+            if (message.getSequenceNumber() > afterSequence) {
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * @return beforeSequence 미만 메시지를 시퀀스 내림차순으로 최대 limit개
+     */
+    public List<MessageResponse> readBefore(long beforeSequence, int limit) {
+        int block = floorBlock(beforeSequence - 1);
+        if (limit <= 0 || block < 0) {
+            return new ArrayList<>();
+        }
+
+        // beforeSequence 직전 limit개가 모두 포함되도록 필요한 블록 수만큼 앞에서부터 읽는다
+        int startBlock = Math.max(0, block - (limit + indexInterval - 1) / indexInterval);
+        Deque<MessageResponse> window = new ArrayDeque<>(limit);
+        ByteBuffer records = buffer.duplicate().position(indexOffsets[startBlock]);
+        while (records.position() < recordsEnd) {
+            MessageResponse message = readRecord(records);
+            if (message.getSequenceNumber() >= beforeSequence) {
+                break;
+            }
+            if (window.size() == limit) {
+                window.removeFirst();
+            }
+            window.addLast(message);
+        }
+
+        List<MessageResponse> messages = new ArrayList<>(window.size());
+        window.descendingIterator().forEachRemaining(messages::add);
+        return messages;
+    }
+
+    public String getChannelId() {
+        return channelId;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    public long getFirstSequence() {
+        return firstSequence;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    // sequence 이하인 마지막 인덱스 항목 번호 (없으면 -1)
+    private int floorBlock(long sequence) {
+        int low = 0;
+        int high = indexSequences.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexSequences[mid] <= sequence) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private MessageResponse readRecord(ByteBuffer records) {
+        long id = records.getLong();
+        long sequence = records.getLong();
+        long createdAtSecond = records.getLong();
+        int createdAtNano = records.getInt();
+        Message.MessageType messageType = Message.MessageType.valueOf(readUtf(records));
+        String userId = readUtf(records);
+
+        byte[] content = new byte[records.getInt()];
+        records.get(content);
+
+        return new MessageResponse(id, channelId, userId, new String(content, StandardCharsets.UTF_8), messageType,
+                sequence, ZonedDateTime.ofInstant(Instant.ofEpochSecond(createdAtSecond, createdAtNano), ZoneId.systemDefault()));
+    }
+
+    // DataOutputStream.writeUTF 형식 (2바이트 길이 + modified UTF-8)
+    private static String readUtf(ByteBuffer source) {
+        int length = Short.toUnsignedInt(source.getShort(source.position()));
+        byte[] bytes = new byte[Short.BYTES + length];
+        source.get(bytes);
+        try {
+            return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+        } catch (IOException e) {
+            throw new IllegalStateException("세그먼트 문자열 디코딩 실패", e);
+        }
+    }
+}
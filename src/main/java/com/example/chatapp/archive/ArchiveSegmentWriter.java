@@ -0,0 +1,98 @@
+package com.example.chatapp.archive;
+
+import com.example.chatapp.dto.MessageResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 시퀀스 오름차순 메시지 목록을 세그먼트 파일로 쓴다.
+ * 임시 파일에 쓰고 fsync 후 원자적으로 이름을 바꾸므로, 존재하는 세그먼트 파일은 항상 완전하다.
+ * 임시 파일 이름은 쓰기마다 달라 공유 디렉터리에서 여러 인스턴스가 써도 서로의 임시 파일을 덮어쓰지 않는다.
+ */
+public final class ArchiveSegmentWriter {
+
+    private ArchiveSegmentWriter() {
+    }
+
+    /**
+     * @return 파일 크기(bytes)
+     */
+    public static long write(Path file, String channelId, List<MessageResponse> messages, int indexInterval)
+            throws IOException {
+        if (messages.isEmpty()) {
+            throw new IllegalArgumentException("빈 세그먼트는 만들 수 없습니다");
+        }
+
+        Files.createDirectories(file.getParent());
+        Path tempFile = file.resolveSibling(file.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+        try (FileOutputStream fileOut = new FileOutputStream(tempFile.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024))) {
+
+            out.writeInt(ArchiveSegmentFormat.MAGIC);
+            out.writeInt(ArchiveSegmentFormat.VERSION);
+            out.writeInt(indexInterval);
+            out.writeUTF(channelId);
+
+            List<long[]> index = new ArrayList<>();
+            long previousSequence = Long.MIN_VALUE;
+            for (int i = 0; i < messages.size(); i++) {
+                MessageResponse message = messages.get(i);
+                if (message.getSequenceNumber() <= previousSequence) {
+                    throw new IllegalArgumentException("시퀀스 오름차순이 아닙니다: " + message.getSequenceNumber());
+                }
+                previousSequence = message.getSequenceNumber();
+
+                if (i % indexInterval == 0) {
+                    index.add(new long[]{message.getSequenceNumber(), out.size()});
+                }
+                writeRecord(out, message);
+            }
+
+            long indexOffset = out.size();
+            for (long[] entry : index) {
+                out.writeLong(entry[0]);
+                out.writeLong(entry[1]);
+            }
+
+            out.writeLong(indexOffset);
+            out.writeInt(index.size());
+            out.writeInt(messages.size());
+            out.writeLong(messages.get(0).getSequenceNumber());
+            out.writeLong(messages.get(messages.size() - 1).getSequenceNumber());
+            out.writeInt(ArchiveSegmentFormat.MAGIC);
+
+            out.flush();
+            fileOut.getChannel().force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(file);
+    }
+
+    private static void writeRecord(DataOutputStream out, MessageResponse message) throws IOException {
+        out.writeLong(message.getId());
+        out.writeLong(message.getSequenceNumber());
+        out.writeLong(message.getCreatedAt().toEpochSecond());
+        out.writeInt(message.getCreatedAt().getNano());
+        out.writeUTF(message.getMessageType().name());
+        out.writeUTF(message.getUserId());
+
+        byte[] content = message.getContent().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(content.length);
+        out.write(content);
+    }
+}
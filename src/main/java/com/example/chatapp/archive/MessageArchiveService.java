@@ -0,0 +1,132 @@
+package com.example.chatapp.archive;
+
+import com.example.chatapp.config.ArchiveProperties;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.MessageArchiveSegment;
+import com.example.chatapp.repository.MessageArchiveSegmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 아카이브 세그먼트 조회. 채널의 세그먼트 목록은 DB(message_archive_segments)에서, 메시지는 매핑된 파일에서 읽는다.
+ * 호출자가 채널의 샤드를 지정해야 한다.
+ */
+@Slf4j
+@Service
+public class MessageArchiveService {
+
+    private final ArchiveProperties properties;
+    private final MessageArchiveSegmentRepository segmentRepository;
+    private final Path directory;
+
+    // 최근 사용한 세그먼트 리더 (LRU, 빠진 리더의 매핑은 GC 시 해제)
+    private final Map<String, ArchiveSegmentReader> openReaders;
+
+    public MessageArchiveService(ArchiveProperties properties, MessageArchiveSegmentRepository segmentRepository) {
+        this.properties = properties;
+        this.segmentRepository = segmentRepository;
+        this.directory = Paths.get(properties.getDirectory());
+        this.openReaders = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ArchiveSegmentReader> eldest) {
+                return size() > properties.getOpenSegments();
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public boolean hasArchive(String channelId) {
+        return isEnabled() && segmentRepository.existsByChannelId(channelId);
+    }
+
+    /**
+     * @param beforeSequence null이면 아카이브의 가장 최신 메시지부터
+     * @return 시퀀스 내림차순 최대 limit개
+     */
+    public List<MessageResponse> getMessagesBefore(String channelId, Long beforeSequence, int limit) {
+        List<MessageResponse> messages = new ArrayList<>();
+        if (!isEnabled() || limit <= 0) {
+            return messages;
+        }
+
+        long before = beforeSequence != null ? beforeSequence : Long.MAX_VALUE;
+        for (MessageArchiveSegment segment : segmentRepository.findSegmentsBefore(channelId, before, PageRequest.of(0, limit))) {
+            ArchiveSegmentReader reader = reader(segment);
+            if (reader == null) {
+                break;
+            }
+            messages.addAll(reader.readBefore(before, limit - messages.size()));
+            if (messages.size() >= limit) {
+                break;
+            }
+            before = segment.getFirstSequence();
+        }
+
+        log.debug("아카이브 조회 - beforeSequence: {} - channelId: {}, 조회된 메시지 수: {}", beforeSequence, channelId, messages.size());
+        return messages;
+    }
+
+    /**
+     * @return 시퀀스 오름차순 최대 limit개
+     */
+    public List<MessageResponse> getMessagesAfter(String channelId, Long afterSequence, int limit) {
+        List<MessageResponse> messages = new ArrayList<>();
+        if (!isEnabled() || limit <= 0) {
+            return messages;
+        }
+
+        long after = afterSequence;
+        for (MessageArchiveSegment segment : segmentRepository.findSegmentsAfter(channelId, after, PageRequest.of(0, limit))) {
+            ArchiveSegmentReader reader = reader(segment);
+            if (reader == null) {
+                break;
+            }
+            messages.addAll(reader.readAfter(after, limit - messages.size()));
+            if (messages.size() >= limit) {
+                break;
+            }
+            after = segment.getLastSequence();
+        }
+
+        log.debug("아카이브 조회 - afterSequence: {} - channelId: {}, 조회된 메시지 수: {}", afterSequence, channelId, messages.size());
+        return messages;
+    }
+
+    // 파일을 읽을 수 없으면 해당 구간 없이 응답 (캐시/DB 결과는 그대로 반환)
+    private ArchiveSegmentReader reader(MessageArchiveSegment segment) {
+        synchronized (openReaders) {
+            ArchiveSegmentReader reader = openReaders.get(segment.getFileName());
+            if (reader != null) {
+                return reader;
+            }
+        }
+
+        try {
+            ArchiveSegmentReader reader = ArchiveSegmentReader.open(directory.resolve(segment.getFileName()));
+            synchronized (openReaders) {
+                openReaders.put(segment.getFileName(), reader);
+            }
+            return reader;
+        } catch (IOException e) {
+            log.error("아카이브 세그먼트 읽기 실패 - channelId: {}, 파일: {}, 오류: {}",
+                    segment.getChannelId(), segment.getFileName(), e.getMessage(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = false;
+
+    // 세그먼트 파일 디렉터리 (인스턴스가 여러 개면 공유 볼륨이어야 함)
+    private String directory = "./data/archive";
+
+    // 이 기간보다 오래된 메시지를 아카이브
+    private Duration sealAfter = Duration.ofDays(365);
+
+    // 세그먼트 하나의 최대 메시지 수
+    private int segmentMaxMessages = 100000;
+
+    // 이보다 적게 쌓인 채널 구간은 다음 주기로 미룸 (작은 세그먼트 파일 방지)
+    private int segmentMinMessages = 1000;
+
+    // sparse index 간격 (레코드 수)
+    private int indexInterval = 64;
+
+    // 한 번의 아카이브 실행에서 처리할 최대 채널 수
+    private int channelsPerRun = 100;
+
+    // 동시에 매핑해 둘 세그먼트 파일 수
+    private int openSegments = 256;
+
+    // 아카이브 주기 (@Scheduled에서 직접 참조)
+    private String sealCron = "0 30 3 * * *";
+}
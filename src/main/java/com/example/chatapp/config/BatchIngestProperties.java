@@ -0,0 +1,14 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.batch")
+public class BatchIngestProperties {
+
+    // 한 트랜잭션에서 처리할 메시지 수
+    private int chunkSize = 500;
+}
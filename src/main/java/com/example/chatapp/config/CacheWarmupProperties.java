@@ -0,0 +1,37 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.cache-warmup")
+public class CacheWarmupProperties {
+
+    private boolean enabled = true;
+
+    // 최근 lookback 동안 메시지가 많이 쓰인 순으로 이 수만큼의 채널을 미리 채움
+    private int channels = 1000;
+    private Duration lookback = Duration.ofHours(1);
+
+    // 채널당 미리 채울 메시지 수 (getMessages 페이지 크기와 같게)
+    private int pageSize = 20;
+
+    // 쿼리 한 번에 처리할 채널 수
+    private int batchSize = 100;
+
+    // Postgres 보호용 처리 속도 상한
+    private int maxChannelsPerSecond = 500;
+
+    // 한 번의 워밍업 최대 시간 (넘으면 남은 채널은 일반 조회 경로로 채워짐)
+    private Duration maxDuration = Duration.ofSeconds(60);
+
+    // Redis flush/장애 조치로 캐시가 비워진 것을 감지하면 다시 채움
+    private boolean rehydrateOnCacheLoss = true;
+
+    // 캐시 유실 확인 주기 (@Scheduled에서 직접 참조)
+    private long checkIntervalMs = 5000;
+}
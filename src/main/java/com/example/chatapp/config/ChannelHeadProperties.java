@@ -0,0 +1,19 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.channel-head")
+public class ChannelHeadProperties {
+
+    // 헤드 값 유지 시간. 갱신마다 연장되며, 다른 노드나 갱신 전 종료된 노드에서 유실된 갱신은 이 시간 안에 정리된다
+    private Duration ttl = Duration.ofMinutes(5);
+
+    // 갱신이 유실된 채널의 헤드 키 삭제 주기 (@Scheduled에서 직접 참조)
+    private long invalidateIntervalMs = 1000;
+}
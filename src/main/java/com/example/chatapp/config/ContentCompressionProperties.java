@@ -0,0 +1,20 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.compression")
+public class ContentCompressionProperties {
+
+    private boolean enabled = true;
+
+    // 본문(UTF-8)이 이 크기 이상일 때만 압축 (짧은 메시지는 압축 이득보다 CPU 비용이 큼)
+    private DataSize threshold = DataSize.ofBytes(1024);
+
+    // 압축 후(base64 포함) 크기가 원본의 이 비율 이하일 때만 압축본을 사용
+    private double maxRatio = 0.9;
+}
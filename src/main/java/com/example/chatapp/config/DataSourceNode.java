@@ -0,0 +1,16 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 추가 PostgreSQL 인스턴스(레플리카/샤드) 접속 정보.
+ * username/password를 생략하면 spring.datasource 값을 사용한다.
+ */
+@Getter
+@Setter
+public class DataSourceNode {
+    private String url;
+    private String username;
+    private String password;
+}
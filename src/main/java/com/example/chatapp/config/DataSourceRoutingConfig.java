@@ -0,0 +1,119 @@
+package com.example.chatapp.config;
+
+import com.example.chatapp.datasource.ReplicaDataSources;
+import com.example.chatapp.datasource.ReplicaLagMonitor;
+import com.example.chatapp.datasource.ReplicaRoutingDataSource;
+import com.example.chatapp.datasource.ShardDataSources;
+import com.example.chatapp.datasource.ShardRingGuard;
+import com.example.chatapp.datasource.ShardRoutingDataSource;
+import com.example.chatapp.datasource.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 레플리카 라우팅(chat.datasource.read-replicas) 또는 채널 샤딩(chat.datasource.shards) 사용 시
+ * 기본 DataSource를 라우팅 DataSource로 대체한다. 둘 다 비활성화면 Spring Boot 기본 자동 구성을 그대로 사용한다.
+ *
+ * 구성: [LazyConnectionDataSourceProxy] -> 샤드 라우팅 -> shard-0: 레플리카 라우팅(primary/replica-N), shard-N: 단일 풀
+ * 레플리카는 현재 shard-0에만 구성할 수 있다.
+ */
+@Configuration
+@ConditionalOnExpression("${chat.datasource.read-replicas.enabled:false} or ${chat.datasource.shards.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(DataSourceProperties primaryProperties, ReadReplicaProperties properties) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        if (properties.isEnabled()) {
+            List<DataSourceNode> nodes = properties.getNodes();
+            for (int i = 0; i < nodes.size(); i++) {
+                String key = ReplicaRoutingDataSource.replicaKey(i);
+                HikariDataSource dataSource = createDataSource(key, nodes.get(i), primaryProperties);
+                dataSource.setReadOnly(true);
+                replicas.put(key, dataSource);
+            }
+        }
+        return new ReplicaDataSources(replicas);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaDataSources replicaDataSources, ReadReplicaProperties properties) {
+        return new ReplicaLagMonitor(replicaDataSources.asMap(), properties.getMaxLag());
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(HikariDataSource primaryDataSource, ReplicaDataSources replicaDataSources,
+                                             ReplicaLagMonitor replicaLagMonitor, DataSourceProperties primaryProperties,
+                                             ShardProperties properties) {
+        Map<Integer, DataSource> shards = new LinkedHashMap<>();
+        shards.put(0, replicaDataSources.asMap().isEmpty()
+                ? primaryDataSource
+                : new ReplicaRoutingDataSource(primaryDataSource, replicaDataSources.asMap(), replicaLagMonitor));
+
+        if (properties.isEnabled()) {
+            List<DataSourceNode> nodes = properties.getNodes();
+            for (int i = 0; i < nodes.size(); i++) {
+                shards.put(i + 1, createDataSource("shard-" + (i + 1), nodes.get(i), primaryProperties));
+            }
+        }
+        return new ShardDataSources(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources, ShardProperties properties) {
+        if (!properties.isEnabled()) {
+            return shardDataSources.get(0);
+        }
+        // 트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 커넥션을 얻어, 트랜잭션 안에서 정한 샤드로 라우팅되게 한다
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "chat.datasource.shards", name = "enabled", havingValue = "true")
+    public ShardSchemaInitializer shardSchemaInitializer(ShardDataSources shardDataSources, ObjectProvider<Flyway> flyway) {
+        return new ShardSchemaInitializer(shardDataSources, flyway.getIfAvailable());
+    }
+
+    // 샤드 스키마 마이그레이션(ShardSchemaInitializer) 이후에 링 변경을 확인하도록 먼저 생성
+    @Bean
+    @ConditionalOnProperty(prefix = "chat.datasource.shards", name = "enabled", havingValue = "true")
+    public ShardRingGuard shardRingGuard(ShardDataSources shardDataSources, ShardProperties properties,
+                                         ObjectProvider<ShardSchemaInitializer> shardSchemaInitializer) {
+        shardSchemaInitializer.getIfAvailable();
+        return new ShardRingGuard(shardDataSources, properties);
+    }
+
+    private static HikariDataSource createDataSource(String poolName, DataSourceNode node,
+                                                     DataSourceProperties primaryProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(node.getUrl());
+        dataSource.setUsername(node.getUsername() != null ? node.getUsername() : primaryProperties.determineUsername());
+        dataSource.setPassword(node.getPassword() != null ? node.getPassword() : primaryProperties.determinePassword());
+        return dataSource;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.hot-channels")
+public class HotChannelProperties {
+
+    // false면 집계하지 않고 모든 채널을 핫 채널로 본다 (캐시 입장 제한 없음)
+    private boolean enabled = true;
+
+    // 유지할 상위 채널 수 (쓰기/읽기 각각)
+    private int topK = 100;
+
+    // 윈도우 동안 이보다 적게 쓰이거나 읽힌 채널은 상위권이어도 핫 채널이 아님
+    private long minCount = 100;
+
+    // count-min sketch 크기 (행 수 x 행당 카운터 수, 행당 카운터 수는 2의 거듭제곱으로 올림)
+    private int sketchDepth = 4;
+    private int sketchWidth = 4096;
+
+    // 슬라이딩 윈도우 = buckets x bucketIntervalMs (기본 60초)
+    private int buckets = 6;
+
+    // 버킷 회전 주기 (@Scheduled에서 직접 참조)
+    private long bucketIntervalMs = 10000;
+
+    // 노드별 상위 채널을 Redis에 올리고 전체 노드 결과를 합치는 주기 (@Scheduled에서 직접 참조)
+    private long mergeIntervalMs = 5000;
+
+    // Redis에 올리는 노드 식별자. 비우면 기동 시 임의 값
+    private String nodeId = "";
+
+    // 과거 구간(beforeSequence) 조회 결과는 핫 채널만 캐시
+    private boolean historyAdmission = true;
+}
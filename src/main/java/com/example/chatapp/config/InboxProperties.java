@@ -0,0 +1,19 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.inbox")
+public class InboxProperties {
+
+    // 채널별 마지막 메시지(channel_last:{id}) 유지 시간. 새 메시지가 없는 채널은 만료 후 DB에서 다시 채운다
+    private Duration lastMessageTtl = Duration.ofDays(7);
+
+    // 인박스 한 번에 반환하는 최대 채널 수
+    private int maxChannels = 500;
+}
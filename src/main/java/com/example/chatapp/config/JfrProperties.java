@@ -0,0 +1,27 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.jfr")
+public class JfrProperties {
+
+    // /actuator/jfr 덤프 파일 디렉터리
+    private String directory = "./data/jfr";
+
+    // 기동 시 상시 녹화 시작 여부. 최근 maxAge 구간만 디스크에 유지하고 필요할 때 덤프한다
+    private boolean continuous = false;
+
+    // 녹화 설정 이름 (JDK 기본 제공: default, profile)
+    private String settings = "default";
+
+    // 녹화 보관 한도 (둘 중 먼저 도달한 기준으로 오래된 청크 삭제)
+    private Duration maxAge = Duration.ofMinutes(30);
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+}
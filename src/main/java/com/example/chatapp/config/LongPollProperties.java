@@ -0,0 +1,25 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.long-poll")
+public class LongPollProperties {
+
+    // 요청에 timeout이 없을 때의 대기 시간
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    // 클라이언트가 요청할 수 있는 최대 대기 시간
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    // 노드당 동시에 대기할 수 있는 최대 요청 수 (초과 시 503)
+    private int maxWaiters = 50000;
+
+    // 깨어난 요청의 메시지 조회를 처리할 스레드 수
+    private int completionThreads = 4;
+}
@@ -0,0 +1,15 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.metrics")
+public class MessageMetricsProperties {
+
+    // 지표의 channel.bucket 태그 값 개수. 채널 ID 해시를 이 수로 나눈 나머지를 태그로 써서
+    // 채널 수와 무관하게 시계열 수를 고정하면서 특정 채널 쏠림은 보이게 한다
+    private int channelBuckets = 16;
+}
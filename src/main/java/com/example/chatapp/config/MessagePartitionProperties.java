@@ -0,0 +1,32 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.partitioning")
+public class MessagePartitionProperties {
+
+    // 현재 달 이후 미리 만들어 둘 월 파티션 수
+    private int monthsAhead = 2;
+
+    // 보존 개월 수 (0이면 무기한). 상한이 (이번 달 1일 - 보존 개월) 이전인 파티션이 대상
+    private int retentionMonths = 0;
+
+    private RetentionAction retentionAction = RetentionAction.DROP;
+
+    // 파티션 생성/분리 DDL의 lock 대기 한도 - 넘으면 포기하고 다음 주기에 재시도
+    private Duration lockTimeout = Duration.ofSeconds(3);
+
+    // 파티션 관리 주기 (@Scheduled에서 직접 참조)
+    private String maintenanceCron = "0 0 3 * * *";
+
+    public enum RetentionAction {
+        DROP,       // 분리 후 삭제
+        DETACH      // 분리만 하고 테이블은 보관 (외부 아카이빙용)
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.search")
+public class MessageSearchProperties {
+
+    // limit을 지정하지 않았을 때 한 페이지 결과 수
+    private int defaultLimit = 20;
+
+    // 한 페이지 최대 결과 수
+    private int maxLimit = 100;
+
+    // 검색어 최대 길이 (검색어 단어마다 tsquery 항이 하나씩 늘어남)
+    private int maxQueryLength = 200;
+
+    // ts_headline 옵션 (StartSel/StopSel은 HTML 이스케이프 후 <mark>로 바꾸므로 지정하지 않음)
+    private String headlineOptions = "MaxWords=20, MinWords=5, MaxFragments=2";
+}
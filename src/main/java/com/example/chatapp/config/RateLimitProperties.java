@@ -0,0 +1,44 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 사용자 한 명의 메시지 쓰기 한도 (모든 채널 합산)
+    private Bucket user = new Bucket(20, 5);
+
+    // 채널 하나의 메시지 쓰기 한도 (모든 사용자 합산)
+    private Bucket channel = new Bucket(200, 100);
+
+    // 노드 로컬에 기억해 두는 거부 상태 수 (초과분은 기억하지 않고 Redis로 확인)
+    private int localMaxTracked = 100000;
+
+    // 만료된 로컬 거부 상태 정리 주기 (@Scheduled에서 직접 참조)
+    private long sweepIntervalMs = 1000;
+
+    @Getter
+    @Setter
+    public static class Bucket {
+
+        // 버킷 크기 (순간적으로 허용하는 최대 연속 요청 수)
+        private int capacity;
+
+        // 초당 충전되는 토큰 수 (지속 허용 처리량)
+        private double refillPerSecond;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    // 이 값보다 지연된 레플리카는 라우팅 대상에서 제외 (모두 제외되면 primary 사용)
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // 복제 지연 확인 주기 (@Scheduled에서 직접 참조)
+    private long lagCheckIntervalMs = 1000;
+
+    private List<DataSourceNode> nodes = new ArrayList<>();
+}
@@ -1,14 +1,32 @@
 package com.example.chatapp.config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class RedisConfig {
 
+    // 조회 타임아웃을 적용할 커맨드 (그 외는 쓰기 타임아웃)
+    private static final Set<CommandType> READ_COMMANDS = EnumSet.of(
+            CommandType.PING, CommandType.GET, CommandType.MGET, CommandType.EXISTS,
+            CommandType.HGET, CommandType.HMGET, CommandType.HGETALL,
+            CommandType.ZRANGE, CommandType.ZREVRANGE, CommandType.ZRANGEBYSCORE, CommandType.ZREVRANGEBYSCORE,
+            CommandType.ZCARD, CommandType.ZSCORE
+    );
+
     @Bean
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, String> template = new RedisTemplate<>();
@@ -24,4 +42,32 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer redisCommandTimeoutCustomizer(RedisResilienceProperties properties) {
+        long readTimeoutMillis = properties.getTimeout().getRead().toMillis();
+        long writeTimeoutMillis = properties.getTimeout().getWrite().toMillis();
+
+        TimeoutOptions timeoutOptions = TimeoutOptions.builder()
+                .timeoutSource(new TimeoutOptions.TimeoutSource() {
+                    @Override
+                    public long getTimeout(RedisCommand<?, ?, ?> command) {
+                        ProtocolKeyword type = command.getType();
+                        return type instanceof CommandType && READ_COMMANDS.contains(type)
+                                ? readTimeoutMillis : writeTimeoutMillis;
+                    }
+
+                    @Override
+                    public TimeUnit getTimeUnit() {
+                        return TimeUnit.MILLISECONDS;
+                    }
+                })
+                .build();
+
+        // Spring Boot가 구성한 ClientOptions(소켓/클러스터 설정)를 유지한 채 커맨드 타임아웃만 교체
+        return builder -> {
+            ClientOptions current = builder.build().getClientOptions().orElseGet(ClientOptions::create);
+            builder.clientOptions(current.mutate().timeoutOptions(timeoutOptions).build());
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.redis")
+public class RedisResilienceProperties {
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Timeout timeout = new Timeout();
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        // 연속 실패가 이 횟수에 도달하면 OPEN
+        private int failureThreshold = 5;
+
+        // OPEN 이후 Redis를 건너뛰는 기간 (이후 백그라운드 probe 시작)
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        // OPEN 상태에서 백그라운드 probe 주기 (@Scheduled에서 직접 참조)
+        private long probeIntervalMs = 1000;
+
+        // 실패 로그 출력 간격 (그 사이의 실패는 건수만 집계)
+        private Duration logInterval = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Timeout {
+
+        // 조회 커맨드 타임아웃
+        private Duration read = Duration.ofMillis(150);
+
+        // 쓰기 커맨드 타임아웃
+        private Duration write = Duration.ofMillis(300);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.datasource.shards")
+public class ShardProperties {
+
+    private boolean enabled = false;
+
+    // 샤드당 해시 링 가상 노드 수
+    private int virtualNodes = 128;
+
+    // 채널 배정 테이블(channel_shard_assignments) 재조회 주기 (@Scheduled에서 직접 참조)
+    private long mappingRefreshIntervalMs = 5000;
+
+    // 채널 이전 시 한 번에 복사/삭제할 메시지 수
+    private int migrationBatchSize = 1000;
+
+    // shard-0은 spring.datasource, 여기 나열한 노드가 순서대로 shard-1, shard-2, ...
+    private List<DataSourceNode> nodes = new ArrayList<>();
+
+    public int getShardCount() {
+        return enabled ? nodes.size() + 1 : 1;
+    }
+}
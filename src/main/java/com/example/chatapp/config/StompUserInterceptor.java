@@ -0,0 +1,45 @@
+package com.example.chatapp.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+
+/**
+ * STOMP CONNECT의 userId(없으면 login) 헤더를 세션 사용자로 지정한다.
+ * /user/queue/feed 등 사용자 목적지의 라우팅용이며 인증은 하지 않는다 (REST API와 동일하게 userId를 신뢰).
+ */
+public class StompUserInterceptor implements ChannelInterceptor {
+
+    public static final String USER_ID_HEADER = "userId";
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String userId = accessor.getFirstNativeHeader(USER_ID_HEADER);
+        if (!StringUtils.hasText(userId)) {
+            userId = accessor.getLogin();
+        }
+        if (StringUtils.hasText(userId)) {
+            accessor.setUser(new StompUser(userId));
+        }
+        return message;
+    }
+
+    public record StompUser(String userId) implements Principal {
+
+        @Override
+        public String getName() {
+            return userId;
+        }
+    }
+}
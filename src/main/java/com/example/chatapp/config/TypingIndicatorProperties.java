@@ -0,0 +1,25 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.typing")
+public class TypingIndicatorProperties {
+
+    // 사용자/채널당 입력 중 알림 브로드캐스트 최소 간격 (그 사이 신호는 합쳐짐)
+    private Duration throttleInterval = Duration.ofSeconds(1);
+
+    // 마지막 입력 신호 이후 입력 중 상태 유지 시간 (클라이언트에도 ttlMs로 전달)
+    private Duration ttl = Duration.ofSeconds(5);
+
+    // 노드당 추적하는 입력 중 상태 최대 수 (초과 시 새 신호는 무시)
+    private int maxTracked = 100000;
+
+    // 보류된 종료 알림 전송 / 만료 상태 정리 주기 (@Scheduled에서 직접 참조)
+    private long sweepIntervalMs = 500;
+}
@@ -0,0 +1,51 @@
+package com.example.chatapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.websocket")
+public class WebSocketBrokerProperties {
+
+    // SimpleBroker 목적지 -> 구독 캐시 크기 (기본 1024). 캐시 미스마다 전체 구독을 훑으므로
+    // 동시에 쓰이는 목적지 수(피드는 세션 수, 토픽은 활성 채널 수)보다 크게 잡는다
+    private int brokerCacheLimit = 16384;
+
+    // 수신 STOMP 메시지 최대 크기
+    private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+
+    private final Outbound outbound = new Outbound();
+
+    @Getter
+    @Setter
+    public static class Outbound {
+
+        public enum SlowConsumerPolicy {
+            DROP_OLDEST,    // 오래된 MESSAGE 프레임을 버리고 그 자리에 GAP 프레임을 보냄
+            DISCONNECT      // 세션 종료
+        }
+
+        private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DROP_OLDEST;
+
+        // 세션별 송신 대기열 한도 (메시지 수 / 바이트)
+        private int maxQueuedMessages = 1000;
+        private DataSize maxQueuedBytes = DataSize.ofKilobytes(512);
+
+        // 프레임 하나의 전송이 이 시간을 넘으면 세션 종료
+        private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+        // 전송이 멈춘 세션 확인 주기 (@Scheduled에서 직접 참조)
+        private long checkIntervalMs = 1000;
+
+        // 세션 대기열을 소켓으로 내보내는 스레드 수 (느린 세션 하나가 최대 한 스레드를 점유)
+        private int senderThreads = 32;
+
+        // 느린 세션을 닫는 전용 스레드 수 (close frame 전송이 멈춘 소켓에 묶여도 송신/브로커 스레드와 무관)
+        private int closeThreads = 2;
+    }
+}
@@ -1,19 +1,45 @@
 package com.example.chatapp.config;
 
+import com.example.chatapp.websocket.OutboundQueueRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketBrokerProperties properties;
+    private final OutboundQueueRegistry outboundQueueRegistry;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
+        config.setCacheLimit(properties.getBrokerCacheLimit());
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new StompUserInterceptor());
+    }
+
+    // 세션별 송신 대기열(OutboundQueueSession)이 느린 소비자를 처리하므로 Spring 데코레이터의 버퍼는 거의 쓰이지 않는다.
+    // 한도는 대기열을 우회한 경우의 안전장치로만 둔다
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketBrokerProperties.Outbound outbound = properties.getOutbound();
+        registration.setMessageSizeLimit((int) properties.getMessageSizeLimit().toBytes())
+                .setSendTimeLimit((int) outbound.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) outbound.getMaxQueuedBytes().toBytes())
+                .addDecoratorFactory(outboundQueueRegistry);
     }
 
     @Override
@@ -1,15 +1,39 @@
 package com.example.chatapp.controller;
 
+import com.example.chatapp.config.BatchIngestProperties;
+import com.example.chatapp.dto.BatchMessageRequest;
+import com.example.chatapp.dto.BatchMessageResponse;
+import com.example.chatapp.dto.BatchMessageResult;
 import com.example.chatapp.dto.MessageRequest;
 import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.dto.MessageSearchResponse;
+import com.example.chatapp.service.ChannelHeadService;
+import com.example.chatapp.service.LongPollService;
+import com.example.chatapp.service.MessageBatchService;
+import com.example.chatapp.service.MessageRateLimiter;
+import com.example.chatapp.service.MessageSearchService;
 import com.example.chatapp.service.MessageService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -18,13 +42,24 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MessageController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final MessageService messageService;
+    private final MessageBatchService messageBatchService;
+    private final MessageRateLimiter messageRateLimiter;
+    private final MessageSearchService messageSearchService;
+    private final ChannelHeadService channelHeadService;
+    private final LongPollService longPollService;
+    private final BatchIngestProperties batchIngestProperties;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<MessageResponse> createMessage(@Valid @RequestBody MessageRequest request) {
         log.info("메시지 생성 요청 - channelId: {}, userId: {}, clientMessageId: {}",
             request.getChannelId(), request.getUserId(), request.getClientMessageId());
 
+        // 한도 초과면 DB 트랜잭션 전에 429
+        messageRateLimiter.check(request.getUserId(), request.getChannelId());
         MessageResponse response = messageService.saveMessage(request);
 
         // 멱등성으로 인한 기존 메시지 반환인 경우 200 OK
@@ -37,19 +72,139 @@ public class MessageController {
         return ResponseEntity.status(status).body(response);
     }
 
+    @PostMapping(path = "/batch", consumes = "application/json")
+    public ResponseEntity<BatchMessageResponse> createMessages(@Valid @RequestBody BatchMessageRequest request) {
+        log.info("배치 메시지 생성 요청 - 메시지 수: {}", request.getMessages().size());
+
+        BatchMessageResponse response = new BatchMessageResponse(messageBatchService.saveMessages(request.getMessages()));
+
+        log.info("배치 메시지 생성 응답 - 신규: {}, 중복: {}, 실패: {}",
+            response.getCreated(), response.getDuplicates(), response.getFailed());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * NDJSON 스트리밍 수집: 한 줄에 메시지 하나씩 읽어 청크 단위로 저장하고, 항목별 결과를 한 줄씩 바로 응답한다.
+     */
+    @PostMapping(path = "/batch", consumes = APPLICATION_NDJSON)
+    public void createMessagesStream(InputStream body, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(APPLICATION_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        OutputStream out = response.getOutputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        int chunkSize = batchIngestProperties.getChunkSize();
+        List<MessageRequest> chunk = new ArrayList<>(chunkSize);
+        int firstIndex = 0;
+        int total = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parseNdjsonLine(line));
+
+            if (chunk.size() == chunkSize) {
+                writeNdjson(out, messageBatchService.saveMessages(chunk, firstIndex));
+                firstIndex += chunk.size();
+                chunk.clear();
+            }
+            total++;
+        }
+        if (!chunk.isEmpty()) {
+            writeNdjson(out, messageBatchService.saveMessages(chunk, firstIndex));
+        }
+
+        log.info("NDJSON 배치 메시지 생성 완료 - 메시지 수: {}", total);
+    }
+
     @GetMapping
     public ResponseEntity<List<MessageResponse>> getMessages(
             @RequestParam String channelId,
             @RequestParam(required = false) Long afterSequence,
-            @RequestParam(required = false) Long beforeSequence) {
+            @RequestParam(required = false) Long beforeSequence,
+            WebRequest webRequest) {
 
         log.info("메시지 조회 요청 - channelId: {}, afterSequence: {}, beforeSequence: {}",
             channelId, afterSequence, beforeSequence);
 
+        // 헤드는 조회 전에 읽는다 (조회 중 새 메시지가 커밋되면 다음 요청의 ETag가 달라져 다시 조회됨)
+        String etag = channelHeadService.buildETag(channelId, afterSequence, beforeSequence);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            log.info("메시지 조회 응답 - channelId: {}, 304 Not Modified", channelId);
+            return null;
+        }
+
         List<MessageResponse> messages = messageService.getMessages(channelId, null, afterSequence, beforeSequence);
 
+        // 헤드를 모르는 채널은 최신 페이지로 채워 다음 요청부터 ETag를 사용
+        if (etag == null && afterSequence == null && beforeSequence == null && !messages.isEmpty()) {
+            channelHeadService.advance(channelId, messages.stream()
+                    .mapToLong(MessageResponse::getSequenceNumber)
+                    .max()
+                    .getAsLong());
+        }
+
         log.info("메시지 조회 응답 - channelId: {}, 메시지 수: {}", channelId, messages.size());
 
-        return ResponseEntity.ok(messages);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(messages);
+    }
+
+    /**
+     * 롱폴링: afterSequence 이후 메시지가 생기거나 timeout(초)이 지날 때까지 응답을 미룬다 (시간 초과 시 빈 목록).
+     * 대기 중에는 서블릿 스레드를 점유하지 않는다.
+     */
+    @GetMapping("/wait")
+    public DeferredResult<List<MessageResponse>> waitForMessages(
+            @RequestParam String channelId,
+            @RequestParam long afterSequence,
+            @RequestParam(required = false) Integer timeout) {
+
+        log.debug("롱폴링 요청 - channelId: {}, afterSequence: {}, timeout: {}", channelId, afterSequence, timeout);
+
+        return longPollService.await(channelId, afterSequence, timeout != null ? Duration.ofSeconds(timeout) : null);
+    }
+
+    /**
+     * 채널 메시지 전문 검색. 다음 페이지는 응답의 nextCursor를 cursor로 넘겨 조회한다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<MessageSearchResponse> searchMessages(
+            @RequestParam String channelId,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        log.info("메시지 검색 요청 - channelId: {}, cursor: {}, limit: {}", channelId, cursor, limit);
+
+        MessageSearchResponse response = messageSearchService.search(channelId, q, cursor, limit);
+
+        log.info("메시지 검색 응답 - channelId: {}, 결과 수: {}", channelId, response.getHits().size());
+
+        return ResponseEntity.ok(response);
+    }
+
+    private MessageRequest parseNdjsonLine(String line) {
+        try {
+            return objectMapper.readValue(line, MessageRequest.class);
+        } catch (JsonProcessingException e) {
+            // null 항목은 배치 서비스에서 INVALID 결과로 처리
+            log.warn("NDJSON 파싱 실패 - 오류: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private void writeNdjson(OutputStream out, List<BatchMessageResult> results) throws IOException {
+        for (BatchMessageResult result : results) {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        }
+        out.flush();
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.chatapp.controller;
+
+import com.example.chatapp.dto.InboxResponse;
+import com.example.chatapp.service.InboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final InboxService inboxService;
+
+    // 사용자가 속한(channel_offsets) 모든 채널의 헤드 시퀀스와 마지막 메시지
+    @GetMapping("/{userId}/inbox")
+    public ResponseEntity<InboxResponse> getInbox(@PathVariable String userId) {
+        log.info("인박스 조회 요청 - userId: {}", userId);
+
+        InboxResponse response = inboxService.getInbox(userId);
+
+        log.info("인박스 조회 응답 - userId: {}, 채널 수: {}", userId, response.getChannels().size());
+        return ResponseEntity.ok(response);
+    }
+}
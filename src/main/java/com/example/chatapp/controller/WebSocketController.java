@@ -2,16 +2,34 @@ package com.example.chatapp.controller;
 
 import com.example.chatapp.dto.MessageRequest;
 import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.dto.TypingRequest;
 import com.example.chatapp.entity.Message;
+import com.example.chatapp.exception.RateLimitExceededException;
+import com.example.chatapp.jfr.MessageBroadcastEvent;
+import com.example.chatapp.service.ChannelFeedService;
+import com.example.chatapp.service.MessageMetrics;
+import com.example.chatapp.service.MessageMetrics.BroadcastEvent;
+import com.example.chatapp.service.MessageMetrics.BroadcastStage;
+import com.example.chatapp.service.MessageRateLimiter;
 import com.example.chatapp.service.MessageService;
+import com.example.chatapp.service.TypingIndicatorService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.handler.annotation.support.MethodArgumentNotValidException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
 
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Slf4j
 @Controller
@@ -20,27 +38,59 @@ public class WebSocketController {
 
     private final MessageService messageService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ChannelFeedService channelFeedService;
+    private final TypingIndicatorService typingIndicatorService;
+    private final MessageMetrics messageMetrics;
+    private final MessageRateLimiter messageRateLimiter;
 
+    // 필수 값 검증 (REST와 같은 제약) - 실패하면 handleInvalidMessage가 보낸 세션에 거부 알림
     @MessageMapping("/chat.sendMessage")
-    public void sendMessage(MessageRequest messageRequest) {
+    public void sendMessage(@Valid MessageRequest messageRequest,
+                            @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId) {
         log.info("웹소켓 메시지 수신 - channelId: {}, userId: {}, content: {}",
             messageRequest.getChannelId(), messageRequest.getUserId(), messageRequest.getContent());
 
         try {
-            // 메시지 저장 (멱등성 보장)
-            MessageResponse response = messageService.saveMessage(messageRequest);
+            // 한도 초과면 저장하지 않고 보낸 세션에만 거부 알림
+            messageRateLimiter.check(messageRequest.getUserId(), messageRequest.getChannelId());
 
-            // 특정 채널 구독자들에게만 브로드캐스트
-            messagingTemplate.convertAndSend(
-                "/topic/channel/" + messageRequest.getChannelId(),
-                response
-            );
+            // 메시지 저장 (멱등성 보장)
+            // 채널 구독자 브로드캐스트는 커밋 후 MessageBroadcaster가 처리 (REST/배치로 저장된 메시지도 동일)
+            messageService.saveMessage(messageRequest);
 
+        } catch (RateLimitExceededException e) {
+            log.warn("웹소켓 메시지 거부: {}", e.getMessage());
+            sendRejection(sessionId, messageRequest, e);
         } catch (Exception e) {
             log.error("웹소켓 메시지 처리 실패: {}", e.getMessage(), e);
         }
     }
 
+    @MessageExceptionHandler(MethodArgumentNotValidException.class)
+    public void handleInvalidMessage(MethodArgumentNotValidException e,
+                                     @Header(name = SimpMessageHeaderAccessor.SESSION_ID_HEADER, required = false) String sessionId) {
+        String message = e.getBindingResult() != null && e.getBindingResult().getFieldError() != null
+                ? e.getBindingResult().getFieldError().getDefaultMessage()
+                : "잘못된 메시지 요청입니다";
+        log.warn("웹소켓 메시지 검증 실패: {}", message);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("error", "INVALID_REQUEST");
+        payload.put("message", message);
+        sendError(sessionId, payload);
+    }
+
+    // 입력 중 알림 - 저장하지 않고 서버에서 throttle 후 /topic/channel/{id}/typing 으로 전송
+    // 빈도가 높은 경로라 로그는 debug로만 남김
+    @MessageMapping("/chat.typing")
+    public void typing(TypingRequest typingRequest) {
+        if (!StringUtils.hasText(typingRequest.getChannelId()) || !StringUtils.hasText(typingRequest.getUserId())) {
+            log.debug("입력 중 신호 무시 - channelId 또는 userId 없음");
+            return;
+        }
+        typingIndicatorService.onTyping(typingRequest.getChannelId(), typingRequest.getUserId(), typingRequest.isTyping());
+    }
+
     @MessageMapping("/chat.addUser")
     public void addUser(MessageRequest messageRequest) {
         log.info("사용자 입장 - channelId: {}, userId: {}",
@@ -54,11 +104,11 @@ public class WebSocketController {
         notificationResponse.setMessageType(Message.MessageType.JOIN);
         notificationResponse.setCreatedAt(ZonedDateTime.now());
 
+        // 채널 멤버로 등록 (피드 전달 대상)
+        channelFeedService.join(messageRequest.getUserId(), messageRequest.getChannelId());
+
         // 실시간 알림만 전송 (저장하지 않음)
-        messagingTemplate.convertAndSend(
-            "/topic/channel/" + messageRequest.getChannelId(),
-            notificationResponse
-        );
+        broadcastNotification(BroadcastEvent.JOIN, notificationResponse);
 
         log.info("사용자 입장 알림 전송 완료 - userId: {}, channelId: {}",
             messageRequest.getUserId(), messageRequest.getChannelId());
@@ -78,12 +128,44 @@ public class WebSocketController {
         notificationResponse.setCreatedAt(ZonedDateTime.now());
 
         // 실시간 알림만 전송 (저장하지 않음)
-        messagingTemplate.convertAndSend(
-            "/topic/channel/" + messageRequest.getChannelId(),
-            notificationResponse
-        );
+        broadcastNotification(BroadcastEvent.LEAVE, notificationResponse);
+
+        // 알림 전송 후 멤버에서 제외
+        channelFeedService.leave(messageRequest.getUserId(), messageRequest.getChannelId());
 
         log.info("사용자 퇴장 알림 전송 완료 - userId: {}, channelId: {}",
             messageRequest.getUserId(), messageRequest.getChannelId());
     }
-}
\ No newline at end of file
+
+    // 거부 알림은 /user/queue/errors 구독자 중 요청을 보낸 세션에만 전달 (같은 사용자의 다른 세션에는 보내지 않음)
+    private void sendRejection(String sessionId, MessageRequest messageRequest, RateLimitExceededException e) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("error", "RATE_LIMITED");
+        payload.put("message", "메시지 전송 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
+        payload.put("channelId", messageRequest.getChannelId());
+        payload.put("clientMessageId", messageRequest.getClientMessageId());
+        payload.put("retryAfterMs", e.getRetryAfterMillis());
+        sendError(sessionId, payload);
+    }
+
+    private void sendError(String sessionId, Map<String, Object> payload) {
+        if (sessionId == null) {
+            return;
+        }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, "/queue/errors", payload, headers.getMessageHeaders());
+    }
+
+    private void broadcastNotification(BroadcastEvent event, MessageResponse notificationResponse) {
+        MessageBroadcastEvent broadcastEvent = new MessageBroadcastEvent();
+        broadcastEvent.begin();
+        messageMetrics.timeBroadcast(event, BroadcastStage.TOPIC, () -> messagingTemplate.convertAndSend(
+            "/topic/channel/" + notificationResponse.getChannelId(),
+            notificationResponse
+        ));
+        messageMetrics.timeBroadcast(event, BroadcastStage.FEED, () -> channelFeedService.deliver(notificationResponse));
+        broadcastEvent.complete(notificationResponse.getChannelId(), event.name().toLowerCase(), 0);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.chatapp.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,    // 쓰기 및 최신 데이터가 필요한 조회
+    REPLICA     // 복제 지연을 허용하는 히스토리 조회
+}
@@ -0,0 +1,56 @@
+package com.example.chatapp.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 사용할 샤드와 DataSource 역할.
+ * 커넥션을 얻는 시점에 참조되므로, 이미 커넥션이 바인딩된 트랜잭션 안에서 바꾸면 효과가 없다.
+ * (샤딩 사용 시 DataSource는 LazyConnectionDataSourceProxy로 감싸져 첫 쿼리 시점에 커넥션을 얻는다)
+ * 레플리카/샤드 라우팅이 비활성화된 경우에도 호출할 수 있으며 그때는 아무 영향이 없다.
+ */
+public final class DataSourceRoutingContext {
+
+    private static final ThreadLocal<DataSourceRole> CURRENT_ROLE = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private DataSourceRoutingContext() {
+    }
+
+    public static DataSourceRole currentRole() {
+        DataSourceRole role = CURRENT_ROLE.get();
+        return role != null ? role : DataSourceRole.PRIMARY;
+    }
+
+    /**
+     * @return 지정된 샤드, 없으면 null (= shard-0)
+     */
+    public static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    public static <T> T onReplica(Supplier<T> action) {
+        return with(CURRENT_ROLE, DataSourceRole.REPLICA, action);
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        return with(CURRENT_ROLE, DataSourceRole.PRIMARY, action);
+    }
+
+    public static <T> T onShard(int shardId, Supplier<T> action) {
+        return with(CURRENT_SHARD, shardId, action);
+    }
+
+    private static <V, T> T with(ThreadLocal<V> holder, V value, Supplier<T> action) {
+        V previous = holder.get();
+        holder.set(value);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                holder.remove();
+            } else {
+                holder.set(previous);
+            }
+        }
+    }
+}
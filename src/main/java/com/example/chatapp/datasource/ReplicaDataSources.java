@@ -0,0 +1,28 @@
+package com.example.chatapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 라우팅 키(replica-N)별 레플리카 커넥션 풀. 컨테이너 종료 시 함께 닫힌다.
+ */
+public class ReplicaDataSources implements AutoCloseable {
+
+    private final Map<String, HikariDataSource> dataSources;
+
+    public ReplicaDataSources(Map<String, HikariDataSource> dataSources) {
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(dataSources));
+    }
+
+    public Map<String, HikariDataSource> asMap() {
+        return dataSources;
+    }
+
+    @Override
+    public void close() {
+        dataSources.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.chatapp.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 레플리카별 복제 지연을 주기적으로 측정한다.
+ * 지연이 maxLag를 넘거나 조회에 실패한 레플리카는 다음 측정까지 라우팅 대상에서 제외된다.
+ * 첫 측정 전에는 모든 레플리카를 제외한 상태(= primary 사용)로 시작한다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // WAL 수신분을 모두 재생했다면 0, 아니면 마지막 재생 트랜잭션 이후 경과 시간(ms)
+    private static final String LAG_QUERY = "SELECT COALESCE(CASE " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)::bigint";
+
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Duration maxLag;
+    private final Map<String, Long> lagMillis = new ConcurrentHashMap<>();
+
+    public ReplicaLagMonitor(Map<String, ? extends DataSource> replicas, Duration maxLag) {
+        replicas.forEach((key, dataSource) -> this.replicas.put(key, new JdbcTemplate(dataSource)));
+        this.maxLag = maxLag;
+    }
+
+    public boolean isHealthy(String replicaKey) {
+        Long lag = lagMillis.get(replicaKey);
+        return lag != null && lag <= maxLag.toMillis();
+    }
+
+    /**
+     * 레플리카별 마지막 측정 지연(ms). 측정 실패한 레플리카는 포함되지 않는다.
+     */
+    public Map<String, Long> getLagMillis() {
+        return Map.copyOf(lagMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.datasource.read-replicas.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        replicas.forEach((key, jdbcTemplate) -> {
+            boolean wasHealthy = isHealthy(key);
+            try {
+                Long lag = jdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+                lagMillis.put(key, lag != null ? lag : 0L);
+            } catch (RuntimeException e) {
+                lagMillis.remove(key);
+                if (wasHealthy) {
+                    log.warn("레플리카 지연 측정 실패 - {}: {}", key, e.getMessage());
+                }
+            }
+
+            boolean healthy = isHealthy(key);
+            if (wasHealthy && !healthy && lagMillis.containsKey(key)) {
+                log.warn("레플리카 라우팅 제외 - {}, 지연: {}ms (허용: {}ms)", key, lagMillis.get(key), maxLag.toMillis());
+            } else if (!wasHealthy && healthy) {
+                log.info("레플리카 라우팅 사용 - {}, 지연: {}ms", key, lagMillis.get(key));
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.chatapp.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link DataSourceRoutingContext}의 역할에 따라 primary 또는 정상 레플리카 중 하나로 커넥션을 라우팅한다.
+ * 레플리카는 라운드로빈으로 선택하며, 지연/장애로 제외된 레플리카만 남으면 primary를 사용한다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY_KEY = "primary";
+
+    private final List<String> replicaKeys;
+    private final ReplicaLagMonitor lagMonitor;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, ? extends DataSource> replicas,
+                                    ReplicaLagMonitor lagMonitor) {
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.lagMonitor = lagMonitor;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY_KEY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (DataSourceRoutingContext.currentRole() != DataSourceRole.REPLICA || replicaKeys.isEmpty()) {
+            return PRIMARY_KEY;
+        }
+
+        int size = replicaKeys.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (lagMonitor.isHealthy(key)) {
+                return key;
+            }
+        }
+        return PRIMARY_KEY;
+    }
+}
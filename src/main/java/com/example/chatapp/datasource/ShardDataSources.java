@@ -0,0 +1,42 @@
+package com.example.chatapp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 샤드 번호별 DataSource. shard-0은 기본 DataSource(레플리카 라우팅 포함 가능)이고
+ * shard-1부터는 이 클래스가 만든 커넥션 풀로, 컨테이너 종료 시 함께 닫힌다.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final Map<Integer, DataSource> dataSources;
+
+    public ShardDataSources(Map<Integer, ? extends DataSource> dataSources) {
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(dataSources));
+    }
+
+    public DataSource get(int shardId) {
+        DataSource dataSource = dataSources.get(shardId);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("존재하지 않는 샤드입니다: " + shardId);
+        }
+        return dataSource;
+    }
+
+    public Map<Integer, DataSource> asMap() {
+        return dataSources;
+    }
+
+    @Override
+    public void close() {
+        dataSources.forEach((shardId, dataSource) -> {
+            if (shardId != 0 && dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        });
+    }
+}
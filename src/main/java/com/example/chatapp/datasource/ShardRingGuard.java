@@ -0,0 +1,144 @@
+package com.example.chatapp.datasource;
+
+import com.example.chatapp.config.ShardProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * 해시 링 구성(샤드 수, 가상 노드 수)이 바뀌어도 기존 채널이 데이터가 있는 샤드로 계속 라우팅되게 한다.
+ * 샤드를 추가하면 약 1/N의 채널이 링에서 새 샤드로 옮겨 가지만 메시지는 원래 샤드에 남아 있으므로,
+ * 시작 시 shard_ring_state(shard-0)에 기록된 이전 구성과 비교해 링 위치가 바뀌는 채널을 channel_shard_assignments에
+ * 원래 샤드로 기록(고정)한 뒤 새 구성을 기록한다. ShardRouter가 배정 정보를 처음 읽기 전에 호출한다.
+ * - 기록이 없으면 단일 DB(shard-0)에서 샤딩을 처음 켠 것으로 보고 shard-0의 채널을 고정
+ * - 샤드 수를 줄이는 변경은 거부 (제거되는 샤드의 데이터는 라우팅할 수 없음)
+ * - 여러 인스턴스가 동시에 시작해도 advisory lock으로 한 번만 수행
+ * - shard_ring_state가 없으면(ddl-auto로 만든 테스트 스키마 등) 아무것도 하지 않는다
+ */
+@Slf4j
+public class ShardRingGuard {
+
+    private static final int PIN_BATCH_SIZE = 1000;
+
+    // (channel_id, sequence_number) 인덱스로 채널 ID만 건너뛰며 읽는다 (loose index scan)
+    // 보존 기간 정리로 행이 모두 삭제된 채널도 시퀀스 하한이 남아 있으므로 함께 고정
+    private static final String CHANNEL_IDS_SQL =
+            "WITH RECURSIVE c(channel_id) AS (" +
+            "(SELECT channel_id FROM messages ORDER BY channel_id LIMIT 1) " +
+            "UNION ALL " +
+            "SELECT (SELECT m.channel_id FROM messages m WHERE m.channel_id > c.channel_id ORDER BY m.channel_id LIMIT 1) " +
+            "FROM c WHERE c.channel_id IS NOT NULL) " +
+            "SELECT channel_id FROM c WHERE channel_id IS NOT NULL " +
+            "UNION SELECT channel_id FROM channel_sequence_floors";
+
+    private final ShardDataSources shardDataSources;
+    private final ShardProperties properties;
+
+    public ShardRingGuard(ShardDataSources shardDataSources, ShardProperties properties) {
+        this.shardDataSources = shardDataSources;
+        this.properties = properties;
+    }
+
+    public void pinChannelsOnRingChange() {
+        DataSource shard0 = shardDataSources.get(0);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard0);
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('shard_ring_state') IS NOT NULL", Boolean.class))) {
+            log.debug("shard_ring_state가 없으므로 링 변경 확인 생략");
+            return;
+        }
+
+        new TransactionTemplate(new DataSourceTransactionManager(shard0)).executeWithoutResult(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('shard_ring_state'))");
+            List<int[]> previous = jdbcTemplate.query(
+                    "SELECT shard_count, virtual_nodes FROM shard_ring_state WHERE id = 1",
+                    (rs, rowNum) -> new int[]{rs.getInt(1), rs.getInt(2)});
+
+            int shardCount = properties.getShardCount();
+            int virtualNodes = properties.getVirtualNodes();
+            int previousShardCount = previous.isEmpty() ? 1 : previous.get(0)[0];
+            int previousVirtualNodes = previous.isEmpty() ? virtualNodes : previous.get(0)[1];
+            if (previousShardCount == shardCount && previousVirtualNodes == virtualNodes) {
+                if (previous.isEmpty()) {
+                    recordRing(jdbcTemplate, shardCount, virtualNodes);
+                }
+                return;
+            }
+            if (previousShardCount > shardCount) {
+                throw new IllegalStateException(String.format(
+                        "샤드 수를 줄일 수 없습니다 (%d -> %d). 제거할 샤드의 채널을 먼저 이전하고 shard_ring_state를 직접 갱신하세요",
+                        previousShardCount, shardCount));
+            }
+            pinMovedChannels(jdbcTemplate, previousShardCount, previousVirtualNodes, shardCount, virtualNodes);
+            recordRing(jdbcTemplate, shardCount, virtualNodes);
+        });
+    }
+
+    private void recordRing(JdbcTemplate shard0, int shardCount, int virtualNodes) {
+        shard0.update("INSERT INTO shard_ring_state (id, shard_count, virtual_nodes, updated_at) " +
+                        "VALUES (1, ?, ?, CURRENT_TIMESTAMP) ON CONFLICT (id) DO UPDATE SET " +
+                        "shard_count = EXCLUDED.shard_count, virtual_nodes = EXCLUDED.virtual_nodes, " +
+                        "updated_at = EXCLUDED.updated_at",
+                shardCount, virtualNodes);
+        log.info("해시 링 구성 기록 - 샤드 수: {}, 가상 노드 수: {}", shardCount, virtualNodes);
+    }
+
+
+    private void pinMovedChannels(JdbcTemplate shard0, int previousShardCount, int previousVirtualNodes,
+                                  int shardCount, int virtualNodes) {
+        NavigableMap<Long, Integer> previousRing = ShardRouter.buildRing(previousShardCount, previousVirtualNodes);
+        NavigableMap<Long, Integer> ring = ShardRouter.buildRing(shardCount, virtualNodes);
+
+        for (Map.Entry<Integer, DataSource> shard : shardDataSources.asMap().entrySet()) {
+            int shardId = shard.getKey();
+            if (shardId >= previousShardCount) {
+                continue;
+            }
+            List<Object[]> batch = new ArrayList<>();
+            long[] pinned = {0};
+            new JdbcTemplate(shard.getValue()).query(CHANNEL_IDS_SQL, rs -> {
+                String channelId = rs.getString(1);
+                if (isMoved(channelId, shardId, previousRing, ring)) {
+                    batch.add(new Object[]{channelId, shardId});
+                    if (batch.size() == PIN_BATCH_SIZE) {
+                        pinned[0] += pin(shard0, batch);
+                    }
+                }
+            });
+            pinned[0] += pin(shard0, batch);
+            log.info("해시 링 변경으로 기존 채널 고정 - shard-{}, 채널 수: {}", shardId, pinned[0]);
+        }
+    }
+
+    /**
+     * 이전 링에서 shardId에 있던 채널이 새 링에서 다른 샤드로 옮겨 가는지.
+     * 이전 링 위치가 shardId가 아닌 채널은 이미 배정 정보로 이전된(또는 이전 중인) 채널이므로 건드리지 않는다.
+     */
+    static boolean isMoved(String channelId, int shardId,
+                           NavigableMap<Long, Integer> previousRing, NavigableMap<Long, Integer> ring) {
+        return ShardRouter.ringShardOf(previousRing, channelId) == shardId
+                && ShardRouter.ringShardOf(ring, channelId) != shardId;
+    }
+
+    // 이미 배정된 채널(이전 완료/이전 중)은 그대로 둔다
+    private static int pin(JdbcTemplate shard0, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int[] rows = shard0.batchUpdate("INSERT INTO channel_shard_assignments (channel_id, shard_id, status, updated_at) " +
+                "VALUES (?, ?, 'ACTIVE', CURRENT_TIMESTAMP) ON CONFLICT (channel_id) DO NOTHING", batch);
+        batch.clear();
+        int pinned = 0;
+        for (int row : rows) {
+            pinned += Math.max(row, 0);
+        }
+        return pinned;
+    }
+}
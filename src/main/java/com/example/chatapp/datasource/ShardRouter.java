@@ -0,0 +1,141 @@
+package com.example.chatapp.datasource;
+
+import com.example.chatapp.config.ShardProperties;
+import com.example.chatapp.entity.ChannelShardAssignment;
+import com.example.chatapp.exception.ChannelMigrationInProgressException;
+import com.example.chatapp.repository.ChannelShardAssignmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * channelId -> 샤드 번호.
+ * 기본은 가상 노드 기반 consistent hashing이고, channel_shard_assignments에 배정된 채널은 그 값을 따른다.
+ * 배정 테이블은 주기적으로 전체를 다시 읽어 메모리에 보관하므로 요청 경로에서는 DB를 조회하지 않는다.
+ * 샤드를 추가해 링이 바뀌면 ShardRingGuard가 처음 로드 전에 기존 채널을 원래 샤드에 고정한다.
+ * 샤딩이 비활성화되면 모든 채널이 shard-0이다.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    private final ShardProperties properties;
+    private final ChannelShardAssignmentRepository assignmentRepository;
+    private final ObjectProvider<ShardRingGuard> ringGuard;
+    private final NavigableMap<Long, Integer> ring;
+
+    private volatile Map<String, ChannelShardAssignment> assignments = Map.of();
+
+    public ShardRouter(ShardProperties properties, ChannelShardAssignmentRepository assignmentRepository,
+                       ObjectProvider<ShardRingGuard> ringGuard) {
+        this.properties = properties;
+        this.assignmentRepository = assignmentRepository;
+        this.ringGuard = ringGuard;
+        this.ring = buildRing(properties.getShardCount(), properties.getVirtualNodes());
+    }
+
+    // 배정 정보 없이 해시 링으로 라우팅하면 이전된 채널을 잘못된 샤드에서 읽게 되므로 시작 시점에 반드시 로드
+    // (링이 바뀌었으면 기존 채널을 먼저 고정)
+    @PostConstruct
+    void loadAssignments() {
+        ringGuard.ifAvailable(ShardRingGuard::pinChannelsOnRingChange);
+        refreshAssignments();
+    }
+
+    @Scheduled(fixedDelayString = "${chat.datasource.shards.mapping-refresh-interval-ms:5000}")
+    public void refreshAssignments() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        assignments = DataSourceRoutingContext.onShard(0, () -> assignmentRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(ChannelShardAssignment::getChannelId, Function.identity())));
+    }
+
+    public int getShardCount() {
+        return properties.getShardCount();
+    }
+
+    public int shardOf(String channelId) {
+        ChannelShardAssignment assignment = assignments.get(channelId);
+        return assignment != null ? assignment.getShardId() : ringShardOf(channelId);
+    }
+
+    /**
+     * 쓰기용 샤드. 이전 중(FROZEN)인 채널이면 예외.
+     */
+    public int shardForWrite(String channelId) {
+        ChannelShardAssignment assignment = assignments.get(channelId);
+        if (assignment == null) {
+            return ringShardOf(channelId);
+        }
+        if (assignment.getStatus() == ChannelShardAssignment.Status.FROZEN) {
+            throw new ChannelMigrationInProgressException("샤드 이전 중인 채널입니다: " + channelId);
+        }
+        return assignment.getShardId();
+    }
+
+    public int ringShardOf(String channelId) {
+        if (getShardCount() == 1) {
+            return 0;
+        }
+        return ringShardOf(ring, channelId);
+    }
+
+    public Map<String, ChannelShardAssignment> getAssignments() {
+        return assignments;
+    }
+
+    public <T> T onShardOf(String channelId, Supplier<T> action) {
+        if (!properties.isEnabled()) {
+            return action.get();
+        }
+        return DataSourceRoutingContext.onShard(shardOf(channelId), action);
+    }
+
+    public <T> T onShardForWrite(String channelId, Supplier<T> action) {
+        if (!properties.isEnabled()) {
+            return action.get();
+        }
+        return DataSourceRoutingContext.onShard(shardForWrite(channelId), action);
+    }
+
+    static NavigableMap<Long, Integer> buildRing(int shardCount, int virtualNodes) {
+        NavigableMap<Long, Integer> ring = new TreeMap<>();
+        for (int shardId = 0; shardId < shardCount; shardId++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash("shard-" + shardId + "#" + node), shardId);
+            }
+        }
+        return ring;
+    }
+
+    static int ringShardOf(NavigableMap<Long, Integer> ring, String channelId) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(channelId));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    // FNV-1a 64 + murmur3 fmix64 (링 위치 분산용, 보안 목적 아님)
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.chatapp.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link DataSourceRoutingContext#currentShard()}로 지정된 샤드의 DataSource로 커넥션을 라우팅한다.
+ * 샤드가 지정되지 않은 조회(채널과 무관한 테이블, Flyway 등)는 shard-0으로 간다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(ShardDataSources shards) {
+        Map<Object, Object> targets = new HashMap<>(shards.asMap());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = DataSourceRoutingContext.currentShard();
+        return shard != null ? shard : 0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.chatapp.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * shard-1 이후 샤드의 스키마를 준비한다. (shard-0은 Spring Boot Flyway 자동 구성이 처리)
+ * 1. shard-0과 같은 설정으로 Flyway 마이그레이션 실행
+ * 2. messages_id_seq를 샤드별 ID 대역(shardId << 48)으로 이동 - 샤드 간 이전 시 원래 ID를 그대로 유지할 수 있도록 전역 유일 보장
+ */
+@Slf4j
+public class ShardSchemaInitializer implements InitializingBean {
+
+    public static final int ID_RANGE_BITS = 48;
+
+    private final ShardDataSources shardDataSources;
+    private final Flyway flyway;
+
+    public ShardSchemaInitializer(ShardDataSources shardDataSources, Flyway flyway) {
+        this.shardDataSources = shardDataSources;
+        this.flyway = flyway;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        shardDataSources.asMap().forEach((shardId, dataSource) -> {
+            if (shardId == 0) {
+                return;
+            }
+
+            if (flyway != null) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(dataSource)
+                        .load()
+                        .migrate();
+                log.info("샤드 스키마 마이그레이션 완료 - shard-{}", shardId);
+            } else {
+                log.warn("Flyway 비활성화 상태 - shard-{} 스키마는 직접 준비해야 합니다", shardId);
+            }
+
+            moveIdSequence(shardId, dataSource);
+        });
+    }
+
+    private void moveIdSequence(int shardId, DataSource dataSource) {
+        long rangeStart = (long) shardId << ID_RANGE_BITS;
+        new JdbcTemplate(dataSource).query(
+                "SELECT setval('messages_id_seq', ?, false) FROM messages_id_seq WHERE last_value < ?",
+                rs -> {
+                    log.info("샤드 ID 대역 설정 - shard-{}, 시작: {}", shardId, rangeStart);
+                },
+                rangeStart, rangeStart);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.chatapp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchMessageRequest {
+
+    // 개별 메시지 검증은 항목별 결과로 반환하기 위해 서비스에서 수행 (@Valid 미적용)
+    @NotEmpty(message = "메시지 목록은 비어 있을 수 없습니다")
+    @Size(max = 5000, message = "한 번에 최대 5000개의 메시지만 요청할 수 있습니다")
+    private List<MessageRequest> messages;
+}
@@ -0,0 +1,25 @@
+package com.example.chatapp.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BatchMessageResponse {
+
+    private final List<BatchMessageResult> results;
+    private final long created;
+    private final long duplicates;
+    private final long failed;
+
+    public BatchMessageResponse(List<BatchMessageResult> results) {
+        this.results = results;
+        this.created = count(results, BatchMessageResult.Status.CREATED);
+        this.duplicates = count(results, BatchMessageResult.Status.DUPLICATE);
+        this.failed = results.size() - created - duplicates;
+    }
+
+    private static long count(List<BatchMessageResult> results, BatchMessageResult.Status status) {
+        return results.stream().filter(result -> result.getStatus() == status).count();
+    }
+}
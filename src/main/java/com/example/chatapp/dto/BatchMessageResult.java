@@ -0,0 +1,39 @@
+package com.example.chatapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchMessageResult {
+
+    public enum Status {
+        CREATED,       // 새로 저장됨
+        DUPLICATE,     // 멱등키 중복 - 기존 메시지 반환
+        INVALID,       // 요청 데이터 오류
+        FAILED         // 처리 실패
+    }
+
+    private final int index;
+    private final Status status;
+    private final MessageResponse message;
+    private final String error;
+
+    public static BatchMessageResult created(int index, MessageResponse message) {
+        return new BatchMessageResult(index, Status.CREATED, message, null);
+    }
+
+    public static BatchMessageResult duplicate(int index, MessageResponse message) {
+        return new BatchMessageResult(index, Status.DUPLICATE, message, null);
+    }
+
+    public static BatchMessageResult invalid(int index, String error) {
+        return new BatchMessageResult(index, Status.INVALID, null, error);
+    }
+
+    public static BatchMessageResult failed(int index, String error) {
+        return new BatchMessageResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.chatapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Redis 캐시에 저장하는 메시지 형태.
+ * contentEncoding이 있으면 content는 압축된 본문(base64)이고, 조회 시 MessageResponse로 풀어서 반환한다.
+ * 압축하지 않은 항목은 MessageResponse와 같은 JSON이므로 기존 캐시 데이터도 그대로 읽힌다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CachedMessage extends MessageResponse {
+
+    private String contentEncoding;
+
+    // 압축 전 본문의 UTF-8 바이트 수
+    private Integer contentLength;
+
+    public CachedMessage(MessageResponse message) {
+        super(message.getId(), message.getChannelId(), message.getUserId(), message.getContent(),
+                message.getMessageType(), message.getSequenceNumber(), message.getCreatedAt());
+    }
+
+    @JsonIgnore
+    public boolean isCompressed() {
+        return contentEncoding != null;
+    }
+
+    public MessageResponse toMessageResponse(String content) {
+        return new MessageResponse(getId(), getChannelId(), getUserId(), content,
+                getMessageType(), getSequenceNumber(), getCreatedAt());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 인박스의 채널 한 개. 메시지가 없는(또는 전부 아카이브된) 채널은 headSequence, lastMessage가 null.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxChannel {
+
+    private String channelId;
+    private Long headSequence;
+    private MessageResponse lastMessage;
+}
@@ -0,0 +1,19 @@
+package com.example.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * GET /users/{userId}/inbox 응답. 채널은 마지막 메시지가 최신인 순서이며 메시지가 없는 채널이 마지막.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxResponse {
+
+    private String userId;
+    private List<InboxChannel> channels;
+}
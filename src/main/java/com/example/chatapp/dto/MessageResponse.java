@@ -20,6 +20,17 @@ public class MessageResponse {
     private Long sequenceNumber;
     private ZonedDateTime createdAt;
 
+    public MessageResponse(Long id, String channelId, String userId, String content,
+                           Message.MessageType messageType, Long sequenceNumber, ZonedDateTime createdAt) {
+        this.id = id;
+        this.channelId = channelId;
+        this.userId = userId;
+        this.content = content;
+        this.messageType = messageType;
+        this.sequenceNumber = sequenceNumber;
+        this.createdAt = createdAt;
+    }
+
     public MessageResponse(Message message) {
         this.id = message.getId();
         this.channelId = message.getChannelId();
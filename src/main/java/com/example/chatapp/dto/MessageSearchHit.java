@@ -0,0 +1,18 @@
+package com.example.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 검색 결과 한 건. highlight는 HTML 이스케이프된 본문 발췌이며 일치한 단어만 &lt;mark&gt;로 감싼다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSearchHit {
+
+    private MessageResponse message;
+    private float rank;
+    private String highlight;
+}
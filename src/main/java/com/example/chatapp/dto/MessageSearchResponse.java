@@ -0,0 +1,22 @@
+package com.example.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * GET /messages/search 응답. 결과는 관련도(rank) 내림차순, 같으면 최신 메시지 순.
+ * nextCursor를 다음 요청의 cursor로 넘기면 이어서 조회하며, 마지막 페이지면 null.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageSearchResponse {
+
+    private String channelId;
+    private String query;
+    private List<MessageSearchHit> hits;
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.example.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * /topic/channel/{channelId}/typing 으로 전송되는 입력 중 알림. 저장되지 않는다.
+ * 클라이언트는 typing=true를 받은 뒤 ttlMs 안에 갱신이 없으면 스스로 표시를 지운다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypingEvent {
+
+    private String channelId;
+    private String userId;
+    private boolean typing;
+    private long ttlMs;
+}
@@ -0,0 +1,18 @@
+package com.example.chatapp.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class TypingRequest {
+
+    private String channelId;
+
+    private String userId;
+
+    // false면 입력 중단
+    private boolean typing = true;
+}
@@ -0,0 +1,56 @@
+package com.example.chatapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.ZonedDateTime;
+
+/**
+ * 사용자별 채널 읽음 위치 (V3). 행이 있으면 채널 멤버로 본다 (shard-0에만 저장).
+ */
+@Entity
+@Table(name = "channel_offsets",
+       uniqueConstraints = @UniqueConstraint(name = "idx_channel_offsets_user_channel", columnNames = {"user_id", "channel_id"}),
+       indexes = {
+           @Index(name = "idx_channel_offsets_channel", columnList = "channel_id"),
+           @Index(name = "idx_channel_offsets_user", columnList = "user_id")
+       })
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChannelOffset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "channel_id", nullable = false)
+    private String channelId;
+
+    @Column(name = "last_read_sequence", nullable = false)
+    private Long lastReadSequence = 0L;
+
+    @Column(name = "last_read_at", nullable = false)
+    private ZonedDateTime lastReadAt = ZonedDateTime.now();
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private ZonedDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+
+    public ChannelOffset(String userId, String channelId) {
+        this.userId = userId;
+        this.channelId = channelId;
+    }
+}
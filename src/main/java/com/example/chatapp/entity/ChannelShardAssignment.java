@@ -0,0 +1,48 @@
+package com.example.chatapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.ZonedDateTime;
+
+/**
+ * 해시 링 배정을 덮어쓰는 채널별 샤드 배정 (shard-0에만 저장).
+ * 채널 이전 중에는 FROZEN으로 표시되어 쓰기가 거부된다.
+ */
+@Entity
+@Table(name = "channel_shard_assignments")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChannelShardAssignment {
+
+    @Id
+    @Column(name = "channel_id", nullable = false)
+    private String channelId;
+
+    @Column(name = "shard_id", nullable = false)
+    private Integer shardId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+
+    public enum Status {
+        ACTIVE,     // 배정된 샤드에서 읽기/쓰기
+        FROZEN      // 이전 중 - 읽기만 허용
+    }
+
+    public ChannelShardAssignment(String channelId, Integer shardId, Status status) {
+        this.channelId = channelId;
+        this.shardId = shardId;
+        this.status = status;
+    }
+}
@@ -6,8 +6,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
-import org.apache.commons.codec.digest.DigestUtils;
 
 @Entity
 @Table(name = "idempotency_keys")
@@ -16,9 +18,23 @@ import org.apache.commons.codec.digest.DigestUtils;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class IdempotencyKey {
 
+    public static final int HASH_LENGTH = 32;
+
+    private static final byte SEPARATOR = ':';
+
+    // MessageDigest는 thread-safe하지 않으므로 스레드별로 재사용
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    });
+
+    // SHA-256 원본 32바이트 (hex 문자열 대비 키/인덱스 크기 절반)
     @Id
-    @Column(name = "idempotency_hash", length = 64, nullable = false)
-    private String idempotencyHash;
+    @Column(name = "idempotency_hash", length = HASH_LENGTH, nullable = false)
+    private byte[] idempotencyHash;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -28,8 +44,19 @@ public class IdempotencyKey {
         this.createdAt = LocalDateTime.now();
     }
 
-    public static String generateHash(String userId, String channelId, String clientMessageId) {
-        String input = userId + ":" + channelId + ":" + clientMessageId;
-        return DigestUtils.sha256Hex(input);
+    /**
+     * SHA-256("userId:channelId:clientMessageId").
+     * 문자열 결합/hex 인코딩 없이 각 부분을 digest에 직접 넣으며, 기존 hex 키를 decode한 값과 동일하다.
+     * 스레드별 digest를 재사용하므로, 이전 호출이 중간에 예외로 끝나 남은 입력이 섞이지 않게 먼저 초기화한다.
+     */
+    public static byte[] generateHash(String userId, String channelId, String clientMessageId) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        digest.update(userId.getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+        digest.update(channelId.getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+        digest.update(clientMessageId.getBytes(StandardCharsets.UTF_8));
+        return digest.digest();
     }
-}
\ No newline at end of file
+}
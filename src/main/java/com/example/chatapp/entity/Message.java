@@ -16,8 +16,10 @@ import java.time.ZonedDateTime;
 @NoArgsConstructor
 public class Message {
 
+    // IDENTITY는 INSERT마다 즉시 실행되어 JDBC 배치가 비활성화되므로 pooled 시퀀스 사용 (V8 마이그레이션과 allocationSize 일치)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "messages_id_seq")
+    @SequenceGenerator(name = "messages_id_seq", sequenceName = "messages_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "channel_id", nullable = false)
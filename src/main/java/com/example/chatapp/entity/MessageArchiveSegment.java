@@ -0,0 +1,57 @@
+package com.example.chatapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.ZonedDateTime;
+
+/**
+ * 아카이브 세그먼트 파일 한 개 = 한 채널의 연속된 시퀀스 구간 [firstSequence, lastSequence].
+ * 이 구간의 메시지는 messages 테이블에서 삭제되어 있다.
+ */
+@Entity
+@Table(name = "message_archive_segments")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MessageArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "channel_id", nullable = false)
+    private String channelId;
+
+    @Column(name = "first_sequence", nullable = false)
+    private Long firstSequence;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+
+    @Column(name = "message_count", nullable = false)
+    private Integer messageCount;
+
+    // 아카이브 디렉터리 기준 상대 경로
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    public MessageArchiveSegment(String channelId, Long firstSequence, Long lastSequence, Integer messageCount,
+                                 String fileName, Long sizeBytes) {
+        this.channelId = channelId;
+        this.firstSequence = firstSequence;
+        this.lastSequence = lastSequence;
+        this.messageCount = messageCount;
+        this.fileName = fileName;
+        this.sizeBytes = sizeBytes;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.chatapp.exception;
+
+public class ChannelMigrationInProgressException extends RuntimeException {
+
+    public ChannelMigrationInProgressException(String message) {
+        super(message);
+    }
+}
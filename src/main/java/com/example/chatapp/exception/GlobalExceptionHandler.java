@@ -1,6 +1,7 @@
 package com.example.chatapp.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -57,6 +58,57 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 
+    @ExceptionHandler(ChannelMigrationInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleChannelMigrationInProgressException(ChannelMigrationInProgressException e) {
+        log.warn("채널 이전 중 쓰기 거부: {}", e.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "CHANNEL_MIGRATING");
+        response.put("message", "채널을 이전하는 중입니다. 잠시 후 다시 시도해주세요.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+
+    @ExceptionHandler(LongPollCapacityExceededException.class)
+    public ResponseEntity<Map<String, String>> handleLongPollCapacityExceededException(LongPollCapacityExceededException e) {
+        log.warn("롱폴링 대기 한도 초과: {}", e.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "LONG_POLL_CAPACITY_EXCEEDED");
+        response.put("message", "대기 중인 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimitExceededException(RateLimitExceededException e) {
+        log.warn("요청 한도 초과: {}", e.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "RATE_LIMITED");
+        response.put("message", "메시지 전송 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
+
+        // Retry-After는 초 단위이므로 올림
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString((e.getRetryAfterMillis() + 999) / 1000))
+                .body(response);
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSearchQueryException(InvalidSearchQueryException e) {
+        log.warn("잘못된 검색 요청: {}", e.getMessage());
+
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "INVALID_SEARCH_QUERY");
+        response.put("message", e.getMessage());
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Map<String, String>> handleIllegalStateException(IllegalStateException e) {
         log.error("상태 오류: {}", e.getMessage(), e);
@@ -0,0 +1,8 @@
+package com.example.chatapp.exception;
+
+public class LongPollCapacityExceededException extends RuntimeException {
+
+    public LongPollCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.chatapp.hotchannel;
+
+/**
+ * @param count 슬라이딩 윈도우 동안의 추정 횟수 (클러스터 결과는 노드 합산)
+ */
+public record HotChannel(String channelId, long count) {
+}
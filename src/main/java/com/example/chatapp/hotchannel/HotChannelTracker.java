@@ -0,0 +1,222 @@
+package com.example.chatapp.hotchannel;
+
+import com.example.chatapp.config.HotChannelProperties;
+import com.example.chatapp.service.RedisCircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 채널별 쓰기/읽기 빈도를 슬라이딩 윈도우(count-min sketch + 상위 k)로 집계해 핫 채널을 찾는다.
+ * 노드마다 집계한 상위 채널을 mergeIntervalMs마다 Redis(hot_channels:{kind}:{nodeId})에 올리고
+ * 살아 있는 노드들의 결과를 합쳐 클러스터 전체 순위를 만든다. Redis를 쓸 수 없으면 노드 로컬 결과를 쓴다.
+ */
+@Slf4j
+@Component
+public class HotChannelTracker {
+
+    public enum Kind {
+        WRITE,
+        READ
+    }
+
+    private static final String KEY_PREFIX = "hot_channels:";
+    private static final String NODES_KEY = KEY_PREFIX + "nodes";
+
+    // 이 주기 수만큼 갱신이 없으면 죽은 노드로 보고 합산에서 제외
+    private static final int NODE_EXPIRY_INTERVALS = 3;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final HotChannelProperties properties;
+    private final Clock clock;
+    private final String nodeId;
+
+    private final Map<Kind, SlidingWindowSketch> sketches = new EnumMap<>(Kind.class);
+    private final Map<Kind, TopKChannels> topChannels = new EnumMap<>(Kind.class);
+
+    private volatile Map<Kind, List<HotChannel>> clusterTop;
+    private volatile Set<String> hotChannelIds = Set.of();
+    private volatile Instant mergedAt;
+
+    @Autowired
+    public HotChannelTracker(RedisTemplate<String, String> redisTemplate, RedisCircuitBreaker circuitBreaker,
+                             HotChannelProperties properties) {
+        this(redisTemplate, circuitBreaker, properties, Clock.systemUTC());
+    }
+
+    HotChannelTracker(RedisTemplate<String, String> redisTemplate, RedisCircuitBreaker circuitBreaker,
+                      HotChannelProperties properties, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.properties = properties;
+        this.clock = clock;
+        this.nodeId = StringUtils.hasText(properties.getNodeId())
+                ? properties.getNodeId() : UUID.randomUUID().toString().substring(0, 8);
+
+        Map<Kind, List<HotChannel>> empty = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            sketches.put(kind, new SlidingWindowSketch(
+                    properties.getSketchDepth(), properties.getSketchWidth(), properties.getBuckets()));
+            topChannels.put(kind, new TopKChannels(Math.max(properties.getTopK(), 1)));
+            empty.put(kind, List.of());
+        }
+        this.clusterTop = empty;
+    }
+
+    public void recordWrite(String channelId) {
+        record(Kind.WRITE, channelId);
+    }
+
+    public void recordRead(String channelId) {
+        record(Kind.READ, channelId);
+    }
+
+    /**
+     * 클러스터 상위 채널(쓰기 또는 읽기) 중 윈도우 횟수가 minCount 이상이면 핫 채널.
+     * 집계가 꺼져 있으면 항상 true.
+     */
+    public boolean isHot(String channelId) {
+        return !properties.isEnabled() || hotChannelIds.contains(channelId);
+    }
+
+    /**
+     * 과거 구간 조회 결과를 캐시할지 여부 - 콜드 채널의 깊은 히스토리는 다시 읽힐 가능성이 낮아 캐시 메모리만 차지한다.
+     */
+    public boolean admitHistory(String channelId) {
+        return !properties.isHistoryAdmission() || isHot(channelId);
+    }
+
+    public List<HotChannel> getLocalTop(Kind kind) {
+        return topChannels.get(kind).snapshot();
+    }
+
+    public List<HotChannel> getClusterTop(Kind kind) {
+        return clusterTop.get(kind);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Instant getMergedAt() {
+        return mergedAt;
+    }
+
+    public Duration getWindow() {
+        return Duration.ofMillis(properties.getBucketIntervalMs() * properties.getBuckets());
+    }
+
+    @Scheduled(fixedDelayString = "${chat.hot-channels.bucket-interval-ms:10000}")
+    public void rotate() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (Kind kind : Kind.values()) {
+            SlidingWindowSketch sketch = sketches.get(kind);
+            sketch.rotate();
+            topChannels.get(kind).refresh(sketch::estimate);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.hot-channels.merge-interval-ms:5000}")
+    public void merge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Map<Kind, List<HotChannel>> merged = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            merged.put(kind, getLocalTop(kind));
+        }
+
+        if (circuitBreaker.allowRequest()) {
+            Map<Kind, List<HotChannel>> fromRedis = circuitBreaker.execute("핫 채널 병합", this::publishAndCollect, null);
+            if (fromRedis != null) {
+                merged = fromRedis;
+            }
+        }
+
+        Set<String> hot = new HashSet<>();
+        merged.values().forEach(channels -> channels.stream()
+                .filter(channel -> channel.count() >= properties.getMinCount())
+                .forEach(channel -> hot.add(channel.channelId())));
+
+        clusterTop = merged;
+        hotChannelIds = Collections.unmodifiableSet(hot);
+        mergedAt = clock.instant();
+    }
+
+    private void record(Kind kind, String channelId) {
+        if (!properties.isEnabled() || channelId == null) {
+            return;
+        }
+        long estimate = sketches.get(kind).add(channelId);
+        topChannels.get(kind).offer(channelId, estimate);
+    }
+
+    // 이 노드의 상위 채널을 올리고 살아 있는 모든 노드의 상위 채널을 읽어 합산
+    private Map<Kind, List<HotChannel>> publishAndCollect() {
+        long now = clock.millis();
+        long ttlMillis = properties.getMergeIntervalMs() * NODE_EXPIRY_INTERVALS;
+
+        for (Kind kind : Kind.values()) {
+            String key = buildNodeKey(kind, nodeId);
+            Set<ZSetOperations.TypedTuple<String>> tuples = getLocalTop(kind).stream()
+                    .map(channel -> (ZSetOperations.TypedTuple<String>)
+                            new DefaultTypedTuple<>(channel.channelId(), (double) channel.count()))
+                    .collect(Collectors.toSet());
+            redisTemplate.delete(key);
+            if (!tuples.isEmpty()) {
+                redisTemplate.opsForZSet().add(key, tuples);
+                redisTemplate.expire(key, ttlMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+        redisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, Double.NEGATIVE_INFINITY, now - ttlMillis);
+        Set<String> nodes = redisTemplate.opsForZSet().range(NODES_KEY, 0, -1);
+
+        Map<Kind, List<HotChannel>> merged = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            Map<String, Long> counts = new HashMap<>();
+            for (String node : nodes != null ? nodes : Set.of(nodeId)) {
+                Set<ZSetOperations.TypedTuple<String>> entries =
+                        redisTemplate.opsForZSet().rangeWithScores(buildNodeKey(kind, node), 0, -1);
+                if (entries != null) {
+                    entries.forEach(entry -> counts.merge(entry.getValue(), entry.getScore().longValue(), Long::sum));
+                }
+            }
+            merged.put(kind, counts.entrySet().stream()
+                    .map(entry -> new HotChannel(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingLong(HotChannel::count).reversed())
+                    .limit(properties.getTopK())
+                    .collect(Collectors.toCollection(ArrayList::new)));
+        }
+        return merged;
+    }
+
+    private static String buildNodeKey(Kind kind, String nodeId) {
+        return KEY_PREFIX + kind.name().toLowerCase() + ":" + nodeId;
+    }
+}
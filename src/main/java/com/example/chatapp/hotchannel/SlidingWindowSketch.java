@@ -0,0 +1,81 @@
+package com.example.chatapp.hotchannel;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 시간 버킷마다 count-min sketch 하나를 두고 회전시키는 슬라이딩 윈도우 빈도 추정기.
+ * 윈도우 추정치는 행마다 전체 버킷의 카운터를 더한 뒤 행들 중 최솟값 (실제 횟수 이상으로만 틀린다).
+ * 락 없이 동작하며 회전 직후 비우는 버킷과 동시에 들어온 증가분 일부는 유실될 수 있다.
+ */
+class SlidingWindowSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray[] buckets;
+    private volatile int current;
+
+    SlidingWindowSketch(int depth, int width, int bucketCount) {
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.buckets = new AtomicLongArray[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new AtomicLongArray(depth * this.width);
+        }
+    }
+
+    /**
+     * 현재 버킷에 1을 더하고 윈도우 전체 추정치를 반환한다.
+     */
+    long add(String key) {
+        long hash = hash(key);
+        AtomicLongArray bucket = buckets[current];
+        for (int row = 0; row < depth; row++) {
+            bucket.incrementAndGet(slot(hash, row));
+        }
+        return estimate(hash);
+    }
+
+    long estimate(String key) {
+        return estimate(hash(key));
+    }
+
+    /**
+     * 가장 오래된 버킷을 비우고 현재 버킷으로 만든다.
+     */
+    void rotate() {
+        int next = (current + 1) % buckets.length;
+        AtomicLongArray bucket = buckets[next];
+        for (int i = 0; i < bucket.length(); i++) {
+            bucket.set(i, 0);
+        }
+        current = next;
+    }
+
+    private long estimate(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int slot = slot(hash, row);
+            long sum = 0;
+            for (AtomicLongArray bucket : buckets) {
+                sum += bucket.get(slot);
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    private int slot(long hash, int row) {
+        return row * width + (int) (mix(hash + row * 0x9E3779B97F4A7C15L) & (width - 1));
+    }
+
+    private static long hash(String key) {
+        return mix(key.hashCode());
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
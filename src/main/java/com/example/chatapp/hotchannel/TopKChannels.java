@@ -0,0 +1,80 @@
+package com.example.chatapp.hotchannel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * 추정치 기준 상위 k개 채널. 이미 들어 있는 채널의 갱신은 락 없이 처리하고,
+ * 새 채널 진입/최솟값 교체만 락을 잡는다. 대부분의 콜드 채널은 진입 기준(admissionThreshold) 비교에서 끝난다.
+ */
+class TopKChannels {
+
+    private final int k;
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+    // 가득 찼을 때 최솟값(그 이하는 진입 불가), 덜 찼으면 0
+    private volatile long admissionThreshold;
+    private volatile String minKey;
+
+    TopKChannels(int k) {
+        this.k = k;
+    }
+
+    void offer(String key, long estimate) {
+        if (counts.computeIfPresent(key, (ignored, previous) -> Math.max(previous, estimate)) != null) {
+            if (key.equals(minKey)) {
+                synchronized (this) {
+                    recomputeMin();
+                }
+            }
+            return;
+        }
+        if (estimate <= admissionThreshold) {
+            return;
+        }
+
+        synchronized (this) {
+            if (counts.size() >= k) {
+                if (estimate <= admissionThreshold) {
+                    return;
+                }
+                counts.remove(minKey);
+            }
+            counts.put(key, estimate);
+            recomputeMin();
+        }
+    }
+
+    /**
+     * 윈도우가 이동했을 때 전체 추정치를 다시 계산한다. 0이 된 채널은 빠진다.
+     */
+    synchronized void refresh(ToLongFunction<String> estimator) {
+        counts.replaceAll((key, ignored) -> estimator.applyAsLong(key));
+        counts.values().removeIf(count -> count == 0);
+        recomputeMin();
+    }
+
+    List<HotChannel> snapshot() {
+        List<HotChannel> channels = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> channels.add(new HotChannel(key, count)));
+        channels.sort(Comparator.comparingLong(HotChannel::count).reversed());
+        return channels;
+    }
+
+    private void recomputeMin() {
+        String key = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (entry.getValue() < min) {
+                min = entry.getValue();
+                key = entry.getKey();
+            }
+        }
+        minKey = key;
+        admissionThreshold = counts.size() >= k ? min : 0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.chatapp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Redis 메시지 캐시 조회 1회. 조회 빈도가 가장 높은 이벤트라 기본 임계치 1ms 이상만 기록한다
+ * (녹화 설정에서 threshold를 0 ms로 내리면 전부 기록).
+ */
+@Name("com.example.chatapp.CacheLookup")
+@Label("Message Cache Lookup")
+@Category({"Chat", "Cache"})
+@Description("Redis 메시지 캐시 조회 (ZSet 조회 + 역직렬화)")
+@StackTrace(false)
+@Threshold("1 ms")
+public class CacheLookupEvent extends Event {
+
+    @Label("Channel")
+    private String channelId;
+
+    @Label("Operation")
+    @Description("latest, before, after")
+    private String operation;
+
+    @Label("Cursor Sequence")
+    private long cursor;
+
+    @Label("Requested")
+    private int requested;
+
+    @Label("Rows")
+    @Description("캐시에서 얻은 메시지 수 (미스면 0)")
+    private int rows;
+
+    public void complete(String channelId, String operation, long cursor, int requested, int rows) {
+        end();
+        if (shouldCommit()) {
+            this.channelId = channelId;
+            this.operation = operation;
+            this.cursor = cursor;
+            this.requested = requested;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.chatapp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 멱등키 중복으로 기존 메시지를 반환한 요청. 기간에는 선행 트랜잭션 완료를 기다린 시간이 포함된다.
+ */
+@Name("com.example.chatapp.DuplicateMessage")
+@Label("Duplicate Message")
+@Category({"Chat", "Message"})
+@Description("멱등키 중복 감지 후 기존 메시지 반환 (선행 트랜잭션 대기 포함)")
+@StackTrace(false)
+public class DuplicateMessageEvent extends Event {
+
+    @Label("Channel")
+    private String channelId;
+
+    @Label("Client Message ID")
+    private String clientMessageId;
+
+    @Label("Message ID")
+    private long messageId;
+
+    @Label("Sequence")
+    private long sequenceNumber;
+
+    public void complete(String channelId, String clientMessageId, long messageId, long sequenceNumber) {
+        end();
+        if (shouldCommit()) {
+            this.channelId = channelId;
+            this.clientMessageId = clientMessageId;
+            this.messageId = messageId;
+            this.sequenceNumber = sequenceNumber;
+            commit();
+        }
+    }
+}
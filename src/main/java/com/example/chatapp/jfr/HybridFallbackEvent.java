@@ -0,0 +1,57 @@
+package com.example.chatapp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 캐시만으로 페이지를 채우지 못해 DB(및 아카이브)까지 내려간 조회.
+ * 기간은 DB 조회부터 캐시 채우기까지이며 앞선 캐시 조회는 포함하지 않는다.
+ */
+@Name("com.example.chatapp.HybridFallback")
+@Label("Hybrid DB Fallback")
+@Category({"Chat", "Message"})
+@Description("캐시 부족으로 DB/아카이브를 함께 조회한 메시지 조회")
+@StackTrace(false)
+public class HybridFallbackEvent extends Event {
+
+    @Label("Channel")
+    private String channelId;
+
+    @Label("Mode")
+    @Description("latest, before, after")
+    private String mode;
+
+    @Label("Requested")
+    private int requested;
+
+    @Label("Cached Rows")
+    private int cachedRows;
+
+    @Label("DB Rows")
+    private int dbRows;
+
+    @Label("Archive Rows")
+    private int archiveRows;
+
+    @Label("Returned Rows")
+    private int returnedRows;
+
+    public void complete(String channelId, String mode, int requested, int cachedRows, int dbRows,
+                         int archiveRows, int returnedRows) {
+        end();
+        if (shouldCommit()) {
+            this.channelId = channelId;
+            this.mode = mode;
+            this.requested = requested;
+            this.cachedRows = cachedRows;
+            this.dbRows = dbRows;
+            this.archiveRows = archiveRows;
+            this.returnedRows = returnedRows;
+            commit();
+        }
+    }
+}
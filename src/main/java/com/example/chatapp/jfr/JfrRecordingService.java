@@ -0,0 +1,104 @@
+package com.example.chatapp.jfr;
+
+import com.example.chatapp.config.JfrProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JFR 녹화 시작/덤프/종료. 채팅 이벤트(com.example.chatapp.*)는 클래스의 @Threshold 기본값으로 기록되고
+ * JVM 옵션(-XX:StartFlightRecording)으로 시작한 녹화도 같은 방식으로 덤프할 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JfrRecordingService {
+
+    static final String CONTINUOUS_RECORDING_NAME = "chat-continuous";
+
+    private final JfrProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() {
+        if (!properties.isContinuous()) {
+            return;
+        }
+        try {
+            start(CONTINUOUS_RECORDING_NAME, properties.getSettings(), null);
+        } catch (IOException | ParseException e) {
+            log.error("JFR 상시 녹화 시작 실패 - settings: {}, 오류: {}", properties.getSettings(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param settings JDK 설정 이름 (default, profile)
+     * @param duration null이면 stop 할 때까지 녹화
+     */
+    public Recording start(String name, String settings, Duration duration) throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.start();
+
+        log.info("JFR 녹화 시작 - id: {}, name: {}, settings: {}, duration: {}",
+                recording.getId(), name, settings, duration);
+        return recording;
+    }
+
+    /**
+     * 녹화를 중단하지 않고 현재까지의 데이터를 파일로 쓴다. 같은 녹화를 다시 덤프하면 파일을 덮어쓴다.
+     */
+    public Optional<Path> dump(long id) throws IOException {
+        Optional<Recording> recording = find(id);
+        if (recording.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+        Path file = directory.resolve("recording-" + id + ".jfr");
+        recording.get().dump(file);
+
+        log.info("JFR 덤프 완료 - id: {}, 파일: {}, 크기: {}바이트", id, file, Files.size(file));
+        return Optional.of(file);
+    }
+
+    public boolean stop(long id) {
+        Optional<Recording> recording = find(id);
+        recording.ifPresent(r -> {
+            r.close();
+            log.info("JFR 녹화 종료 - id: {}, name: {}", id, r.getName());
+        });
+        return recording.isPresent();
+    }
+
+    public List<Recording> getRecordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings();
+    }
+
+    private Optional<Recording> find(long id) {
+        return getRecordings().stream()
+                .filter(recording -> recording.getId() == id && recording.getState() != RecordingState.CLOSED)
+                .findFirst();
+    }
+}
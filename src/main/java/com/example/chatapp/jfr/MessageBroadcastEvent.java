@@ -0,0 +1,43 @@
+package com.example.chatapp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 메시지/입장/퇴장 알림 전송 1회 (토픽 + 멤버 피드 + 롱폴링 깨우기).
+ * 대부분 1ms 미만이므로 기본 임계치 1ms 이상만 기록한다.
+ */
+@Name("com.example.chatapp.MessageBroadcast")
+@Label("Message Broadcast")
+@Category({"Chat", "Broadcast"})
+@Description("토픽, 멤버 피드, 롱폴링 대기자로의 전송")
+@StackTrace(false)
+@Threshold("1 ms")
+public class MessageBroadcastEvent extends Event {
+
+    @Label("Channel")
+    private String channelId;
+
+    @Label("Type")
+    @Description("message, join, leave")
+    private String type;
+
+    @Label("Sequence")
+    @Description("입장/퇴장 알림은 0")
+    private long sequenceNumber;
+
+    public void complete(String channelId, String type, long sequenceNumber) {
+        end();
+        if (shouldCommit()) {
+            this.channelId = channelId;
+            this.type = type;
+            this.sequenceNumber = sequenceNumber;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.chatapp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 신규 메시지 1건 저장. 기간은 멱등키 INSERT부터 캐시 저장까지이며 커밋은 포함하지 않는다.
+ */
+@Name("com.example.chatapp.MessageSaved")
+@Label("Message Saved")
+@Category({"Chat", "Message"})
+@Description("신규 메시지 저장 (멱등키 INSERT ~ 캐시 저장)")
+@StackTrace(false)
+public class MessageSavedEvent extends Event {
+
+    @Label("Channel")
+    private String channelId;
+
+    @Label("Message ID")
+    private long messageId;
+
+    @Label("Sequence")
+    private long sequenceNumber;
+
+    public void complete(String channelId, long messageId, long sequenceNumber) {
+        end();
+        if (shouldCommit()) {
+            this.channelId = channelId;
+            this.messageId = messageId;
+            this.sequenceNumber = sequenceNumber;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.entity.ChannelOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChannelOffsetRepository extends JpaRepository<ChannelOffset, Long> {
+
+    @Query("SELECT o.channelId FROM ChannelOffset o WHERE o.userId = :userId")
+    List<String> findChannelIdsByUserId(@Param("userId") String userId);
+
+    // 이미 멤버면 아무것도 하지 않음 (읽음 위치 유지)
+    @Modifying
+    @Query(value = "INSERT INTO channel_offsets (user_id, channel_id, last_read_sequence, last_read_at, created_at, updated_at) " +
+                   "VALUES (:userId, :channelId, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (user_id, channel_id) DO NOTHING",
+           nativeQuery = true)
+    int insertOnConflictDoNothing(@Param("userId") String userId, @Param("channelId") String channelId);
+
+    @Modifying
+    @Query("DELETE FROM ChannelOffset o WHERE o.userId = :userId AND o.channelId = :channelId")
+    int deleteByUserIdAndChannelId(@Param("userId") String userId, @Param("channelId") String channelId);
+}
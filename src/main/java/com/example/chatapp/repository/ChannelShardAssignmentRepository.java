@@ -0,0 +1,9 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.entity.ChannelShardAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChannelShardAssignmentRepository extends JpaRepository<ChannelShardAssignment, String> {
+}
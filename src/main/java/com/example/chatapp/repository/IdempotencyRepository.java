@@ -11,22 +11,22 @@ import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-public interface IdempotencyRepository extends JpaRepository<IdempotencyKey, String> {
+public interface IdempotencyRepository extends JpaRepository<IdempotencyKey, byte[]> {
 
     // 기존 Pessimistic Write Lock 메서드
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT i FROM IdempotencyKey i WHERE i.idempotencyHash = :key")
-    Optional<IdempotencyKey> findByIdWithLock(String key);
+    Optional<IdempotencyKey> findByIdWithLock(byte[] key);
 
     // ON CONFLICT DO NOTHING을 위한 네이티브 쿼리
     @Modifying
     @Query(value = "INSERT INTO idempotency_keys (idempotency_hash, created_at) VALUES (:hash, CURRENT_TIMESTAMP) ON CONFLICT (idempotency_hash) DO NOTHING",
            nativeQuery = true)
-    int insertOnConflictDoNothing(@Param("hash") String hash);
+    int insertOnConflictDoNothing(@Param("hash") byte[] hash);
 
     // Pessimistic Read Lock을 위한 메서드 (스레드2가 스레드1의 완료를 대기)
     @Lock(LockModeType.PESSIMISTIC_READ)
     @Query("SELECT i FROM IdempotencyKey i WHERE i.idempotencyHash = :key")
-    Optional<IdempotencyKey> findByHashWithReadLock(@Param("key") String key);
+    Optional<IdempotencyKey> findByHashWithReadLock(@Param("key") byte[] key);
 
 }
\ No newline at end of file
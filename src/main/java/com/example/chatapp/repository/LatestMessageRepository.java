@@ -0,0 +1,78 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.dto.MessageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 채널의 최근 메시지를 한 번에 조회한다 (인박스의 Redis 미스 보충, 캐시 워밍업).
+ * 헤드 근처를 primary에서 이어 읽는 조회도 여기서 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LatestMessageRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 채널마다 sequence_number가 가장 큰 메시지 1건. 메시지가 없는 채널은 결과에 없다.
+     * 채널별로 (channel_id, sequence_number) 인덱스를 역순으로 1건만 읽는다 (DISTINCT ON은 채널의 모든 행을 읽음).
+     */
+    public List<MessageResponse> findLatestByChannelIds(Collection<String> channelIds) {
+        return findLatestPages(channelIds, 1);
+    }
+
+    /**
+     * 채널마다 최신 pageSize건. 채널별로 (channel_id, sequence_number) 인덱스를 역순으로 pageSize건만 읽는다.
+     */
+    public List<MessageResponse> findLatestPages(Collection<String> channelIds, int pageSize) {
+        String sql = "SELECT m.* FROM unnest(?) AS c(channel_id) CROSS JOIN LATERAL (" +
+                "SELECT " + MessageResponseRowMapper.COLUMNS + " FROM messages x " +
+                "WHERE x.channel_id = c.channel_id ORDER BY x.sequence_number DESC LIMIT ?) m";
+
+        return jdbcTemplate.query(sql,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("varchar", channelIds.toArray()));
+                    ps.setInt(2, pageSize);
+                },
+                MessageResponseRowMapper.INSTANCE);
+    }
+
+    /**
+     * afterSequence 이후 메시지를 시퀀스 오름차순으로 최대 limit건.
+     * JdbcTemplate은 요청/JPA에 묶인 커넥션을 재사용하지 않으므로, 호출 시점의 라우팅(primary/replica)대로 커넥션을 얻는다.
+     */
+    public List<MessageResponse> findAfter(String channelId, long afterSequence, int limit) {
+        return jdbcTemplate.query(
+                "SELECT " + MessageResponseRowMapper.COLUMNS + " FROM messages " +
+                        "WHERE channel_id = ? AND sequence_number > ? ORDER BY sequence_number LIMIT ?",
+                MessageResponseRowMapper.INSTANCE,
+                channelId, afterSequence, limit);
+    }
+
+    /**
+     * since 이후 메시지 수가 많은 채널 순 (파티션 테이블이면 since 이후 파티션만 읽음).
+     */
+    public Map<String, Long> findMostActiveChannels(OffsetDateTime since, int limit) {
+        String sql = "SELECT channel_id, COUNT(*) FROM messages WHERE created_at >= ? " +
+                "GROUP BY channel_id ORDER BY COUNT(*) DESC LIMIT ?";
+
+        Map<String, Long> channels = new LinkedHashMap<>();
+        jdbcTemplate.query(sql,
+                ps -> {
+                    ps.setObject(1, since);
+                    ps.setInt(2, limit);
+                },
+                rs -> {
+                    channels.put(rs.getString(1), rs.getLong(2));
+                });
+        return channels;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.dto.MessageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 아카이브 대상 메시지 조회/삭제. 채널의 가장 최신 메시지는 시퀀스 할당 기준(MAX)이므로 아카이브하지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageArchiveRepository {
+
+    // 봉인용 잠금 키 공간 (2-인자 advisory lock은 시퀀스 할당용 pg_advisory_xact_lock(hashtext(channel_id))과 겹치지 않음)
+    private static final int SEAL_LOCK_NAMESPACE = 0x41524348;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 현재 트랜잭션이 끝날 때까지 채널 봉인 잠금을 시도한다. 다른 인스턴스가 같은 채널을 봉인 중이면 false.
+     * 메시지 쓰기와는 다른 잠금이므로 봉인 중에도 채널에 새 메시지를 쓸 수 있다.
+     */
+    public boolean tryLockChannelForSeal(String channelId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?, hashtext(?))", Boolean.class, SEAL_LOCK_NAMESPACE, channelId));
+    }
+
+    /**
+     * @return cutoff 이전 메시지가 minMessages개 이상 쌓인 채널 (최대 limit개)
+     */
+    public List<String> findSealCandidates(OffsetDateTime cutoff, int minMessages, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT channel_id FROM messages WHERE created_at < ? " +
+                        "GROUP BY channel_id HAVING COUNT(*) >= ? LIMIT ?",
+                String.class, cutoff, minMessages, limit);
+    }
+
+    /**
+     * @return afterSequence 이후이면서 cutoff 이전인 메시지를 시퀀스 오름차순으로 최대 limit개 (채널 최신 메시지 제외)
+     */
+    public List<MessageResponse> findMessagesToSeal(String channelId, long afterSequence, OffsetDateTime cutoff, int limit) {
+        return jdbcTemplate.query(
+                "SELECT " + MessageResponseRowMapper.COLUMNS + " FROM messages " +
+                        "WHERE channel_id = ? AND sequence_number > ? AND created_at < ? " +
+                        "AND sequence_number < (SELECT MAX(sequence_number) FROM messages WHERE channel_id = ?) " +
+                        "ORDER BY sequence_number LIMIT ?",
+                MessageResponseRowMapper.INSTANCE,
+                channelId, afterSequence, cutoff, channelId, limit);
+    }
+
+    public int deleteMessages(String channelId, long firstSequence, long lastSequence) {
+        return jdbcTemplate.update(
+                "DELETE FROM messages WHERE channel_id = ? AND sequence_number BETWEEN ? AND ?",
+                channelId, firstSequence, lastSequence);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.entity.MessageArchiveSegment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MessageArchiveSegmentRepository extends JpaRepository<MessageArchiveSegment, Long> {
+
+    @Query("SELECT MAX(s.lastSequence) FROM MessageArchiveSegment s WHERE s.channelId = :channelId")
+    Long findLastArchivedSequence(@Param("channelId") String channelId);
+
+    // beforeSequence 이전 구간을 최신 세그먼트부터
+    @Query("SELECT s FROM MessageArchiveSegment s WHERE s.channelId = :channelId AND s.firstSequence < :beforeSequence " +
+            "ORDER BY s.lastSequence DESC")
+    List<MessageArchiveSegment> findSegmentsBefore(@Param("channelId") String channelId,
+                                                   @Param("beforeSequence") Long beforeSequence,
+                                                   Pageable pageable);
+
+    // afterSequence 이후 구간을 오래된 세그먼트부터
+    @Query("SELECT s FROM MessageArchiveSegment s WHERE s.channelId = :channelId AND s.lastSequence > :afterSequence " +
+            "ORDER BY s.lastSequence ASC")
+    List<MessageArchiveSegment> findSegmentsAfter(@Param("channelId") String channelId,
+                                                  @Param("afterSequence") Long afterSequence,
+                                                  Pageable pageable);
+
+    List<MessageArchiveSegment> findByChannelId(String channelId);
+
+    boolean existsByChannelId(String channelId);
+
+    boolean existsByChannelIdAndFileName(String channelId, String fileName);
+}
@@ -0,0 +1,126 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.dto.MessageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 대량 수집 경로 전용 쿼리. 건별 왕복 대신 배열 파라미터(unnest)로 한 번에 처리한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 멱등키를 일괄 INSERT 하고 실제로 삽입된(= 신규 요청) 해시만 반환한다.
+     * 반환값은 내용 기준 equals/hashCode를 위해 ByteBuffer로 감싼다.
+     * 동시 배치 간 데드락을 피하기 위해 호출자는 정렬된 해시를 전달해야 한다.
+     */
+    public Set<ByteBuffer> insertIdempotencyKeys(List<byte[]> sortedHashes) {
+        String sql = "INSERT INTO idempotency_keys (idempotency_hash, created_at) " +
+                "SELECT h, CURRENT_TIMESTAMP FROM unnest(?) AS t(h) " +
+                "ON CONFLICT (idempotency_hash) DO NOTHING " +
+                "RETURNING idempotency_hash";
+
+        Set<ByteBuffer> inserted = new HashSet<>();
+        jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bytea", sortedHashes.toArray(new byte[0][]))),
+                rs -> {
+                    inserted.add(ByteBuffer.wrap(rs.getBytes(1)));
+                });
+        return inserted;
+    }
+
+    /**
+     * 채널별 시퀀스 할당(MAX + 1)을 직렬화하기 위한 트랜잭션 범위 advisory lock.
+     * 단건 저장(MessageService)과 배치 수집이 같은 락을 잡아야 서로 같은 시퀀스를 할당하지 않는다.
+     * 데드락 방지를 위해 정렬된 순서로 획득한다.
+     */
+    public void lockChannels(List<String> sortedChannelIds) {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(c)) FROM unnest(?) AS t(c)",
+                ps -> ps.setArray(1, varcharArray(ps, sortedChannelIds)),
+                rs -> {
+                });
+    }
+
+    public void lockChannel(String channelId) {
+        lockChannels(List.of(channelId));
+    }
+
+    public Map<String, Long> findMaxSequenceNumbers(Collection<String> channelIds) {
+        return findMaxSequenceNumbers(channelIds, null);
+    }
+
+    /**
+     * @param since null이 아니면 created_at이 이 시각 이후인 메시지만 대상 (파티션 테이블에서 최근 파티션만 조회)
+     */
+    public Map<String, Long> findMaxSequenceNumbers(Collection<String> channelIds, OffsetDateTime since) {
+        String sql = "SELECT channel_id, MAX(sequence_number) FROM messages " +
+                "WHERE channel_id = ANY(?)" + (since != null ? " AND created_at >= ?" : "") + " GROUP BY channel_id";
+
+        Map<String, Long> maxSequences = new HashMap<>();
+        jdbcTemplate.query(sql,
+                ps -> {
+                    ps.setArray(1, varcharArray(ps, channelIds));
+                    if (since != null) {
+                        ps.setObject(2, since);
+                    }
+                },
+                rs -> {
+                    maxSequences.put(rs.getString(1), rs.getLong(2));
+                });
+        return maxSequences;
+    }
+
+    /**
+     * (userId, channelId, clientMessageId) 목록에 해당하는 기존 메시지를 한 번에 조회한다.
+     * 반환 Map의 키는 {@link #clientKey(String, String, String)} 형식이다.
+     */
+    public Map<String, MessageResponse> findByClientKeys(List<String> userIds, List<String> channelIds,
+                                                         List<String> clientMessageIds) {
+        String sql = "SELECT m.client_message_id, " + prefixed(MessageResponseRowMapper.COLUMNS) + " FROM messages m " +
+                "JOIN unnest(?, ?, ?) AS k(user_id, channel_id, client_message_id) " +
+                "ON m.user_id = k.user_id AND m.channel_id = k.channel_id AND m.client_message_id = k.client_message_id";
+
+        Map<String, MessageResponse> existing = new HashMap<>();
+        jdbcTemplate.query(sql,
+                ps -> {
+                    ps.setArray(1, varcharArray(ps, userIds));
+                    ps.setArray(2, varcharArray(ps, channelIds));
+                    ps.setArray(3, varcharArray(ps, clientMessageIds));
+                },
+                rs -> {
+                    MessageResponse message = MessageResponseRowMapper.INSTANCE.mapRow(rs, 0);
+                    existing.put(clientKey(message.getUserId(), message.getChannelId(),
+                            rs.getString("client_message_id")), message);
+                });
+        return existing;
+    }
+
+    public static String clientKey(String userId, String channelId, String clientMessageId) {
+        return userId + '\u0000' + channelId + '\u0000' + clientMessageId;
+    }
+
+    private static Array varcharArray(PreparedStatement ps, Collection<String> values) throws SQLException {
+        return ps.getConnection().createArrayOf("varchar", values.toArray());
+    }
+
+    private static String prefixed(String columns) {
+        return "m." + columns.replace(", ", ", m.");
+    }
+}
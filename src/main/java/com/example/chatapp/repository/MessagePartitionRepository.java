@@ -0,0 +1,166 @@
+package com.example.chatapp.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * messages 파티션 관리용 카탈로그 조회와 DDL.
+ * 월 경계는 DB 세션 타임존 기준으로 DB에서 계산한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessagePartitionRepository {
+
+    private static final String PARENT_TABLE = "messages";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, PARENT_TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * @return 상한 오름차순 파티션 목록 (상한이 없는 DEFAULT 파티션은 upperBound = null)
+     */
+    public List<Partition> findPartitions() {
+        String sql = "SELECT c.relname, i.inhdetachpending, " +
+                "substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \\(''([^'']+)''\\)')::timestamptz AS upper_bound " +
+                "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?) " +
+                "ORDER BY upper_bound NULLS LAST";
+
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> new Partition(
+                        rs.getString("relname"),
+                        rs.getObject("upper_bound", OffsetDateTime.class),
+                        rs.getBoolean("inhdetachpending")),
+                PARENT_TABLE);
+    }
+
+    /**
+     * @return 이번 달 1일 0시 + months개월
+     */
+    public OffsetDateTime monthStart(int months) {
+        return jdbcTemplate.queryForObject(
+                "SELECT date_trunc('month', now()) + make_interval(months => ?)", OffsetDateTime.class, months);
+    }
+
+    public OffsetDateTime addMonth(OffsetDateTime from) {
+        return jdbcTemplate.queryForObject("SELECT ?::timestamptz + INTERVAL '1 month'", OffsetDateTime.class, from);
+    }
+
+    public String partitionName(OffsetDateTime lowerBound) {
+        return PARENT_TABLE + "_p" + jdbcTemplate.queryForObject(
+                "SELECT to_char(?::timestamptz, 'YYYYMM')", String.class, lowerBound);
+    }
+
+    /**
+     * 빈 테이블을 만든 뒤 ATTACH 한다. CREATE TABLE ... PARTITION OF는 부모에 ACCESS EXCLUSIVE lock이 필요하지만
+     * ATTACH PARTITION은 SHARE UPDATE EXCLUSIVE라 진행 중인 INSERT/SELECT를 막지 않는다.
+     * INCLUDING COMPRESSION(V13의 lz4 설정 상속)은 PostgreSQL 14 이상이 필요하다.
+     */
+    public void createPartition(String name, OffsetDateTime lowerBound, OffsetDateTime upperBound, Duration lockTimeout) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL lock_timeout = " + lockTimeout.toMillis());
+                statement.execute("CREATE TABLE " + name + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING COMPRESSION INCLUDING GENERATED)");
+                statement.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + name +
+                        " FOR VALUES FROM ('" + lowerBound + "') TO ('" + upperBound + "')");
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * DETACH CONCURRENTLY는 트랜잭션 블록 밖에서만 실행할 수 있고 부모에 대한 lock을 오래 잡지 않는다.
+     * 중간에 실패하면 분리 대기(inhdetachpending) 상태로 남으므로 {@link #finalizeDetach(String, Duration)}로 마무리한다.
+     */
+    public void detachPartition(String name, Duration lockTimeout) {
+        executeWithLockTimeout("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name + " CONCURRENTLY", lockTimeout);
+    }
+
+    public void finalizeDetach(String name, Duration lockTimeout) {
+        executeWithLockTimeout("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name + " FINALIZE", lockTimeout);
+    }
+
+    public void dropTable(String name, Duration lockTimeout) {
+        executeWithLockTimeout("DROP TABLE IF EXISTS " + name, lockTimeout);
+    }
+
+    /**
+     * 파티션에 있는 채널별 최대 시퀀스를 channel_sequence_floors에 기록한다 (기존 값보다 클 때만 갱신).
+     * 보존 기간 정리로 채널의 행이 모두 사라져도 시퀀스가 이 값 이후부터 할당되게 DETACH 전에 호출한다.
+     */
+    public int saveSequenceFloors(String partitionName) {
+        return jdbcTemplate.update(
+                "INSERT INTO channel_sequence_floors (channel_id, last_sequence, updated_at) " +
+                        "SELECT channel_id, MAX(sequence_number), CURRENT_TIMESTAMP FROM " + partitionName +
+                        " GROUP BY channel_id " +
+                        "ON CONFLICT (channel_id) DO UPDATE SET " +
+                        "last_sequence = GREATEST(channel_sequence_floors.last_sequence, EXCLUDED.last_sequence), " +
+                        "updated_at = EXCLUDED.updated_at");
+    }
+
+    public Map<String, Long> findSequenceFloors(Collection<String> channelIds) {
+        Map<String, Long> floors = new HashMap<>();
+        jdbcTemplate.query("SELECT channel_id, last_sequence FROM channel_sequence_floors WHERE channel_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", channelIds.toArray())),
+                rs -> {
+                    floors.put(rs.getString(1), rs.getLong(2));
+                });
+        return floors;
+    }
+
+    public int deleteIdempotencyKeysBefore(OffsetDateTime cutoff, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE idempotency_hash IN " +
+                        "(SELECT idempotency_hash FROM idempotency_keys WHERE created_at < ? LIMIT ?)",
+                cutoff, limit);
+    }
+
+    private void executeWithLockTimeout(String sql, Duration lockTimeout) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET lock_timeout = " + lockTimeout.toMillis());
+                try {
+                    statement.execute(sql);
+                } finally {
+                    resetLockTimeout(connection);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void resetLockTimeout(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("RESET lock_timeout");
+        }
+    }
+
+    public record Partition(String name, OffsetDateTime upperBound, boolean detachPending) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.chatapp.repository;
 
+import com.example.chatapp.dto.MessageResponse;
 import com.example.chatapp.entity.Message;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
@@ -8,7 +9,9 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,18 +21,37 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT COALESCE(MAX(m.sequenceNumber), 0) FROM Message m WHERE m.channelId = :channelId")
     Long findMaxSequenceNumberByChannelId(@Param("channelId") String channelId);
 
-    @Query("SELECT m FROM Message m WHERE m.channelId = :channelId ORDER BY m.sequenceNumber DESC")
-    List<Message> findByChannelIdOrderBySequenceNumberDesc(@Param("channelId") String channelId, Pageable pageable);
+    // 파티션 테이블용: created_at 하한으로 최근 파티션만 조회. 범위 내 메시지가 없으면 null
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT MAX(m.sequenceNumber) FROM Message m WHERE m.channelId = :channelId AND m.createdAt >= :since")
+    Long findMaxSequenceNumberByChannelIdSince(@Param("channelId") String channelId,
+                                               @Param("since") ZonedDateTime since);
+
+    // 조회 경로는 MessageResponse 생성자 프로젝션으로 필요한 컬럼만 조회 (엔티티 미관리 -> dirty checking/1차 캐시 없음)
+    String MESSAGE_RESPONSE_PROJECTION = "SELECT new com.example.chatapp.dto.MessageResponse(" +
+            "m.id, m.channelId, m.userId, m.content, m.messageType, m.sequenceNumber, m.createdAt) FROM Message m ";
+
+    @Transactional(readOnly = true)
+    @Query(MESSAGE_RESPONSE_PROJECTION + "WHERE m.channelId = :channelId ORDER BY m.sequenceNumber DESC")
+    List<MessageResponse> findByChannelIdOrderBySequenceNumberDesc(@Param("channelId") String channelId, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(MESSAGE_RESPONSE_PROJECTION + "WHERE m.channelId = :channelId AND m.createdAt >= :since ORDER BY m.sequenceNumber DESC")
+    List<MessageResponse> findByChannelIdSinceOrderBySequenceNumberDesc(@Param("channelId") String channelId,
+                                                                        @Param("since") ZonedDateTime since,
+                                                                        Pageable pageable);
 
-    @Query("SELECT m FROM Message m WHERE m.channelId = :channelId AND m.sequenceNumber < :beforeSequence ORDER BY m.sequenceNumber DESC")
-    List<Message> findByChannelIdAndSequenceNumberLessThan(@Param("channelId") String channelId,
-                                                           @Param("beforeSequence") Long beforeSequence,
-                                                           Pageable pageable);
+    @Transactional(readOnly = true)
+    @Query(MESSAGE_RESPONSE_PROJECTION + "WHERE m.channelId = :channelId AND m.sequenceNumber < :beforeSequence ORDER BY m.sequenceNumber DESC")
+    List<MessageResponse> findByChannelIdAndSequenceNumberLessThan(@Param("channelId") String channelId,
+                                                                   @Param("beforeSequence") Long beforeSequence,
+                                                                   Pageable pageable);
 
-    @Query("SELECT m FROM Message m WHERE m.channelId = :channelId AND m.sequenceNumber > :afterSequence ORDER BY m.sequenceNumber ASC")
-    List<Message> findByChannelIdAndSequenceNumberGreaterThan(@Param("channelId") String channelId,
-                                                             @Param("afterSequence") Long afterSequence,
-                                                             Pageable pageable);
+    @Transactional(readOnly = true)
+    @Query(MESSAGE_RESPONSE_PROJECTION + "WHERE m.channelId = :channelId AND m.sequenceNumber > :afterSequence ORDER BY m.sequenceNumber ASC")
+    List<MessageResponse> findByChannelIdAndSequenceNumberGreaterThan(@Param("channelId") String channelId,
+                                                                     @Param("afterSequence") Long afterSequence,
+                                                                     Pageable pageable);
 
     Optional<Message> findByUserIdAndChannelIdAndClientMessageId(@Param("userId") String userId,
                                                                @Param("channelId") String channelId,
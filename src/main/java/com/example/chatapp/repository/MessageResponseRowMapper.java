@@ -0,0 +1,35 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * messages 테이블 행을 엔티티를 거치지 않고 MessageResponse로 변환.
+ * 조회 컬럼: id, channel_id, user_id, content, message_type, sequence_number, created_at
+ */
+public class MessageResponseRowMapper implements RowMapper<MessageResponse> {
+
+    public static final MessageResponseRowMapper INSTANCE = new MessageResponseRowMapper();
+
+    public static final String COLUMNS = "id, channel_id, user_id, content, message_type, sequence_number, created_at";
+
+    @Override
+    public MessageResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        MessageResponse response = new MessageResponse();
+        response.setId(rs.getLong("id"));
+        response.setChannelId(rs.getString("channel_id"));
+        response.setUserId(rs.getString("user_id"));
+        response.setContent(rs.getString("content"));
+        response.setMessageType(Message.MessageType.valueOf(rs.getString("message_type")));
+        response.setSequenceNumber(rs.getLong("sequence_number"));
+        response.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class)
+                .atZoneSameInstant(ZoneId.systemDefault()));
+        return response;
+    }
+}
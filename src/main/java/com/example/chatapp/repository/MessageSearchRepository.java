@@ -0,0 +1,65 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.dto.MessageSearchHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * messages.search_vector(V14 생성 컬럼)에 대한 채널 단위 전문 검색.
+ * 검색어는 search_vector와 같은 'simple' 설정으로 나눈 단어마다 접두어 매칭(:*)을 붙여 AND로 묶는다
+ * ("메시지"가 "메시지를"에도 일치). 단어를 quote_literal로 감싸 tsquery 연산자로 해석되지 않게 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageSearchRepository {
+
+    // %s: 커서 조건. 순위 계산은 일치한 행 전체에 대해, ts_headline(본문 재파싱)은 반환할 페이지에만 수행
+    private static final String SEARCH_SQL =
+            "WITH q AS (SELECT to_tsquery('simple', (" +
+            "SELECT string_agg(quote_literal(lexeme) || ':*', ' & ') " +
+            "FROM unnest(tsvector_to_array(to_tsvector('simple', ?))) AS lexeme)) AS query) " +
+            "SELECT page.*, ts_headline('simple', page.content, q.query, ?) AS highlight FROM q CROSS JOIN LATERAL (" +
+            "SELECT " + MessageResponseRowMapper.COLUMNS + ", ts_rank_cd(m.search_vector, q.query) AS rank " +
+            "FROM messages m " +
+            "WHERE m.channel_id = ? AND m.message_type = 'CHAT' AND m.search_vector @@ q.query%s " +
+            "ORDER BY rank DESC, m.sequence_number DESC LIMIT ?) page " +
+            "ORDER BY page.rank DESC, page.sequence_number DESC";
+
+    private static final String CURSOR_CONDITION =
+            " AND (ts_rank_cd(m.search_vector, q.query), m.sequence_number) < (?, ?)";
+
+    // ts_headline이 일치 단어를 감싸는 구분자 (이스케이프 후 <mark>로 바꿈)
+    public static final String HIGHLIGHT_START = "\u0002";
+    public static final String HIGHLIGHT_STOP = "\u0003";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param afterRank     커서 (이전 페이지 마지막 결과의 rank), 첫 페이지면 null
+     * @param afterSequence 커서 (이전 페이지 마지막 결과의 시퀀스)
+     * @return highlight는 HIGHLIGHT_START/HIGHLIGHT_STOP으로 감싼 원문 발췌
+     */
+    public List<MessageSearchHit> search(String channelId, String query, Float afterRank, Long afterSequence,
+                                         int limit, String headlineOptions) {
+        String sql = String.format(SEARCH_SQL, afterRank != null ? CURSOR_CONDITION : "");
+        String options = headlineOptions + ", StartSel=" + HIGHLIGHT_START + ", StopSel=" + HIGHLIGHT_STOP;
+
+        return jdbcTemplate.query(sql,
+                ps -> {
+                    int index = 1;
+                    ps.setString(index++, query);
+                    ps.setString(index++, options);
+                    ps.setString(index++, channelId);
+                    if (afterRank != null) {
+                        ps.setFloat(index++, afterRank);
+                        ps.setLong(index++, afterSequence);
+                    }
+                    ps.setInt(index, limit);
+                },
+                (rs, rowNum) -> new MessageSearchHit(MessageResponseRowMapper.INSTANCE.mapRow(rs, rowNum),
+                        rs.getFloat("rank"), rs.getString("highlight")));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.chatapp.repository;
+
+import com.example.chatapp.entity.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 샤드 간 채널 이전용 쿼리. 호출자가 DataSourceRoutingContext로 대상 샤드를 지정한다.
+ * 이전된 메시지는 ID/시퀀스/타임스탬프를 그대로 유지한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ShardMigrationRepository {
+
+    private static final String COLUMNS =
+            "id, channel_id, user_id, content, client_message_id, message_type, sequence_number, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<MessageRow> findMessagesAfter(String channelId, long afterSequence, int limit) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM messages WHERE channel_id = ? AND sequence_number > ? " +
+                        "ORDER BY sequence_number LIMIT ?",
+                (rs, rowNum) -> new MessageRow(
+                        rs.getLong("id"),
+                        rs.getString("channel_id"),
+                        rs.getString("user_id"),
+                        rs.getString("content"),
+                        rs.getString("client_message_id"),
+                        Message.MessageType.valueOf(rs.getString("message_type")),
+                        rs.getLong("sequence_number"),
+                        rs.getObject("created_at", OffsetDateTime.class),
+                        rs.getObject("updated_at", OffsetDateTime.class)),
+                channelId, afterSequence, limit);
+    }
+
+    /**
+     * 이미 복사된 행은 건너뛰므로 같은 구간을 다시 복사해도 안전하다.
+     */
+    public void insertMessages(List<MessageRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO messages (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                rows, rows.size(),
+                (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setString(2, row.channelId());
+                    ps.setString(3, row.userId());
+                    ps.setString(4, row.content());
+                    ps.setString(5, row.clientMessageId());
+                    ps.setString(6, row.messageType().name());
+                    ps.setLong(7, row.sequenceNumber());
+                    ps.setObject(8, row.createdAt());
+                    ps.setObject(9, row.updatedAt());
+                });
+    }
+
+    public long countMessages(String channelId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM messages WHERE channel_id = ?", Long.class, channelId);
+        return count != null ? count : 0L;
+    }
+
+    public void deleteMessages(List<Long> ids) {
+        jdbcTemplate.update("DELETE FROM messages WHERE id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    /**
+     * 보존 기간 정리로 남긴 채널의 마지막 시퀀스 (channel_sequence_floors). 없으면 null.
+     */
+    public Long findSequenceFloor(String channelId) {
+        List<Long> floors = jdbcTemplate.queryForList(
+                "SELECT last_sequence FROM channel_sequence_floors WHERE channel_id = ?", Long.class, channelId);
+        return floors.isEmpty() ? null : floors.get(0);
+    }
+
+    /**
+     * 기존 값보다 클 때만 갱신하므로 같은 값을 다시 복사해도 안전하다.
+     */
+    public void upsertSequenceFloor(String channelId, long lastSequence) {
+        jdbcTemplate.update(
+                "INSERT INTO channel_sequence_floors (channel_id, last_sequence, updated_at) " +
+                        "VALUES (?, ?, CURRENT_TIMESTAMP) " +
+                        "ON CONFLICT (channel_id) DO UPDATE SET " +
+                        "last_sequence = GREATEST(channel_sequence_floors.last_sequence, EXCLUDED.last_sequence), " +
+                        "updated_at = EXCLUDED.updated_at",
+                channelId, lastSequence);
+    }
+
+    public void deleteSequenceFloor(String channelId) {
+        jdbcTemplate.update("DELETE FROM channel_sequence_floors WHERE channel_id = ?", channelId);
+    }
+
+    public void deleteIdempotencyKeys(List<byte[]> hashes) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_hash = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bytea", hashes.toArray(new byte[0][]))));
+    }
+
+    public record MessageRow(long id, String channelId, String userId, String content, String clientMessageId,
+                             Message.MessageType messageType, long sequenceNumber,
+                             OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.CacheWarmupProperties;
+import com.example.chatapp.datasource.DataSourceRoutingContext;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.repository.LatestMessageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 최근 쓰기가 많은 채널의 최신 페이지를 Redis 메시지 캐시와 채널 헤드에 미리 채운다.
+ * - 기동 시: ApplicationRunner로 실행되므로 끝날 때까지 readiness가 ACCEPTING_TRAFFIC이 되지 않고
+ *   /actuator/health의 cacheWarmup 항목도 OUT_OF_SERVICE로 보고한다.
+ * - 실행 중: 워밍업 후 남겨 둔 마커 키가 사라지면(FLUSHALL, 재시작, 빈 복제본으로 장애 조치) 다시 채운다.
+ * 여러 노드가 동시에 같은 캐시를 채우지 않도록 Redis 락을 잡은 노드만 실행하며, 처리 속도는 maxChannelsPerSecond로 제한한다.
+ */
+@Slf4j
+@Service
+public class CacheWarmupService implements ApplicationRunner {
+
+    public enum State {
+        STARTING,   // 기동 워밍업 전/중 - 트래픽을 받지 않음
+        READY,
+        REHYDRATING // 캐시 유실 후 다시 채우는 중 - 트래픽은 계속 받음
+    }
+
+    // 캐시 키 형식이 바뀌면 버전을 올려 새 형식의 키로 다시 채우게 한다 (v2: 채널 키 해시 태그)
+    private static final String MARKER_KEY = "cache_warmup:marker:v2";
+    private static final String LOCK_KEY = "cache_warmup:lock";
+
+    // 내가 잡은 락만 해제
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final LatestMessageRepository latestMessageRepository;
+    private final MessageCacheService messageCacheService;
+    private final ChannelHeadService channelHeadService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ShardRouter shardRouter;
+    private final CacheWarmupProperties properties;
+
+    private final ExecutorService rehydrationExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile State state = State.STARTING;
+    private volatile WarmupResult lastResult;
+
+    public CacheWarmupService(LatestMessageRepository latestMessageRepository, MessageCacheService messageCacheService,
+                              ChannelHeadService channelHeadService, RedisTemplate<String, String> redisTemplate,
+                              RedisCircuitBreaker circuitBreaker, ShardRouter shardRouter,
+                              CacheWarmupProperties properties) {
+        this.latestMessageRepository = latestMessageRepository;
+        this.messageCacheService = messageCacheService;
+        this.channelHeadService = channelHeadService;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+
+        // 재워밍은 길게 걸릴 수 있으므로 공용 스케줄러 스레드가 아닌 별도 스레드에서 실행
+        this.rehydrationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (properties.isEnabled()) {
+                warmUp("startup");
+            }
+        } finally {
+            state = State.READY;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.cache-warmup.check-interval-ms:5000}")
+    public void checkForCacheLoss() {
+        if (!properties.isEnabled() || !properties.isRehydrateOnCacheLoss()
+                || state != State.READY || !circuitBreaker.allowRequest()) {
+            return;
+        }
+
+        Boolean markerPresent = circuitBreaker.execute("워밍업 마커 확인", () -> redisTemplate.hasKey(MARKER_KEY), null);
+        if (Boolean.FALSE.equals(markerPresent)) {
+            log.warn("캐시 유실 감지 (워밍업 마커 없음) - 캐시 재워밍 시작");
+            state = State.REHYDRATING;
+            rehydrationExecutor.execute(() -> {
+                try {
+                    warmUp("cache-loss");
+                } finally {
+                    state = State.READY;
+                }
+            });
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public WarmupResult getLastResult() {
+        return lastResult;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rehydrationExecutor.shutdownNow();
+    }
+
+    void warmUp(String reason) {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        String lockToken = UUID.randomUUID().toString();
+        try {
+            if (!circuitBreaker.allowRequest()) {
+                log.warn("캐시 워밍업 생략 (Redis 사용 불가) - reason: {}", reason);
+                return;
+            }
+            if (Boolean.TRUE.equals(circuitBreaker.execute("워밍업 마커 확인", () -> redisTemplate.hasKey(MARKER_KEY), null))) {
+                log.info("캐시 워밍업 생략 (이미 채워진 캐시) - reason: {}", reason);
+                return;
+            }
+            Boolean locked = circuitBreaker.execute("워밍업 락", () -> redisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, lockToken, properties.getMaxDuration()), null);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("캐시 워밍업 생략 (다른 노드에서 진행 중) - reason: {}", reason);
+                return;
+            }
+
+            lastResult = load(reason);
+            circuitBreaker.execute("워밍업 마커 저장", () -> redisTemplate.opsForValue()
+                    .set(MARKER_KEY, lastResult.finishedAt().toString()));
+            log.info("캐시 워밍업 완료 - reason: {}, 채널: {}/{}, 메시지: {}, 소요: {}ms",
+                    reason, lastResult.channels(), lastResult.candidates(), lastResult.messages(),
+                    lastResult.duration().toMillis());
+        } catch (RuntimeException e) {
+            log.error("캐시 워밍업 실패 - reason: {}, 오류: {}", reason, e.getMessage(), e);
+        } finally {
+            circuitBreaker.execute("워밍업 락 해제",
+                    () -> redisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_KEY), lockToken), null);
+            running.set(false);
+        }
+    }
+
+    private WarmupResult load(String reason) {
+        Instant startedAt = Instant.now();
+        long deadline = System.nanoTime() + properties.getMaxDuration().toNanos();
+
+        // 1. 샤드별로 최근 쓰기가 많은 채널을 모아 상위 N개
+        OffsetDateTime since = OffsetDateTime.now().minus(properties.getLookback());
+        Map<String, Long> activity = new HashMap<>();
+        for (int shardId = 0; shardId < shardRouter.getShardCount(); shardId++) {
+            activity.putAll(DataSourceRoutingContext.onShard(shardId,
+                    () -> latestMessageRepository.findMostActiveChannels(since, properties.getChannels())));
+        }
+        List<String> channelIds = activity.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(properties.getChannels())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        // 2. 채널의 현재 샤드별로 batchSize씩 최신 페이지를 읽어 캐시에 채움
+        Map<Integer, List<String>> channelIdsByShard = new TreeMap<>();
+        channelIds.forEach(channelId ->
+                channelIdsByShard.computeIfAbsent(shardRouter.shardOf(channelId), id -> new ArrayList<>()).add(channelId));
+
+        long paceStartedAt = System.nanoTime();
+        int warmedChannels = 0;
+        long warmedMessages = 0;
+        outer:
+        for (Map.Entry<Integer, List<String>> entry : channelIdsByShard.entrySet()) {
+            List<String> shardChannelIds = entry.getValue();
+            for (int from = 0; from < shardChannelIds.size(); from += properties.getBatchSize()) {
+                if (System.nanoTime() > deadline) {
+                    log.warn("캐시 워밍업 시간 초과 - reason: {}, 처리: {}/{} 채널", reason, warmedChannels, channelIds.size());
+                    break outer;
+                }
+                List<String> batch = shardChannelIds.subList(from,
+                        Math.min(from + properties.getBatchSize(), shardChannelIds.size()));
+                List<MessageResponse> messages = DataSourceRoutingContext.onShard(entry.getKey(),
+                        () -> latestMessageRepository.findLatestPages(batch, properties.getPageSize()));
+
+                messages.stream()
+                        .collect(Collectors.groupingBy(MessageResponse::getChannelId))
+                        .forEach((channelId, channelMessages) -> {
+                            messageCacheService.cacheMessages(channelId, channelMessages);
+                            channelHeadService.advance(channelId, channelMessages.stream()
+                                    .mapToLong(MessageResponse::getSequenceNumber)
+                                    .max()
+                                    .getAsLong());
+                        });
+
+                warmedChannels += batch.size();
+                warmedMessages += messages.size();
+                pace(paceStartedAt, warmedChannels);
+            }
+        }
+
+        Instant finishedAt = Instant.now();
+        return new WarmupResult(reason, channelIds.size(), warmedChannels, warmedMessages,
+                startedAt, finishedAt, Duration.between(startedAt, finishedAt));
+    }
+
+    // 누적 처리 채널 수가 maxChannelsPerSecond를 넘지 않도록 대기
+    private void pace(long startedAt, int processedChannels) {
+        long expectedNanos = processedChannels * 1_000_000_000L / Math.max(properties.getMaxChannelsPerSecond(), 1);
+        long aheadNanos = expectedNanos - (System.nanoTime() - startedAt);
+        if (aheadNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(aheadNanos / 1_000_000, (int) (aheadNanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("캐시 워밍업 중단", e);
+        }
+    }
+
+    /**
+     * @param candidates 워밍업 대상으로 고른 채널 수, channels는 실제로 처리한 채널 수 (시간 초과 시 더 적음)
+     */
+    public record WarmupResult(String reason, int candidates, int channels, long messages,
+                               Instant startedAt, Instant finishedAt, Duration duration) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.chatapp.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 채널 -> 피드(/user/queue/feed) 구독(세션 ID, 구독 ID) 색인.
+ * 메시지 하나를 전달할 때 브로커의 구독 레지스트리나 사용자 목적지 변환 없이 이 채널의 피드 구독만 본다.
+ * 사용자 단위 변경(세션 추가/제거, 채널 가입/탈퇴)은 사용자 해시로 나눈 lock으로 직렬화한다.
+ */
+public class ChannelFeedIndex {
+
+    private static final int LOCK_STRIPES = 256;
+
+    private final Map<String, Set<FeedSubscriber>> subscribersByChannel = new ConcurrentHashMap<>();
+    private final Map<String, OnlineUser> onlineUsers = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public ChannelFeedIndex() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 세션의 피드 구독을 가입 채널마다 색인한다. 사용자의 첫 피드 세션이면 channelLoader로 가입 채널을 읽는다.
+     */
+    public void addSession(String userId, String sessionId, String subscriptionId,
+                           Function<String, Collection<String>> channelLoader) {
+        synchronized (lockFor(userId)) {
+            OnlineUser user = onlineUsers.get(userId);
+            if (user == null) {
+                user = new OnlineUser(new HashSet<>(channelLoader.apply(userId)));
+                onlineUsers.put(userId, user);
+            }
+            FeedSubscriber subscriber = new FeedSubscriber(sessionId, subscriptionId);
+            FeedSubscriber previous = user.subscribers.put(sessionId, subscriber);
+            if (previous != null) {
+                user.channelIds.forEach(channelId -> unindex(channelId, previous));
+            }
+            user.channelIds.forEach(channelId -> index(channelId, subscriber));
+        }
+    }
+
+    /**
+     * 세션의 피드 구독을 색인에서 빼고, 사용자의 마지막 피드 세션이면 사용자도 제거한다.
+     */
+    public void removeSession(String userId, String sessionId) {
+        synchronized (lockFor(userId)) {
+            OnlineUser user = onlineUsers.get(userId);
+            if (user == null) {
+                return;
+            }
+            FeedSubscriber subscriber = user.subscribers.remove(sessionId);
+            if (subscriber == null) {
+                return;
+            }
+            user.channelIds.forEach(channelId -> unindex(channelId, subscriber));
+            if (user.subscribers.isEmpty()) {
+                onlineUsers.remove(userId);
+            }
+        }
+    }
+
+    public void addChannel(String userId, String channelId) {
+        synchronized (lockFor(userId)) {
+            OnlineUser user = onlineUsers.get(userId);
+            if (user != null && user.channelIds.add(channelId)) {
+                user.subscribers.values().forEach(subscriber -> index(channelId, subscriber));
+            }
+        }
+    }
+
+    public void removeChannel(String userId, String channelId) {
+        synchronized (lockFor(userId)) {
+            OnlineUser user = onlineUsers.get(userId);
+            if (user != null && user.channelIds.remove(channelId)) {
+                user.subscribers.values().forEach(subscriber -> unindex(channelId, subscriber));
+            }
+        }
+    }
+
+    public Set<FeedSubscriber> getSubscribers(String channelId) {
+        Set<FeedSubscriber> subscribers = subscribersByChannel.get(channelId);
+        return subscribers != null ? Collections.unmodifiableSet(subscribers) : Set.of();
+    }
+
+    public boolean isOnline(String userId) {
+        return onlineUsers.containsKey(userId);
+    }
+
+    public int getOnlineUserCount() {
+        return onlineUsers.size();
+    }
+
+    public int getIndexedChannelCount() {
+        return subscribersByChannel.size();
+    }
+
+    private void index(String channelId, FeedSubscriber subscriber) {
+        subscribersByChannel.compute(channelId, (id, subscribers) -> {
+            Set<FeedSubscriber> target = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+    }
+
+    private void unindex(String channelId, FeedSubscriber subscriber) {
+        subscribersByChannel.computeIfPresent(channelId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private Object lockFor(String userId) {
+        return locks[(userId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    /**
+     * 피드 MESSAGE 프레임을 받을 세션과 그 세션의 피드 구독 ID.
+     */
+    public record FeedSubscriber(String sessionId, String subscriptionId) {
+    }
+
+    private static final class OnlineUser {
+
+        private final Set<String> channelIds;
+        // sessionId -> 피드 구독
+        private final Map<String, FeedSubscriber> subscribers = new HashMap<>();
+
+        private OnlineUser(Set<String> channelIds) {
+            this.channelIds = channelIds;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.datasource.DataSourceRoutingContext;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.repository.ChannelOffsetRepository;
+import com.example.chatapp.service.ChannelFeedIndex.FeedSubscriber;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 통합 피드(/user/queue/feed). 클라이언트는 채널마다 /topic/channel/{id}를 구독하는 대신
+ * 피드 하나만 구독하고, 서버가 채널 멤버십(channel_offsets)으로 받을 피드 구독을 찾아 전달한다.
+ * 전달은 브로커(사용자 목적지 변환, 구독 레지스트리 조회)를 거치지 않고 MESSAGE 프레임을 clientOutboundChannel로 바로 보낸다.
+ */
+@Slf4j
+@Service
+public class ChannelFeedService {
+
+    public static final String FEED_DESTINATION = "/queue/feed";
+    private static final String FEED_SUBSCRIPTION = "/user" + FEED_DESTINATION;
+
+    private final ChannelOffsetRepository channelOffsetRepository;
+    private final MessageChannel clientOutboundChannel;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ChannelFeedIndex index = new ChannelFeedIndex();
+
+    // sessionId -> 피드 구독 (UNSUBSCRIBE에는 destination이 없으므로 구독 ID로 찾음)
+    private final Map<String, FeedSubscription> feedSubscriptions = new ConcurrentHashMap<>();
+
+    public ChannelFeedService(ChannelOffsetRepository channelOffsetRepository,
+                              @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                              ObjectMapper objectMapper, TransactionTemplate transactionTemplate) {
+        this.channelOffsetRepository = channelOffsetRepository;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void join(String userId, String channelId) {
+        DataSourceRoutingContext.onShard(0, () -> transactionTemplate.execute(
+                status -> channelOffsetRepository.insertOnConflictDoNothing(userId, channelId)));
+        index.addChannel(userId, channelId);
+    }
+
+    public void leave(String userId, String channelId) {
+        DataSourceRoutingContext.onShard(0, () -> transactionTemplate.execute(
+                status -> channelOffsetRepository.deleteByUserIdAndChannelId(userId, channelId)));
+        index.removeChannel(userId, channelId);
+    }
+
+    /**
+     * 채널의 피드 구독마다 MESSAGE 프레임을 보낸다. 페이로드는 한 번만 직렬화해 모든 세션이 공유한다.
+     */
+    public void deliver(MessageResponse message) {
+        Set<FeedSubscriber> subscribers = index.getSubscribers(message.getChannelId());
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            log.error("피드 메시지 직렬화 실패 - messageId: {}, 오류: {}", message.getId(), e.getMessage(), e);
+            return;
+        }
+
+        for (FeedSubscriber subscriber : subscribers) {
+            try {
+                clientOutboundChannel.send(feedMessage(subscriber, payload));
+            } catch (RuntimeException e) {
+                log.warn("피드 전달 실패 - sessionId: {}, channelId: {}, 오류: {}",
+                        subscriber.sessionId(), message.getChannelId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * SimpleBroker가 구독자에게 보내는 것과 같은 MESSAGE 프레임. destination은 클라이언트가 구독한 /user/queue/feed다.
+     */
+    public static Message<byte[]> feedMessage(FeedSubscriber subscriber, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(subscriber.sessionId());
+        accessor.setSubscriptionId(subscriber.subscriptionId());
+        accessor.setDestination(FEED_SUBSCRIPTION);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    public int getOnlineUserCount() {
+        return index.getOnlineUserCount();
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Principal user = event.getUser();
+        if (user == null || !FEED_SUBSCRIPTION.equals(accessor.getDestination())) {
+            return;
+        }
+
+        String sessionId = accessor.getSessionId();
+        feedSubscriptions.put(sessionId, new FeedSubscription(user.getName(), accessor.getSubscriptionId()));
+        index.addSession(user.getName(), sessionId, accessor.getSubscriptionId(), userId ->
+                DataSourceRoutingContext.onShard(0, () -> channelOffsetRepository.findChannelIdsByUserId(userId)));
+        log.debug("피드 구독 - userId: {}, sessionId: {}", user.getName(), sessionId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        FeedSubscription subscription = feedSubscriptions.get(accessor.getSessionId());
+        if (subscription != null && subscription.subscriptionId().equals(accessor.getSubscriptionId())) {
+            removeSession(accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        removeSession(event.getSessionId());
+    }
+
+    private void removeSession(String sessionId) {
+        FeedSubscription subscription = feedSubscriptions.remove(sessionId);
+        if (subscription != null) {
+            index.removeSession(subscription.userId(), sessionId);
+        }
+    }
+
+    private record FeedSubscription(String userId, String subscriptionId) {
+    }
+}
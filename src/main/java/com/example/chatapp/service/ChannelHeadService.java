@@ -0,0 +1,125 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.ChannelHeadProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채널별 마지막(최대) 시퀀스. 조회 API의 ETag 계산에 쓰며 메시지 캐시/DB를 거치지 않고 GET 한 번으로 확인한다.
+ * 값은 커밋된 메시지만 반영해야 하므로(커밋 전 값으로 304를 주면 새 메시지를 놓침) 트랜잭션 커밋 후에 갱신한다.
+ * 갱신을 건너뛰거나 실패한 채널은 헤드를 모르는 것으로 보고(ETag 없음), Redis가 돌아오면 남은 헤드 키를 지운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChannelHeadService {
+
+    private static final String HEAD_KEY_PREFIX = "channel_head:";
+
+    // 현재 값보다 클 때만 갱신 (동시 커밋 순서가 뒤바뀌어도 헤드가 뒤로 가지 않음)
+    private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local sequence = tonumber(ARGV[1]) " +
+            "if sequence > current then redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) return sequence end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "return current",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ChannelHeadProperties properties;
+
+    // 갱신이 유실되어 Redis의 헤드가 뒤처졌을 수 있는 채널 (헤드 키를 지울 때까지 ETag 없이 응답)
+    private final Set<String> staleChannels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 진행 중인 트랜잭션이 있으면 커밋 후에, 없으면 즉시 헤드를 갱신한다.
+     */
+    public void advanceAfterCommit(String channelId, long sequence) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance(channelId, sequence);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance(channelId, sequence);
+            }
+        });
+    }
+
+    public void advance(String channelId, long sequence) {
+        if (!circuitBreaker.allowRequest()) {
+            staleChannels.add(channelId);
+            return;
+        }
+        circuitBreaker.execute("채널 헤드 갱신", () -> {
+            try {
+                redisTemplate.execute(ADVANCE_SCRIPT, List.of(buildHeadKey(channelId)),
+                        Long.toString(sequence), Long.toString(properties.getTtl().toMillis()));
+            } catch (RuntimeException e) {
+                staleChannels.add(channelId);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * 갱신이 유실된 채널의 헤드 키를 지운다. 지우기 전까지 이 노드는 해당 채널에 ETag를 주지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${chat.channel-head.invalidate-interval-ms:1000}")
+    public void invalidateStaleHeads() {
+        for (String channelId : staleChannels) {
+            if (!circuitBreaker.allowRequest()) {
+                return;
+            }
+            boolean deleted = circuitBreaker.execute("채널 헤드 삭제", () -> {
+                redisTemplate.delete(buildHeadKey(channelId));
+                return true;
+            }, false);
+            if (!deleted) {
+                return;
+            }
+            staleChannels.remove(channelId);
+        }
+    }
+
+    /**
+     * @return 알 수 없으면(키 없음, Redis 장애, 갱신 유실) null
+     */
+    public Long getHead(String channelId) {
+        if (staleChannels.contains(channelId)) {
+            return null;
+        }
+        String head = circuitBreaker.execute("채널 헤드 조회",
+                () -> redisTemplate.opsForValue().get(buildHeadKey(channelId)), null);
+        return head != null ? Long.valueOf(head) : null;
+    }
+
+    /**
+     * 조회 결과는 (헤드, 커서)가 같으면 같다. 헤드를 모르면 null (ETag 없이 응답).
+     */
+    public String buildETag(String channelId, Long afterSequence, Long beforeSequence) {
+        Long head = getHead(channelId);
+        if (head == null) {
+            return null;
+        }
+        return "\"" + head + "-" + (afterSequence != null ? "a" + afterSequence : "")
+                + (beforeSequence != null ? "b" + beforeSequence : "") + "\"";
+    }
+
+    private String buildHeadKey(String channelId) {
+        return RedisClusterSupport.channelKey(HEAD_KEY_PREFIX, channelId);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.ShardProperties;
+import com.example.chatapp.datasource.DataSourceRoutingContext;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.entity.ChannelShardAssignment;
+import com.example.chatapp.entity.IdempotencyKey;
+import com.example.chatapp.repository.ChannelShardAssignmentRepository;
+import com.example.chatapp.repository.MessageBatchRepository;
+import com.example.chatapp.repository.ShardMigrationRepository;
+import com.example.chatapp.repository.ShardMigrationRepository.MessageRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 채널을 다른 샤드로 온라인 이전한다.
+ * 1. 복사: 쓰기를 받으면서 원본 샤드의 메시지를 시퀀스 순으로 대상 샤드에 복사 (멱등키는 메시지로부터 재계산)
+ *    보존 기간 정리로 남긴 시퀀스 하한(channel_sequence_floors)도 함께 복사해 대상 샤드에서 시퀀스가 되돌아가지 않게 함
+ * 2. 동결: 배정을 FROZEN으로 바꾸고 모든 인스턴스가 배정을 다시 읽을 때까지 대기 - 이후 쓰기는 503
+ * 3. 델타 복사 후 건수 검증
+ * 4. 전환: 배정을 대상 샤드(ACTIVE)로 변경하고 다시 전파 대기
+ * 5. 원본 샤드의 메시지/멱등키/시퀀스 하한 삭제
+ * 쓰기 중단은 2~4 구간(배정 재조회 주기의 약 2배 + 델타 복사)으로 한정된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChannelMigrationService {
+
+    private final ShardProperties properties;
+    private final ShardRouter shardRouter;
+    private final ChannelShardAssignmentRepository assignmentRepository;
+    private final ShardMigrationRepository shardMigrationRepository;
+    private final MessageBatchRepository messageBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<String> migratingChannels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @return 대상 샤드로 이전된 메시지 수
+     */
+    public long migrate(String channelId, int targetShard) {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("샤딩이 비활성화되어 있습니다");
+        }
+        if (targetShard < 0 || targetShard >= shardRouter.getShardCount()) {
+            throw new IllegalArgumentException("존재하지 않는 샤드입니다: " + targetShard);
+        }
+        if (!migratingChannels.add(channelId)) {
+            throw new IllegalStateException("이미 이전 중인 채널입니다: " + channelId);
+        }
+
+        try {
+            shardRouter.refreshAssignments();
+            int sourceShard = shardRouter.shardForWrite(channelId);
+            if (sourceShard == targetShard) {
+                return 0;
+            }
+            return migrate(channelId, sourceShard, targetShard);
+        } finally {
+            migratingChannels.remove(channelId);
+        }
+    }
+
+    private long migrate(String channelId, int sourceShard, int targetShard) {
+        log.info("채널 샤드 이전 시작 - channelId: {}, shard-{} -> shard-{}", channelId, sourceShard, targetShard);
+
+        long copied;
+        try {
+            // 1. 온라인 복사
+            long lastSequence = copyMessages(channelId, sourceShard, targetShard, 0L);
+
+            // 2. 쓰기 동결
+            saveAssignment(channelId, sourceShard, ChannelShardAssignment.Status.FROZEN);
+            awaitAssignmentPropagation();
+
+            // 3. 델타 복사 + 검증 (시퀀스 순서와 커밋 순서가 어긋나 누락된 행이 있으면 전체 재복사)
+            copyMessages(channelId, sourceShard, targetShard, lastSequence);
+            long sourceCount = countMessages(channelId, sourceShard);
+            copied = countMessages(channelId, targetShard);
+            if (sourceCount != copied) {
+                copyMessages(channelId, sourceShard, targetShard, 0L);
+                copied = countMessages(channelId, targetShard);
+            }
+            if (sourceCount != copied) {
+                throw new IllegalStateException(String.format(
+                        "이전 검증 실패 - channelId: %s, 원본: %d건, 대상: %d건", channelId, sourceCount, copied));
+            }
+        } catch (RuntimeException e) {
+            log.error("채널 샤드 이전 실패, 원본 샤드로 복구 - channelId: {}, 오류: {}", channelId, e.getMessage(), e);
+            saveAssignment(channelId, sourceShard, ChannelShardAssignment.Status.ACTIVE);
+            deleteMessages(channelId, targetShard);
+            throw e;
+        }
+
+        // 4. 배정 전환 - 다른 인스턴스가 아직 원본 샤드를 읽을 수 있으므로 전파 후 삭제
+        saveAssignment(channelId, targetShard, ChannelShardAssignment.Status.ACTIVE);
+        awaitAssignmentPropagation();
+
+        // 5. 원본 정리
+        deleteMessages(channelId, sourceShard);
+
+        log.info("채널 샤드 이전 완료 - channelId: {}, shard-{} -> shard-{}, 메시지: {}건",
+                channelId, sourceShard, targetShard, copied);
+        return copied;
+    }
+
+    /**
+     * @return 마지막으로 복사한 시퀀스
+     */
+    private long copyMessages(String channelId, int sourceShard, int targetShard, long afterSequence) {
+        int batchSize = properties.getMigrationBatchSize();
+        long lastSequence = afterSequence;
+
+        // 행이 모두 정리된 채널은 하한만 남아 있으므로 메시지가 없어도 복사
+        Long floor = DataSourceRoutingContext.onShard(sourceShard,
+                () -> shardMigrationRepository.findSequenceFloor(channelId));
+        if (floor != null) {
+            DataSourceRoutingContext.onShard(targetShard, () -> {
+                shardMigrationRepository.upsertSequenceFloor(channelId, floor);
+                return null;
+            });
+        }
+
+        while (true) {
+            long from = lastSequence;
+            List<MessageRow> rows = DataSourceRoutingContext.onShard(sourceShard,
+                    () -> shardMigrationRepository.findMessagesAfter(channelId, from, batchSize));
+            if (rows.isEmpty()) {
+                return lastSequence;
+            }
+
+            DataSourceRoutingContext.onShard(targetShard, () -> {
+                transactionTemplate.executeWithoutResult(status -> {
+                    shardMigrationRepository.insertMessages(rows);
+                    messageBatchRepository.insertIdempotencyKeys(sortedHashes(rows));
+                });
+                return null;
+            });
+
+            lastSequence = rows.get(rows.size() - 1).sequenceNumber();
+            if (rows.size() < batchSize) {
+                return lastSequence;
+            }
+        }
+    }
+
+    private void deleteMessages(String channelId, int shardId) {
+        int batchSize = properties.getMigrationBatchSize();
+
+        while (true) {
+            List<MessageRow> rows = DataSourceRoutingContext.onShard(shardId,
+                    () -> shardMigrationRepository.findMessagesAfter(channelId, 0L, batchSize));
+            if (rows.isEmpty()) {
+                // 메시지를 모두 지운 뒤 하한 삭제 (중간에 실패해도 남은 행의 시퀀스 하한이 유지됨)
+                DataSourceRoutingContext.onShard(shardId, () -> {
+                    shardMigrationRepository.deleteSequenceFloor(channelId);
+                    return null;
+                });
+                return;
+            }
+
+            DataSourceRoutingContext.onShard(shardId, () -> {
+                transactionTemplate.executeWithoutResult(status -> {
+                    shardMigrationRepository.deleteIdempotencyKeys(sortedHashes(rows));
+                    shardMigrationRepository.deleteMessages(
+                            rows.stream().map(MessageRow::id).collect(Collectors.toList()));
+                });
+                return null;
+            });
+        }
+    }
+
+    private long countMessages(String channelId, int shardId) {
+        return DataSourceRoutingContext.onShard(shardId, () -> shardMigrationRepository.countMessages(channelId));
+    }
+
+    private void saveAssignment(String channelId, int shardId, ChannelShardAssignment.Status status) {
+        DataSourceRoutingContext.onShard(0, () ->
+                assignmentRepository.save(new ChannelShardAssignment(channelId, shardId, status)));
+        shardRouter.refreshAssignments();
+    }
+
+    private void awaitAssignmentPropagation() {
+        try {
+            Thread.sleep(properties.getMappingRefreshIntervalMs() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("배정 전파 대기 중 인터럽트", e);
+        }
+    }
+
+    private static List<byte[]> sortedHashes(List<MessageRow> rows) {
+        return rows.stream()
+                .map(row -> ByteBuffer.wrap(IdempotencyKey.generateHash(row.userId(), row.channelId(), row.clientMessageId())))
+                .collect(Collectors.toCollection(TreeSet::new))
+                .stream()
+                .map(ByteBuffer::array)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.ContentCompressionProperties;
+import lombok.RequiredArgsConstructor;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 큰 메시지 본문의 LZ4 압축/해제.
+ * 캐시(ZSet) 멤버는 직렬화 결과로 중복을 판단하므로, 노드마다 결과가 같도록 JNI 대신 순수 Java 구현을 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentCompressor {
+
+    public static final String LZ4 = "lz4";
+
+    private static final LZ4Factory FACTORY = LZ4Factory.fastestJavaInstance();
+
+    private final ContentCompressionProperties properties;
+
+    private final LZ4Compressor compressor = FACTORY.fastCompressor();
+    private final LZ4FastDecompressor decompressor = FACTORY.fastDecompressor();
+
+    /**
+     * @return 압축할 가치가 없으면(비활성화, 임계치 미만, 압축률 부족) null
+     */
+    public Compressed compress(String content) {
+        if (!properties.isEnabled() || content == null
+                || content.length() < properties.getThreshold().toBytes() / 3) {
+            return null;
+        }
+
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < properties.getThreshold().toBytes()) {
+            return null;
+        }
+
+        String encoded = Base64.getEncoder().encodeToString(compressor.compress(raw));
+        if (encoded.length() > raw.length * properties.getMaxRatio()) {
+            return null;
+        }
+        return new Compressed(LZ4, encoded, raw.length);
+    }
+
+    public String decompress(String encoding, String encoded, int originalLength) {
+        if (!LZ4.equals(encoding)) {
+            throw new IllegalArgumentException("지원하지 않는 본문 인코딩입니다: " + encoding);
+        }
+        byte[] raw = decompressor.decompress(Base64.getDecoder().decode(encoded), originalLength);
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    public record Compressed(String encoding, String content, int originalLength) {
+    }
+}
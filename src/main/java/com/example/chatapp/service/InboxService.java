@@ -0,0 +1,177 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.InboxProperties;
+import com.example.chatapp.datasource.DataSourceRoutingContext;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.InboxChannel;
+import com.example.chatapp.dto.InboxResponse;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.repository.ChannelOffsetRepository;
+import com.example.chatapp.repository.LatestMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자가 속한 모든 채널의 마지막 메시지를 한 번에 반환한다 (앱 시작 시 채널 목록 미리보기용).
+ * 채널별 마지막 메시지는 Redis 해시 channel_last:{channelId} (sequence, message)에 커밋 후 갱신해 두고
+ * 조회 시 파이프라인 한 번(클러스터면 노드당 한 번)으로 읽는다. Redis에 없는 채널만 DB에서 채널별 LATERAL 조회 한 번으로 보충하고 다시 채운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InboxService {
+
+    private static final String LAST_MESSAGE_KEY_PREFIX = "channel_last:";
+    private static final byte[] MESSAGE_FIELD = "message".getBytes(StandardCharsets.UTF_8);
+
+    // 현재 값보다 시퀀스가 클 때만 교체 (동시 커밋 순서가 뒤바뀌거나 DB 보충이 늦게 도착해도 뒤로 가지 않음)
+    private static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('HGET', KEYS[1], 'sequence') or '0') " +
+            "local sequence = tonumber(ARGV[1]) " +
+            "if sequence > current then " +
+            "  redis.call('HSET', KEYS[1], 'sequence', ARGV[1], 'message', ARGV[2]) " +
+            "  redis.call('PEXPIRE', KEYS[1], ARGV[3]) " +
+            "  return 1 " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    // 마지막 메시지가 최신인 채널부터, 메시지가 없는 채널은 마지막
+    private static final Comparator<MessageResponse> LAST_MESSAGE_ORDER = Comparator.nullsLast(
+            Comparator.comparing(MessageResponse::getCreatedAt).reversed());
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final RedisClusterSupport clusterSupport;
+    private final MessageCacheService messageCacheService;
+    private final ChannelOffsetRepository channelOffsetRepository;
+    private final LatestMessageRepository latestMessageRepository;
+    private final ShardRouter shardRouter;
+    private final InboxProperties properties;
+
+    /**
+     * saveMessage/배치 수집에서 발행한 이벤트로 커밋 후 갱신한다 (트랜잭션 밖이면 즉시).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageCreated(MessageCreatedEvent event) {
+        updateLastMessage(event.message());
+    }
+
+    public InboxResponse getInbox(String userId) {
+        List<String> channelIds = DataSourceRoutingContext.onShard(0,
+                () -> channelOffsetRepository.findChannelIdsByUserId(userId));
+        if (channelIds.isEmpty()) {
+            return new InboxResponse(userId, List.of());
+        }
+
+        // 1. Redis에서 채널별 마지막 메시지 (파이프라인 한 번, 클러스터면 노드당 한 번)
+        Map<String, MessageResponse> lastMessages = getCachedLastMessages(channelIds);
+
+        // 채널 수 제한을 넘으면 마지막 메시지가 최신인 채널부터 남긴다 (Redis에 없는 채널은 TTL 동안 메시지가 없었으므로 뒤로)
+        if (channelIds.size() > properties.getMaxChannels()) {
+            log.warn("인박스 채널 수 제한 - userId: {}, 채널 수: {}, 최대: {}",
+                    userId, channelIds.size(), properties.getMaxChannels());
+            channelIds = channelIds.stream()
+                    .sorted(Comparator.comparing(lastMessages::get, LAST_MESSAGE_ORDER))
+                    .limit(properties.getMaxChannels())
+                    .collect(Collectors.toList());
+        }
+
+        // 2. 없는 채널만 DB에서 보충 후 Redis에 다시 채움
+        List<String> missingChannelIds = channelIds.stream()
+                .filter(channelId -> !lastMessages.containsKey(channelId))
+                .collect(Collectors.toList());
+        if (!missingChannelIds.isEmpty()) {
+            List<MessageResponse> loaded = findLastMessages(missingChannelIds);
+            loaded.forEach(message -> {
+                lastMessages.put(message.getChannelId(), message);
+                updateLastMessage(message);
+            });
+        }
+
+        log.debug("인박스 조회 - userId: {}, 채널 수: {}, Redis: {}개, DB 보충: {}개",
+                userId, channelIds.size(), channelIds.size() - missingChannelIds.size(), missingChannelIds.size());
+
+        List<InboxChannel> channels = channelIds.stream()
+                .map(channelId -> {
+                    MessageResponse lastMessage = lastMessages.get(channelId);
+                    return new InboxChannel(channelId,
+                            lastMessage != null ? lastMessage.getSequenceNumber() : null, lastMessage);
+                })
+                .sorted(Comparator.comparing(InboxChannel::getLastMessage, LAST_MESSAGE_ORDER))
+                .collect(Collectors.toList());
+        return new InboxResponse(userId, channels);
+    }
+
+    private void updateLastMessage(MessageResponse message) {
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+
+        String serialized;
+        try {
+            serialized = messageCacheService.serialize(message);
+        } catch (JsonProcessingException e) {
+            log.error("마지막 메시지 직렬화 실패 - messageId: {}, 오류: {}", message.getId(), e.getMessage(), e);
+            return;
+        }
+
+        circuitBreaker.execute("마지막 메시지 갱신", () -> {
+            redisTemplate.execute(UPDATE_SCRIPT, List.of(buildLastMessageKey(message.getChannelId())),
+                    Long.toString(message.getSequenceNumber()), serialized,
+                    Long.toString(properties.getLastMessageTtl().toMillis()));
+        });
+    }
+
+    private Map<String, MessageResponse> getCachedLastMessages(List<String> channelIds) {
+        List<String> keys = channelIds.stream().map(this::buildLastMessageKey).collect(Collectors.toList());
+        List<Object> values = clusterSupport.executePipelined("마지막 메시지 조회", keys,
+                (connection, key) -> connection.hashCommands().hGet(key, MESSAGE_FIELD));
+
+        Map<String, MessageResponse> lastMessages = new HashMap<>();
+        if (values == null) {
+            return lastMessages;
+        }
+        for (int i = 0; i < channelIds.size(); i++) {
+            if (values.get(i) instanceof String serialized) {
+                MessageResponse message = messageCacheService.deserializeMessage(serialized);
+                if (message != null) {
+                    lastMessages.put(channelIds.get(i), message);
+                }
+            }
+        }
+        return lastMessages;
+    }
+
+    // 샤드별로 나눠 샤드당 쿼리 한 번 (최신 메시지가 보여야 하므로 primary)
+    private List<MessageResponse> findLastMessages(Collection<String> channelIds) {
+        Map<Integer, List<String>> channelIdsByShard = new TreeMap<>();
+        channelIds.forEach(channelId ->
+                channelIdsByShard.computeIfAbsent(shardRouter.shardOf(channelId), id -> new ArrayList<>()).add(channelId));
+
+        List<MessageResponse> messages = new ArrayList<>();
+        channelIdsByShard.forEach((shardId, shardChannelIds) -> messages.addAll(DataSourceRoutingContext.onShard(
+                shardId, () -> latestMessageRepository.findLatestByChannelIds(shardChannelIds))));
+        return messages;
+    }
+
+    private String buildLastMessageKey(String channelId) {
+        return RedisClusterSupport.channelKey(LAST_MESSAGE_KEY_PREFIX, channelId);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.LongPollProperties;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.exception.LongPollCapacityExceededException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 롱폴링 대기 관리. 요청은 DeferredResult로 보관되어 서블릿 스레드를 잡지 않는다.
+ * - 등록 후 채널 헤드를 확인해 이미 새 메시지가 있으면 바로 응답 (등록 전에 확인하면 그 사이 이벤트를 놓칠 수 있음)
+ * - 새 메시지 이벤트가 오면 afterSequence가 그보다 작은 요청을 깨우고, 같은 커서끼리는 한 번만 조회
+ * - 시간 초과 시 빈 목록으로 응답 (다른 노드에서 저장된 메시지는 다음 요청의 헤드 확인에서 반영됨)
+ */
+@Slf4j
+@Service
+public class LongPollService {
+
+    private static final Duration MIN_TIMEOUT = Duration.ofSeconds(1);
+
+    private final MessageService messageService;
+    private final ChannelHeadService channelHeadService;
+    private final LongPollProperties properties;
+    private final ExecutorService completionExecutor;
+
+    private final Map<String, Set<Waiter>> waitersByChannel = new ConcurrentHashMap<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+    private final AtomicLong waiterIds = new AtomicLong();
+
+    public LongPollService(MessageService messageService, ChannelHeadService channelHeadService,
+                           LongPollProperties properties) {
+        this.messageService = messageService;
+        this.channelHeadService = channelHeadService;
+        this.properties = properties;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.completionExecutor = Executors.newFixedThreadPool(properties.getCompletionThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "long-poll-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param timeout null이면 기본값, [1초, 최대값] 범위로 제한
+     *                (DeferredResult는 0 이하를 "타임아웃 없음"으로 처리하므로 무기한 대기를 막기 위해 하한을 둔다)
+     */
+    public DeferredResult<List<MessageResponse>> await(String channelId, long afterSequence, Duration timeout) {
+        if (waiterCount.incrementAndGet() > properties.getMaxWaiters()) {
+            waiterCount.decrementAndGet();
+            throw new LongPollCapacityExceededException("롱폴링 대기 수 한도 초과: " + properties.getMaxWaiters());
+        }
+
+        Duration effectiveTimeout = effectiveTimeout(timeout);
+        DeferredResult<List<MessageResponse>> result = new DeferredResult<>(effectiveTimeout.toMillis(), List.of());
+        Waiter waiter = new Waiter(waiterIds.incrementAndGet(), channelId, afterSequence, result);
+
+        // 빈 Set 제거(remove)와 겹치지 않도록 compute로 등록
+        waitersByChannel.compute(channelId, (id, waiters) -> {
+            Set<Waiter> target = waiters != null ? waiters : ConcurrentHashMap.newKeySet();
+            target.add(waiter);
+            return target;
+        });
+        result.onCompletion(() -> remove(waiter));
+
+        // 헤드를 모르면(Redis 장애, 만료) 한 번 조회해 보고 메시지가 없으면 계속 대기
+        Long head = channelHeadService.getHead(channelId);
+        if (head == null || head > afterSequence) {
+            complete(channelId, afterSequence, List.of(waiter), true);
+        }
+        return result;
+    }
+
+    Duration effectiveTimeout(Duration timeout) {
+        if (timeout == null) {
+            return properties.getDefaultTimeout();
+        }
+        if (timeout.compareTo(MIN_TIMEOUT) < 0) {
+            return MIN_TIMEOUT;
+        }
+        return timeout.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : timeout;
+    }
+
+    public void onMessageCreated(String channelId, long sequence) {
+        Set<Waiter> waiters = waitersByChannel.get(channelId);
+        if (waiters == null) {
+            return;
+        }
+
+        List<Waiter> woken = new ArrayList<>();
+        for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+            Waiter waiter = iterator.next();
+            if (waiter.afterSequence < sequence) {
+                iterator.remove();
+                woken.add(waiter);
+            }
+        }
+        if (woken.isEmpty()) {
+            return;
+        }
+
+        woken.stream()
+                .collect(Collectors.groupingBy(waiter -> waiter.afterSequence))
+                .forEach((afterSequence, group) -> complete(channelId, afterSequence, group, false));
+    }
+
+    public int getWaiterCount() {
+        return waiterCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        completionExecutor.shutdownNow();
+    }
+
+    /**
+     * @param onlyIfFound true면 조회 결과가 비었을 때 응답하지 않고 대기를 유지 (등록 직후 확인용)
+     */
+    private void complete(String channelId, long afterSequence, List<Waiter> waiters, boolean onlyIfFound) {
+        try {
+            completionExecutor.execute(() -> {
+                List<MessageResponse> messages;
+                try {
+                    messages = messageService.getMessages(channelId, null, afterSequence, null);
+                } catch (RuntimeException e) {
+                    log.error("롱폴링 메시지 조회 실패 - channelId: {}, afterSequence: {}, 오류: {}",
+                            channelId, afterSequence, e.getMessage(), e);
+                    waiters.forEach(waiter -> waiter.result.setErrorResult(e));
+                    return;
+                }
+                if (!messages.isEmpty() || !onlyIfFound) {
+                    waiters.forEach(waiter -> waiter.result.setResult(messages));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (!onlyIfFound) {
+                waiters.forEach(waiter -> waiter.result.setResult(List.of()));
+            }
+        }
+    }
+
+    private void remove(Waiter waiter) {
+        waitersByChannel.computeIfPresent(waiter.channelId, (id, waiters) -> {
+            waiters.remove(waiter);
+            return waiters.isEmpty() ? null : waiters;
+        });
+        waiterCount.decrementAndGet();
+    }
+
+    private static final class Waiter {
+
+        private final long id;
+        private final String channelId;
+        private final long afterSequence;
+        private final DeferredResult<List<MessageResponse>> result;
+
+        private Waiter(long id, String channelId, long afterSequence, DeferredResult<List<MessageResponse>> result) {
+            this.id = id;
+            this.channelId = channelId;
+            this.afterSequence = afterSequence;
+            this.result = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Waiter other && other.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.BatchIngestProperties;
+import com.example.chatapp.datasource.DataSourceRoutingContext;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.BatchMessageResult;
+import com.example.chatapp.dto.MessageRequest;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.IdempotencyKey;
+import com.example.chatapp.entity.Message;
+import com.example.chatapp.exception.ChannelMigrationInProgressException;
+import com.example.chatapp.repository.MessageBatchRepository;
+import com.example.chatapp.repository.MessageRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 대량 메시지 수집. saveMessage와 동일한 멱등성 보장(user:channel:clientMessageId 당 1건)을 유지하면서
+ * 멱등키 INSERT, 시퀀스 조회, 메시지 INSERT를 청크 단위로 묶어 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageBatchService {
+
+    private final MessageRepository messageRepository;
+    private final MessageBatchRepository messageBatchRepository;
+    private final MessageCacheService messageCacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BatchIngestProperties properties;
+    private final ShardRouter shardRouter;
+    private final MessagePartitionManager partitionManager;
+    private final ChannelHeadService channelHeadService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<BatchMessageResult> saveMessages(List<MessageRequest> requests) {
+        return saveMessages(requests, 0);
+    }
+
+    /**
+     * @param firstIndex 결과의 index 시작값 (스트리밍 수집 시 누적 오프셋)
+     */
+    public List<BatchMessageResult> saveMessages(List<MessageRequest> requests, int firstIndex) {
+        BatchMessageResult[] results = new BatchMessageResult[requests.size()];
+        List<BatchItem> validItems = new ArrayList<>();
+
+        // 1. 항목별 검증 - 잘못된 항목만 INVALID 처리하고 나머지는 계속 진행
+        for (int i = 0; i < requests.size(); i++) {
+            MessageRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results[i] = BatchMessageResult.invalid(firstIndex + i, error);
+            } else {
+                validItems.add(new BatchItem(i, request));
+            }
+        }
+
+        // 2. 채널의 샤드별로 나눔 (샤딩 비활성화 시 전부 shard-0)
+        Map<Integer, List<BatchItem>> itemsByShard = new TreeMap<>();
+        for (BatchItem item : validItems) {
+            try {
+                int shardId = shardRouter.shardForWrite(item.request.getChannelId());
+                itemsByShard.computeIfAbsent(shardId, id -> new ArrayList<>()).add(item);
+            } catch (ChannelMigrationInProgressException e) {
+                results[item.index] = BatchMessageResult.failed(firstIndex + item.index, e.getMessage());
+            }
+        }
+
+        itemsByShard.forEach((shardId, shardItems) -> saveShardItems(shardId, shardItems, results, firstIndex));
+
+        return Arrays.asList(results);
+    }
+
+    // 청크 단위 트랜잭션 처리 (청크가 커밋되면 이후 청크의 중복 검사에서 보임)
+    private void saveShardItems(int shardId, List<BatchItem> items, BatchMessageResult[] results, int firstIndex) {
+        int chunkSize = properties.getChunkSize();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<BatchItem> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            List<MessageResponse> created = new ArrayList<>();
+
+            try {
+                DataSourceRoutingContext.onShard(shardId, () -> {
+                    transactionTemplate.executeWithoutResult(status -> saveChunk(chunk, results, firstIndex, created));
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.error("배치 청크 저장 실패 - shard: {}, 청크 크기: {}, 오류: {}", shardId, chunk.size(), e.getMessage(), e);
+                chunk.forEach(item -> results[item.index] =
+                        BatchMessageResult.failed(firstIndex + item.index, "메시지 저장에 실패했습니다"));
+                continue;
+            }
+
+            cacheCreatedMessages(created);
+        }
+    }
+
+    private void saveChunk(List<BatchItem> chunk, BatchMessageResult[] results, int firstIndex,
+                           List<MessageResponse> created) {
+
+        created.clear();
+
+        // 1. 청크 내 동일 멱등키는 첫 항목만 처리 대상(owner), 나머지는 owner 결과를 공유
+        Map<ByteBuffer, List<BatchItem>> itemsByHash = new LinkedHashMap<>();
+        for (BatchItem item : chunk) {
+            itemsByHash.computeIfAbsent(item.hash, hash -> new ArrayList<>()).add(item);
+        }
+
+        // 2. 멱등키 일괄 INSERT - 반환된 해시만 신규 요청
+        List<byte[]> sortedHashes = new TreeSet<>(itemsByHash.keySet()).stream()
+                .map(ByteBuffer::array)
+                .collect(Collectors.toList());
+        Set<ByteBuffer> insertedHashes = messageBatchRepository.insertIdempotencyKeys(sortedHashes);
+
+        List<BatchItem> newItems = new ArrayList<>();
+        List<BatchItem> duplicateItems = new ArrayList<>();
+        itemsByHash.values().forEach(items -> {
+            BatchItem owner = items.get(0);
+            (insertedHashes.contains(owner.hash) ? newItems : duplicateItems).add(owner);
+        });
+
+        // 3. 신규 메시지: 채널별 시퀀스를 한 번에 할당하고 JDBC 배치로 INSERT
+        if (!newItems.isEmpty()) {
+            List<String> sortedChannelIds = newItems.stream()
+                    .map(item -> item.request.getChannelId())
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+
+            messageBatchRepository.lockChannels(sortedChannelIds);
+            Map<String, Long> nextSequences = findMaxSequenceNumbers(sortedChannelIds);
+
+            List<Message> messages = new ArrayList<>(newItems.size());
+            for (BatchItem item : newItems) {
+                MessageRequest request = item.request;
+                long sequence = nextSequences.merge(request.getChannelId(), 1L, Long::sum);
+
+                Message message = new Message(
+                        request.getChannelId(),
+                        request.getUserId(),
+                        request.getContent(),
+                        request.getClientMessageId(),
+                        request.getMessageType()
+                );
+                message.setSequenceNumber(sequence);
+                messages.add(message);
+            }
+
+            List<Message> savedMessages = messageRepository.saveAll(messages);
+            messageRepository.flush();
+
+            for (int i = 0; i < newItems.size(); i++) {
+                MessageResponse response = new MessageResponse(savedMessages.get(i));
+                created.add(response);
+                eventPublisher.publishEvent(new MessageCreatedEvent(response));
+                fillResults(itemsByHash.get(newItems.get(i).hash), response, results, firstIndex);
+            }
+        }
+
+        // 4. 중복 요청: 기존 메시지를 한 번에 조회
+        if (!duplicateItems.isEmpty()) {
+            Map<String, MessageResponse> existing = messageBatchRepository.findByClientKeys(
+                    duplicateItems.stream().map(item -> item.request.getUserId()).collect(Collectors.toList()),
+                    duplicateItems.stream().map(item -> item.request.getChannelId()).collect(Collectors.toList()),
+                    duplicateItems.stream().map(item -> item.request.getClientMessageId()).collect(Collectors.toList()));
+
+            for (BatchItem owner : duplicateItems) {
+                MessageRequest request = owner.request;
+                MessageResponse message = existing.get(MessageBatchRepository.clientKey(
+                        request.getUserId(), request.getChannelId(), request.getClientMessageId()));
+
+                if (message == null) {
+                    itemsByHash.get(owner.hash).forEach(item -> results[item.index] = BatchMessageResult.failed(
+                            firstIndex + item.index, "멱등키는 존재하지만 메시지를 찾을 수 없습니다: " + request.getClientMessageId()));
+                } else {
+                    itemsByHash.get(owner.hash).forEach(item ->
+                            results[item.index] = BatchMessageResult.duplicate(firstIndex + item.index, message));
+                }
+            }
+        }
+
+        log.info("배치 청크 저장 완료 - 요청: {}건, 신규: {}건, 중복: {}건",
+                chunk.size(), newItems.size(), chunk.size() - newItems.size());
+    }
+
+    // 파티션 테이블이면 최근 파티션에서 먼저 찾고, 최근 메시지가 없는 채널만 전체 파티션에서 조회
+    private Map<String, Long> findMaxSequenceNumbers(List<String> channelIds) {
+        if (!partitionManager.isPartitioned()) {
+            return messageBatchRepository.findMaxSequenceNumbers(channelIds);
+        }
+
+        Map<String, Long> maxSequences = messageBatchRepository.findMaxSequenceNumbers(
+                channelIds, partitionManager.recentPartitionsStart().toOffsetDateTime());
+        List<String> missingChannelIds = channelIds.stream()
+                .filter(channelId -> !maxSequences.containsKey(channelId))
+                .collect(Collectors.toList());
+        if (!missingChannelIds.isEmpty()) {
+            maxSequences.putAll(messageBatchRepository.findMaxSequenceNumbers(missingChannelIds));
+            // 보존 기간 정리로 최신 행까지 삭제된 채널은 기록해 둔 마지막 시퀀스 이후부터
+            partitionManager.findSequenceFloors(missingChannelIds)
+                    .forEach((channelId, floor) -> maxSequences.merge(channelId, floor, Math::max));
+        }
+        return maxSequences;
+    }
+
+    private void fillResults(List<BatchItem> items, MessageResponse response, BatchMessageResult[] results, int firstIndex) {
+        BatchItem owner = items.get(0);
+        results[owner.index] = BatchMessageResult.created(firstIndex + owner.index, response);
+        items.subList(1, items.size()).forEach(item ->
+                results[item.index] = BatchMessageResult.duplicate(firstIndex + item.index, response));
+    }
+
+    // 청크 커밋 후 호출됨
+    private void cacheCreatedMessages(List<MessageResponse> created) {
+        created.stream()
+                .collect(Collectors.groupingBy(MessageResponse::getChannelId))
+                .forEach((channelId, messages) -> {
+                    messageCacheService.cacheMessages(channelId, messages);
+                    channelHeadService.advance(channelId, messages.stream()
+                            .mapToLong(MessageResponse::getSequenceNumber)
+                            .max()
+                            .getAsLong());
+                });
+    }
+
+    private String validate(MessageRequest request) {
+        if (request == null) {
+            return "요청 데이터가 비어 있습니다";
+        }
+
+        Set<ConstraintViolation<MessageRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static class BatchItem {
+
+        private final int index;
+        private final MessageRequest request;
+        private final ByteBuffer hash;
+
+        private BatchItem(int index, MessageRequest request) {
+            this.index = index;
+            this.request = request;
+            this.hash = ByteBuffer.wrap(IdempotencyKey.generateHash(
+                    request.getUserId(), request.getChannelId(), request.getClientMessageId()));
+        }
+    }
+}
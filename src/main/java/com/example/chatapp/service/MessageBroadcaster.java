@@ -0,0 +1,45 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.jfr.MessageBroadcastEvent;
+import com.example.chatapp.service.MessageMetrics.BroadcastEvent;
+import com.example.chatapp.service.MessageMetrics.BroadcastStage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 커밋된 새 메시지를 /topic/channel/{channelId} 구독자와 채널 멤버의 피드(/user/queue/feed)로 전송하고
+ * 롱폴링 대기 요청을 깨운다.
+ * 트랜잭션 밖에서 발행된 이벤트도 바로 처리한다(fallbackExecution).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final LongPollService longPollService;
+    private final ChannelFeedService channelFeedService;
+    private final MessageMetrics messageMetrics;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageCreated(MessageCreatedEvent event) {
+        MessageBroadcastEvent broadcastEvent = new MessageBroadcastEvent();
+        broadcastEvent.begin();
+        String channelId = event.message().getChannelId();
+        messageMetrics.timeBroadcast(BroadcastEvent.MESSAGE, BroadcastStage.TOPIC, () -> {
+            try {
+                messagingTemplate.convertAndSend("/topic/channel/" + channelId, event.message());
+            } catch (RuntimeException e) {
+                log.error("메시지 브로드캐스트 실패 - channelId: {}, 오류: {}", channelId, e.getMessage(), e);
+            }
+        });
+        messageMetrics.timeBroadcast(BroadcastEvent.MESSAGE, BroadcastStage.FEED,
+                () -> channelFeedService.deliver(event.message()));
+        messageMetrics.timeBroadcast(BroadcastEvent.MESSAGE, BroadcastStage.LONG_POLL,
+                () -> longPollService.onMessageCreated(channelId, event.message().getSequenceNumber()));
+        broadcastEvent.complete(channelId, "message", event.message().getSequenceNumber());
+    }
+}
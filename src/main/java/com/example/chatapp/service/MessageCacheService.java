@@ -1,13 +1,19 @@
 package com.example.chatapp.service;
 
+import com.example.chatapp.dto.CachedMessage;
 import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.hotchannel.HotChannelTracker;
+import com.example.chatapp.jfr.CacheLookupEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.DefaultTypedTuple;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -22,101 +28,157 @@ public class MessageCacheService {
 
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ContentCompressor contentCompressor;
+    private final HotChannelTracker hotChannelTracker;
 
     public void cacheMessage(String channelId, MessageResponse message) {
-        try {
-            String key = buildCacheKey(channelId);
-            String serializedMessage = objectMapper.writeValueAsString(message);
-
-            redisTemplate.opsForZSet().add(key, serializedMessage, message.getSequenceNumber());
-
-            log.debug("메시지 캐시 저장 - channelId: {}, sequence: {}", channelId, message.getSequenceNumber());
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
 
+        String serializedMessage;
+        try {
+            serializedMessage = serialize(message);
         } catch (JsonProcessingException e) {
             log.error("메시지 직렬화 실패 - messageId: {}, 오류: {}", message.getId(), e.getMessage(), e);
-        } catch (Exception e) {
-            log.error("Redis 캐시 저장 실패 - channelId: {}, 오류: {}", channelId, e.getMessage(), e);
+            return;
         }
-    }
 
-    public List<MessageResponse> getLatestMessages(String channelId, int limit) {
-        try {
-            String key = buildCacheKey(channelId);
+        String key = buildCacheKey(channelId);
+        circuitBreaker.execute("캐시 저장", () -> {
+            redisTemplate.opsForZSet().add(key, serializedMessage, message.getSequenceNumber());
+            log.debug("메시지 캐시 저장 - channelId: {}, sequence: {}", channelId, message.getSequenceNumber());
+        });
+    }
 
-            // ZSet에서 최신 메시지들을 내림차순으로 조회 (score 높은 순 -> 최신 순)
-            Set<String> cachedMessages = redisTemplate.opsForZSet()
-                .reverseRange(key, 0, limit - 1);
+    /**
+     * 같은 채널의 여러 메시지를 ZADD 한 번으로 저장한다.
+     */
+    public void cacheMessages(String channelId, List<MessageResponse> messages) {
+        if (messages.isEmpty() || !circuitBreaker.allowRequest()) {
+            return;
+        }
 
-            if (cachedMessages == null || cachedMessages.isEmpty()) {
-                log.debug("캐시 미스 - 최신 메시지 - channelId: {}", channelId);
-                return null;
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        for (MessageResponse message : messages) {
+            try {
+                tuples.add(new DefaultTypedTuple<>(serialize(message),
+                        message.getSequenceNumber().doubleValue()));
+            } catch (JsonProcessingException e) {
+                log.error("메시지 직렬화 실패 - messageId: {}, 오류: {}", message.getId(), e.getMessage(), e);
             }
+        }
+        if (tuples.isEmpty()) {
+            return;
+        }
 
-            List<MessageResponse> messages = deserializeMessages(cachedMessages);
-            log.debug("캐시 히트 - 최신 메시지 - channelId: {}, 조회된 메시지 수: {}", channelId, messages.size());
-
-            return messages;
+        String key = buildCacheKey(channelId);
+        circuitBreaker.execute("캐시 저장", () -> {
+            redisTemplate.opsForZSet().add(key, tuples);
+            log.debug("메시지 일괄 캐시 저장 - channelId: {}, 메시지 수: {}", channelId, tuples.size());
+        });
+    }
 
-        } catch (Exception e) {
-            log.error("Redis 캐시 조회 실패 - channelId: {}, 오류: {}", channelId, e.getMessage(), e);
-            return null;
+    /**
+     * DB에서 읽은 과거 구간(beforeSequence 페이지). 핫 채널만 캐시한다.
+     */
+    public void cacheHistory(String channelId, List<MessageResponse> messages) {
+        if (!hotChannelTracker.admitHistory(channelId)) {
+            log.debug("과거 구간 캐시 생략 (핫 채널 아님) - channelId: {}, 메시지 수: {}", channelId, messages.size());
+            return;
         }
+        cacheMessages(channelId, messages);
     }
 
-    public List<MessageResponse> getMessagesBefore(String channelId, Long beforeSequence, int limit) {
-        try {
-            String key = buildCacheKey(channelId);
+    public List<MessageResponse> getLatestMessages(String channelId, int limit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        String key = buildCacheKey(channelId);
 
-            // beforeSequence 이전 메시지들을 내림차순으로 조회
-            Set<String> cachedMessages = redisTemplate.opsForZSet()
-                .reverseRangeByScore(key, Double.NEGATIVE_INFINITY, beforeSequence - 1, 0, limit);
+        // ZSet에서 최신 메시지들을 내림차순으로 조회 (score 높은 순 -> 최신 순)
+        Set<String> cachedMessages = circuitBreaker.execute("캐시 조회",
+                () -> redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1), null);
 
-            if (cachedMessages == null || cachedMessages.isEmpty()) {
-                log.debug("캐시 미스 - beforeSequence: {} - channelId: {}", beforeSequence, channelId);
-                return null;
-            }
+        if (cachedMessages == null || cachedMessages.isEmpty()) {
+            log.debug("캐시 미스 - 최신 메시지 - channelId: {}", channelId);
+            event.complete(channelId, "latest", 0, limit, 0);
+            return null;
+        }
 
-            List<MessageResponse> messages = deserializeMessages(cachedMessages);
-            log.debug("캐시 히트 - beforeSequence: {} - channelId: {}, 조회된 메시지 수: {}",
-                beforeSequence, channelId, messages.size());
+        List<MessageResponse> messages = deserializeMessages(cachedMessages);
+        log.debug("캐시 히트 - 최신 메시지 - channelId: {}, 조회된 메시지 수: {}", channelId, messages.size());
 
-            return messages;
+        event.complete(channelId, "latest", 0, limit, messages.size());
+        return messages;
+    }
 
-        } catch (Exception e) {
-            log.error("Redis 캐시 조회 실패 - channelId: {}, beforeSequence: {}, 오류: {}",
-                channelId, beforeSequence, e.getMessage(), e);
+    public List<MessageResponse> getMessagesBefore(String channelId, Long beforeSequence, int limit) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        String key = buildCacheKey(channelId);
+
+        // beforeSequence 이전 메시지들을 내림차순으로 조회
+        Set<String> cachedMessages = circuitBreaker.execute("캐시 조회",
+                () -> redisTemplate.opsForZSet()
+                        .reverseRangeByScore(key, Double.NEGATIVE_INFINITY, beforeSequence - 1, 0, limit), null);
+
+        if (cachedMessages == null || cachedMessages.isEmpty()) {
+            log.debug("캐시 미스 - beforeSequence: {} - channelId: {}", beforeSequence, channelId);
+            event.complete(channelId, "before", beforeSequence, limit, 0);
             return null;
         }
+
+        List<MessageResponse> messages = deserializeMessages(cachedMessages);
+        log.debug("캐시 히트 - beforeSequence: {} - channelId: {}, 조회된 메시지 수: {}",
+            beforeSequence, channelId, messages.size());
+
+        event.complete(channelId, "before", beforeSequence, limit, messages.size());
+        return messages;
     }
 
     public List<MessageResponse> getMessagesAfter(String channelId, Long afterSequence, int limit) {
-        try {
-            String key = buildCacheKey(channelId);
-
-            // afterSequence 이후 메시지들을 오름차순으로 조회
-            Set<String> cachedMessages = redisTemplate.opsForZSet()
-                .rangeByScore(key, afterSequence + 1, Double.POSITIVE_INFINITY, 0, limit);
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        String key = buildCacheKey(channelId);
+
+        // afterSequence 이후 메시지들을 오름차순으로 조회
+        Set<String> cachedMessages = circuitBreaker.execute("캐시 조회",
+                () -> redisTemplate.opsForZSet()
+                        .rangeByScore(key, afterSequence + 1, Double.POSITIVE_INFINITY, 0, limit), null);
+
+        if (cachedMessages == null || cachedMessages.isEmpty()) {
+            log.debug("캐시 미스 - afterSequence: {} - channelId: {}", afterSequence, channelId);
+            event.complete(channelId, "after", afterSequence, limit, 0);
+            return null;
+        }
 
-            if (cachedMessages == null || cachedMessages.isEmpty()) {
-                log.debug("캐시 미스 - afterSequence: {} - channelId: {}", afterSequence, channelId);
-                return null;
-            }
+        List<MessageResponse> messages = deserializeMessages(cachedMessages);
+        log.debug("캐시 히트 - afterSequence: {} - channelId: {}, 조회된 메시지 수: {}",
+            afterSequence, channelId, messages.size());
 
-            List<MessageResponse> messages = deserializeMessages(cachedMessages);
-            log.debug("캐시 히트 - afterSequence: {} - channelId: {}, 조회된 메시지 수: {}",
-                afterSequence, channelId, messages.size());
+        event.complete(channelId, "after", afterSequence, limit, messages.size());
+        return messages;
+    }
 
-            return messages;
+    private String buildCacheKey(String channelId) {
+        return RedisClusterSupport.channelKey(CACHE_KEY_PREFIX, channelId);
+    }
 
-        } catch (Exception e) {
-            log.error("Redis 캐시 조회 실패 - channelId: {}, afterSequence: {}, 오류: {}",
-                channelId, afterSequence, e.getMessage(), e);
-            return null;
+    // 임계치 이상인 본문은 압축해서 저장 (contentEncoding 표시)
+    // serialize/deserializeMessage는 InboxService(channel_last 해시)도 같은 형식으로 쓰고 읽으므로 같은 패키지에 공개
+    // (JMH 벤치마크도 같은 패키지에서 직접 호출). 캐시 형식을 바꾸면 채널 캐시와 인박스 모두에 적용된다
+    String serialize(MessageResponse message) throws JsonProcessingException {
+        ContentCompressor.Compressed compressed = contentCompressor.compress(message.getContent());
+        if (compressed == null) {
+            return objectMapper.writeValueAsString(message);
         }
-    }
 
-    private String buildCacheKey(String channelId) {
-        return CACHE_KEY_PREFIX + channelId;
+        CachedMessage cached = new CachedMessage(message);
+        cached.setContent(compressed.content());
+        cached.setContentEncoding(compressed.encoding());
+        cached.setContentLength(compressed.originalLength());
+        return objectMapper.writeValueAsString(cached);
     }
 
     private List<MessageResponse> deserializeMessages(Set<String> cachedMessages) {
@@ -126,10 +188,15 @@ public class MessageCacheService {
                 .collect(Collectors.toList());
     }
 
-    private MessageResponse deserializeMessage(String serializedMessage) {
+    MessageResponse deserializeMessage(String serializedMessage) {
         try {
-            return objectMapper.readValue(serializedMessage, MessageResponse.class);
-        } catch (JsonProcessingException e) {
+            CachedMessage cached = objectMapper.readValue(serializedMessage, CachedMessage.class);
+            if (!cached.isCompressed()) {
+                return cached.toMessageResponse(cached.getContent());
+            }
+            return cached.toMessageResponse(contentCompressor.decompress(
+                    cached.getContentEncoding(), cached.getContent(), cached.getContentLength()));
+        } catch (JsonProcessingException | RuntimeException e) {
             log.error("메시지 역직렬화 실패 - 데이터: {}, 오류: {}", serializedMessage, e.getMessage(), e);
             return null;
         }
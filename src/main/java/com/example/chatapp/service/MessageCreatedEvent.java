@@ -0,0 +1,9 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.dto.MessageResponse;
+
+/**
+ * 새 메시지 저장 이벤트. 트랜잭션 안에서 발행하고, 리스너는 커밋 후에 처리한다.
+ */
+public record MessageCreatedEvent(MessageResponse message) {
+}
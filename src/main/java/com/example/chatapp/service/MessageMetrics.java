@@ -0,0 +1,259 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.MessageMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 메시지 쓰기/읽기 경로의 단계별 지표.
+ *
+ * - chat.message.save            saveMessage 전체 (outcome: created/duplicate/error)
+ * - chat.message.save.stage      단계별 (stage: idempotency_insert/sequence_lookup/message_insert/cache_write/
+ *                                duplicate_lookup/commit)
+ * - chat.message.read            getMessages 전체 (mode: latest/before/after, cache: hit/partial/miss)
+ * - chat.message.read.stage      단계별 (stage: cache/db/archive/merge/cache_fill)
+ * - chat.message.read.rows       출처별로 조회된 메시지 수 (source: cache/db/archive, 페이지 크기로 자르기 전)
+ * - chat.broadcast.stage         브로드캐스트 단계별 (event: message/join/leave, stage: topic/feed/long_poll)
+ *
+ * 단계별 지표와 rows에는 channel.bucket 태그(채널 ID 해시 % channelBuckets)를 붙인다.
+ * 전체 처리 시간 타이머는 분위수 히스토그램 버킷을 발행하므로 시계열 수를 줄이기 위해 channel.bucket을 붙이지 않는다.
+ * 태그 조합이 고정되어 있으므로 Timer/Counter는 생성 시 미리 등록해 둔다 (요청마다 레지스트리 조회 없음).
+ */
+@Component
+public class MessageMetrics {
+
+    public enum SaveStage {
+        IDEMPOTENCY_INSERT, SEQUENCE_LOOKUP, MESSAGE_INSERT, CACHE_WRITE, DUPLICATE_LOOKUP, COMMIT
+    }
+
+    public enum SaveOutcome {
+        CREATED, DUPLICATE, ERROR
+    }
+
+    public enum ReadMode {
+        LATEST, BEFORE, AFTER;
+
+        public static ReadMode of(Long afterSequence, Long beforeSequence) {
+            return afterSequence != null ? AFTER : beforeSequence != null ? BEFORE : LATEST;
+        }
+    }
+
+    public enum CacheResult {
+        HIT, PARTIAL, MISS
+    }
+
+    public enum ReadStage {
+        CACHE, DB, ARCHIVE, MERGE, CACHE_FILL
+    }
+
+    public enum RowSource {
+        CACHE, DB, ARCHIVE
+    }
+
+    public enum BroadcastEvent {
+        MESSAGE, JOIN, LEAVE
+    }
+
+    public enum BroadcastStage {
+        TOPIC, FEED, LONG_POLL
+    }
+
+    private final int channelBuckets;
+
+    private final Map<SaveOutcome, Timer> saveTimers = new EnumMap<>(SaveOutcome.class);
+    private final Map<SaveStage, Timer[]> saveStageTimers = new EnumMap<>(SaveStage.class);
+    private final Map<ReadMode, Map<CacheResult, Timer>> readTimers = new EnumMap<>(ReadMode.class);
+    private final Map<ReadMode, Map<ReadStage, Timer[]>> readStageTimers = new EnumMap<>(ReadMode.class);
+    private final Map<ReadMode, Map<RowSource, Counter[]>> readRows = new EnumMap<>(ReadMode.class);
+    private final Map<BroadcastEvent, Map<BroadcastStage, Timer>> broadcastTimers = new EnumMap<>(BroadcastEvent.class);
+
+    public MessageMetrics(MeterRegistry registry, MessageMetricsProperties properties) {
+        this.channelBuckets = Math.max(1, properties.getChannelBuckets());
+
+        for (SaveOutcome outcome : SaveOutcome.values()) {
+            saveTimers.put(outcome, Timer.builder("chat.message.save")
+                    .description("saveMessage 전체 처리 시간 (커밋 제외)")
+                    .tag("outcome", tagValue(outcome))
+                    .register(registry));
+        }
+        for (SaveStage stage : SaveStage.values()) {
+            saveStageTimers.put(stage, timers(registry, "chat.message.save.stage", "saveMessage 단계별 처리 시간",
+                    "stage", tagValue(stage)));
+        }
+        for (ReadMode mode : ReadMode.values()) {
+            Map<CacheResult, Timer> byCacheResult = new EnumMap<>(CacheResult.class);
+            for (CacheResult cacheResult : CacheResult.values()) {
+                byCacheResult.put(cacheResult, Timer.builder("chat.message.read")
+                        .description("getMessages 전체 처리 시간")
+                        .tags("mode", tagValue(mode), "cache", tagValue(cacheResult))
+                        .register(registry));
+            }
+            readTimers.put(mode, byCacheResult);
+
+            Map<ReadStage, Timer[]> byStage = new EnumMap<>(ReadStage.class);
+            for (ReadStage stage : ReadStage.values()) {
+                byStage.put(stage, timers(registry, "chat.message.read.stage", "getMessages 단계별 처리 시간",
+                        "mode", tagValue(mode), "stage", tagValue(stage)));
+            }
+            readStageTimers.put(mode, byStage);
+
+            Map<RowSource, Counter[]> bySource = new EnumMap<>(RowSource.class);
+            for (RowSource source : RowSource.values()) {
+                Counter[] counters = new Counter[channelBuckets];
+                for (int bucket = 0; bucket < channelBuckets; bucket++) {
+                    counters[bucket] = Counter.builder("chat.message.read.rows")
+                            .description("getMessages에서 출처별로 조회된 메시지 수")
+                            .tags("mode", tagValue(mode), "source", tagValue(source), "channel.bucket", Integer.toString(bucket))
+                            .register(registry);
+                }
+                bySource.put(source, counters);
+            }
+            readRows.put(mode, bySource);
+        }
+        // 브로드캐스트는 채널 단위 쏠림보다 구독자 수의 영향이 크므로 channel.bucket 없이 기록
+        for (BroadcastEvent event : BroadcastEvent.values()) {
+            Map<BroadcastStage, Timer> byStage = new EnumMap<>(BroadcastStage.class);
+            for (BroadcastStage stage : BroadcastStage.values()) {
+                byStage.put(stage, Timer.builder("chat.broadcast.stage")
+                        .description("브로드캐스트 단계별 처리 시간")
+                        .tags("event", tagValue(event), "stage", tagValue(stage))
+                        .register(registry));
+            }
+            broadcastTimers.put(event, byStage);
+        }
+    }
+
+    public <T> T timeSaveStage(SaveStage stage, String channelId, Supplier<T> action) {
+        long startedAt = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            saveStageTimers.get(stage)[bucketOf(channelId)].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void timeSaveStage(SaveStage stage, String channelId, Runnable action) {
+        timeSaveStage(stage, channelId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void recordSave(SaveOutcome outcome, long startedAtNanos) {
+        saveTimers.get(outcome).record(System.nanoTime() - startedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 현재 트랜잭션의 커밋 시간을 commit 단계로 기록하고, 커밋 결과에 따라 저장 결과(created/error)를 기록한다.
+     * 저장 시간은 커밋 직전까지로 잰다. 트랜잭션 밖이면 바로 created로 기록한다.
+     * afterCommit 콜백은 순서대로 실행되므로, 채널 헤드 갱신이나 이벤트 팬아웃 같은 다른 커밋 후 작업이
+     * commit 단계에 섞이지 않게 가장 먼저 실행되는 순서로 등록한다.
+     */
+    public void timeCommit(String channelId, long saveStartedAtNanos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordSave(SaveOutcome.CREATED, saveStartedAtNanos);
+            return;
+        }
+        Timer timer = saveStageTimers.get(SaveStage.COMMIT)[bucketOf(channelId)];
+        TransactionSynchronizationManager.registerSynchronization(new CommitTimingSynchronization() {
+
+            private boolean committing;
+            private long startedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                committing = true;
+                startedAt = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                saveTimers.get(SaveOutcome.CREATED).record(startedAt - saveStartedAtNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                // 커밋 전에 난 예외는 호출한 쪽에서 error로 기록하므로, 커밋을 시작한 뒤 실패한 경우만 기록
+                if (status != STATUS_COMMITTED && committing) {
+                    saveTimers.get(SaveOutcome.ERROR).record(startedAt - saveStartedAtNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    private abstract static class CommitTimingSynchronization implements TransactionSynchronization {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    public <T> T timeReadStage(ReadMode mode, ReadStage stage, String channelId, Supplier<T> action) {
+        long startedAt = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            readStageTimers.get(mode).get(stage)[bucketOf(channelId)]
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordRead(ReadMode mode, CacheResult cacheResult, long startedAtNanos) {
+        readTimers.get(mode).get(cacheResult).record(System.nanoTime() - startedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRows(ReadMode mode, RowSource source, String channelId, int rows) {
+        if (rows > 0) {
+            readRows.get(mode).get(source)[bucketOf(channelId)].increment(rows);
+        }
+    }
+
+    public void timeBroadcast(BroadcastEvent event, BroadcastStage stage, Runnable action) {
+        long startedAt = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            broadcastTimers.get(event).get(stage).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static CacheResult cacheResultOf(List<?> cachedMessages, int pageSize) {
+        if (cachedMessages == null || cachedMessages.isEmpty()) {
+            return CacheResult.MISS;
+        }
+        return cachedMessages.size() >= pageSize ? CacheResult.HIT : CacheResult.PARTIAL;
+    }
+
+    int bucketOf(String channelId) {
+        return channelId == null ? 0 : Math.floorMod(channelId.hashCode(), channelBuckets);
+    }
+
+    private Timer[] timers(MeterRegistry registry, String name, String description, String... tags) {
+        Timer[] timers = new Timer[channelBuckets];
+        for (int bucket = 0; bucket < channelBuckets; bucket++) {
+            timers[bucket] = Timer.builder(name)
+                    .description(description)
+                    .tags(tags)
+                    .tag("channel.bucket", Integer.toString(bucket))
+                    .register(registry);
+        }
+        return timers;
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase();
+    }
+}
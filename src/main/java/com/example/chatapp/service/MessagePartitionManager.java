@@ -0,0 +1,160 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.MessagePartitionProperties;
+import com.example.chatapp.datasource.DataSourceRoutingContext;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.repository.MessagePartitionRepository;
+import com.example.chatapp.repository.MessagePartitionRepository.Partition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * messages 월 파티션 관리 (V11).
+ * - 시작 시와 매일 한 번, 현재 달 이후 monthsAhead개월까지 파티션을 미리 생성
+ * - retentionMonths가 지난 파티션을 DETACH CONCURRENTLY 후 삭제(또는 보관)하고, 같은 기간의 멱등키도 정리
+ *   (분리 전에 채널별 마지막 시퀀스를 channel_sequence_floors에 남겨 행이 모두 정리된 채널도 시퀀스가 이어지게 함)
+ * messages가 파티션 테이블이 아니면(ddl-auto로 만든 테스트 스키마 등) 아무것도 하지 않는다.
+ * 샤딩 사용 시 모든 샤드에 대해 수행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessagePartitionManager {
+
+    private static final int IDEMPOTENCY_DELETE_BATCH_SIZE = 10000;
+
+    private final MessagePartitionRepository partitionRepository;
+    private final MessagePartitionProperties properties;
+    private final ShardRouter shardRouter;
+
+    private volatile Boolean partitioned;
+
+    public boolean isPartitioned() {
+        Boolean result = partitioned;
+        if (result == null) {
+            result = DataSourceRoutingContext.onShard(0, partitionRepository::isPartitioned);
+            partitioned = result;
+        }
+        return result;
+    }
+
+    /**
+     * 최근 파티션(지난달 1일 이후)만 보도록 조회 범위를 좁힐 때의 하한.
+     * 한 채널의 created_at은 시퀀스와 같은 순서로 증가하므로, 이 범위에 행이 있으면 채널의 최대 시퀀스도 이 범위에 있다.
+     */
+    public ZonedDateTime recentPartitionsStart() {
+        return ZonedDateTime.now().withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).minusMonths(1);
+    }
+
+    /**
+     * 보존 기간 정리로 행이 삭제된 채널의 마지막 시퀀스 (현재 샤드 기준). 없거나 파티션 테이블이 아니면 결과에 없음.
+     */
+    public Map<String, Long> findSequenceFloors(Collection<String> channelIds) {
+        if (!isPartitioned() || channelIds.isEmpty()) {
+            return Map.of();
+        }
+        return partitionRepository.findSequenceFloors(channelIds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${chat.partitioning.maintenance-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        for (int shardId = 0; shardId < shardRouter.getShardCount(); shardId++) {
+            int shard = shardId;
+            try {
+                DataSourceRoutingContext.onShard(shard, () -> {
+                    maintain(shard);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.warn("파티션 관리 실패, 다음 주기에 재시도 - shard-{}, 오류: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    private void maintain(int shardId) {
+        if (!partitionRepository.isPartitioned()) {
+            log.debug("messages가 파티션 테이블이 아니므로 파티션 관리 생략 - shard-{}", shardId);
+            return;
+        }
+
+        List<Partition> partitions = partitionRepository.findPartitions();
+        createAhead(shardId, partitions);
+        applyRetention(shardId, partitions);
+    }
+
+    private void createAhead(int shardId, List<Partition> partitions) {
+        OffsetDateTime target = partitionRepository.monthStart(properties.getMonthsAhead() + 1);
+        OffsetDateTime upper = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(OffsetDateTime::compareTo)
+                .orElseGet(() -> partitionRepository.monthStart(0));
+
+        while (upper.isBefore(target)) {
+            OffsetDateTime next = partitionRepository.addMonth(upper);
+            String name = partitionRepository.partitionName(upper);
+            partitionRepository.createPartition(name, upper, next, properties.getLockTimeout());
+            log.info("메시지 파티션 생성 - shard-{}, {}: [{}, {})", shardId, name, upper, next);
+            upper = next;
+        }
+    }
+
+    private void applyRetention(int shardId, List<Partition> partitions) {
+        if (properties.getRetentionMonths() <= 0) {
+            return;
+        }
+
+        OffsetDateTime cutoff = partitionRepository.monthStart(-properties.getRetentionMonths());
+        for (Partition partition : partitions) {
+            boolean expired = partition.upperBound() != null && !partition.upperBound().isAfter(cutoff);
+            if (!partition.detachPending() && !expired) {
+                continue;
+            }
+
+            // 분리되면 조회에서 빠지므로 그 전에 채널별 마지막 시퀀스를 남긴다 (분리 대기 중인 파티션도 테이블은 남아 있음)
+            int channels = partitionRepository.saveSequenceFloors(partition.name());
+            log.info("정리 대상 파티션의 채널별 마지막 시퀀스 기록 - shard-{}, {}, 채널 수: {}",
+                    shardId, partition.name(), channels);
+
+            if (partition.detachPending()) {
+                partitionRepository.finalizeDetach(partition.name(), properties.getLockTimeout());
+            } else {
+                partitionRepository.detachPartition(partition.name(), properties.getLockTimeout());
+            }
+
+            if (properties.getRetentionAction() == MessagePartitionProperties.RetentionAction.DROP) {
+                partitionRepository.dropTable(partition.name(), properties.getLockTimeout());
+            }
+            log.info("보존 기간이 지난 메시지 파티션 정리 - shard-{}, {}, 처리: {}",
+                    shardId, partition.name(), properties.getRetentionAction());
+        }
+
+        // 삭제된 메시지의 멱등키 - 남겨두면 재전송 시 "멱등키는 존재하지만 메시지를 찾을 수 없음" 오류가 된다
+        long deleted = 0;
+        int batch;
+        do {
+            batch = partitionRepository.deleteIdempotencyKeysBefore(cutoff, IDEMPOTENCY_DELETE_BATCH_SIZE);
+            deleted += batch;
+        } while (batch == IDEMPOTENCY_DELETE_BATCH_SIZE);
+        if (deleted > 0) {
+            log.info("보존 기간이 지난 멱등키 삭제 - shard-{}, {}건", shardId, deleted);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.RateLimitProperties;
+import com.example.chatapp.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메시지 쓰기 요청의 사용자별/채널별 토큰 버킷 한도. 저장(DB 트랜잭션) 전에 호출한다.
+ * 두 버킷을 Lua 스크립트 한 번(EVALSHA)으로 확인하고, 둘 다 토큰이 있을 때만 함께 차감한다.
+ * Redis에서 거부된 키는 재시도 가능 시각까지 노드 로컬에 기억해 같은 요청이 반복돼도 Redis를 다시 호출하지 않는다.
+ * Redis 장애(서킷 OPEN 포함) 시에는 허용한다 - 한도 때문에 쓰기 경로 전체가 멈추지 않도록.
+ * Redis Cluster에서는 사용자/채널 키가 다른 슬롯이라 한 스크립트로 묶을 수 없으므로(CROSSSLOT)
+ * 버킷마다 따로 차감하고, 채널 버킷에서 거부되면 먼저 차감한 사용자 토큰을 되돌린다.
+ */
+@Slf4j
+@Component
+public class MessageRateLimiter {
+
+    public enum Scope {
+        USER,
+        CHANNEL
+    }
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    // KEYS: 버킷 키들, ARGV: 버킷마다 (capacity, 밀리초당 충전량)
+    // 반환: {허용 1/0, 재시도까지 남은 ms, 거부한 버킷 번호(1부터)}
+    // 시각은 Redis TIME 기준이라 노드 간 시계 차이의 영향을 받지 않는다
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local tokens = {} " +
+            "local retry, denied = 0, 0 " +
+            "for i = 1, #KEYS do " +
+            "  local capacity, rate = tonumber(ARGV[i * 2 - 1]), tonumber(ARGV[i * 2]) " +
+            "  local state = redis.call('HMGET', KEYS[i], 't', 'ts') " +
+            "  local t = tonumber(state[1]) or capacity " +
+            "  local ts = tonumber(state[2]) or now " +
+            "  t = math.min(capacity, t + math.max(0, now - ts) * rate) " +
+            "  tokens[i] = t " +
+            "  if t < 1 then " +
+            "    local wait = math.ceil((1 - t) / rate) " +
+            "    if wait > retry then retry, denied = wait, i end " +
+            "  end " +
+            "end " +
+            "if denied > 0 then return {0, retry, denied} end " +
+            "for i = 1, #KEYS do " +
+            "  local capacity, rate = tonumber(ARGV[i * 2 - 1]), tonumber(ARGV[i * 2]) " +
+            "  redis.call('HSET', KEYS[i], 't', tostring(tokens[i] - 1), 'ts', tostring(now)) " +
+            "  redis.call('PEXPIRE', KEYS[i], math.ceil(capacity / rate)) " +
+            "end " +
+            "return {1, 0, 0}",
+            List.class);
+
+    // 클러스터 모드에서 채널 버킷 거부 시 사용자 버킷에 토큰 1개 반환 (capacity 초과 없이, 만료된 키는 그대로 둠)
+    private static final RedisScript<Long> REFUND_SCRIPT = new DefaultRedisScript<>(
+            "local t = tonumber(redis.call('HGET', KEYS[1], 't')) " +
+            "if not t then return 0 end " +
+            "redis.call('HSET', KEYS[1], 't', tostring(math.min(tonumber(ARGV[1]), t + 1))) " +
+            "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final RedisClusterSupport clusterSupport;
+    private final RateLimitProperties properties;
+    private final Clock clock;
+
+    // 버킷 키 -> 재시도 가능 시각(epoch ms)
+    private final Map<String, Long> deniedUntil = new ConcurrentHashMap<>();
+
+    private final Map<Scope, Counter> localRejections = new EnumMap<>(Scope.class);
+    private final Map<Scope, Counter> redisRejections = new EnumMap<>(Scope.class);
+
+    @Autowired
+    public MessageRateLimiter(RedisTemplate<String, String> redisTemplate, RedisCircuitBreaker circuitBreaker,
+                              RedisClusterSupport clusterSupport, RateLimitProperties properties,
+                              MeterRegistry registry) {
+        this(redisTemplate, circuitBreaker, clusterSupport, properties, registry, Clock.systemUTC());
+    }
+
+    MessageRateLimiter(RedisTemplate<String, String> redisTemplate, RedisCircuitBreaker circuitBreaker,
+                       RedisClusterSupport clusterSupport, RateLimitProperties properties, MeterRegistry registry,
+                       Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.clusterSupport = clusterSupport;
+        this.properties = properties;
+        this.clock = clock;
+
+        for (Scope scope : Scope.values()) {
+            localRejections.put(scope, rejectionCounter(registry, scope, "local"));
+            redisRejections.put(scope, rejectionCounter(registry, scope, "redis"));
+        }
+    }
+
+    /**
+     * 한도를 넘었으면 RateLimitExceededException을 던진다.
+     */
+    public void check(String userId, String channelId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long now = clock.millis();
+        String userKey = buildKey(Scope.USER, userId);
+        String channelKey = buildKey(Scope.CHANNEL, channelId);
+
+        // 1. 로컬 사전 확인 - 최근 Redis에서 거부된 키면 Redis 호출 없이 거부
+        checkLocal(Scope.USER, userKey, now);
+        checkLocal(Scope.CHANNEL, channelKey, now);
+
+        // 2. Redis에서 두 버킷을 확인/차감 (단일 노드면 스크립트 한 번으로 원자적으로)
+        RateLimitProperties.Bucket user = properties.getUser();
+        RateLimitProperties.Bucket channel = properties.getChannel();
+        List<?> result = circuitBreaker.execute("요청 한도 확인",
+                () -> clusterSupport.isClusterMode()
+                        ? takeSeparately(userKey, user, channelKey, channel)
+                        : redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(userKey, channelKey),
+                                Integer.toString(user.getCapacity()), perMillis(user),
+                                Integer.toString(channel.getCapacity()), perMillis(channel)),
+                null);
+
+        if (result == null || ((Number) result.get(0)).longValue() == 1L) {
+            return;
+        }
+
+        long retryAfterMillis = ((Number) result.get(1)).longValue();
+        Scope scope = ((Number) result.get(2)).intValue() == 1 ? Scope.USER : Scope.CHANNEL;
+        if (deniedUntil.size() < properties.getLocalMaxTracked()) {
+            deniedUntil.put(scope == Scope.USER ? userKey : channelKey, now + retryAfterMillis);
+        }
+
+        redisRejections.get(scope).increment();
+        throw rejection(scope, scope == Scope.USER ? userId : channelId, retryAfterMillis);
+    }
+
+    // 스크립트와 같은 형식({허용, 재시도 ms, 거부한 버킷 번호})으로 반환
+    private List<?> takeSeparately(String userKey, RateLimitProperties.Bucket user,
+                                   String channelKey, RateLimitProperties.Bucket channel) {
+        List<?> userResult = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(userKey),
+                Integer.toString(user.getCapacity()), perMillis(user));
+        if (((Number) userResult.get(0)).longValue() != 1L) {
+            return userResult;
+        }
+
+        List<?> channelResult = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(channelKey),
+                Integer.toString(channel.getCapacity()), perMillis(channel));
+        if (((Number) channelResult.get(0)).longValue() == 1L) {
+            return channelResult;
+        }
+
+        redisTemplate.execute(REFUND_SCRIPT, List.of(userKey), Integer.toString(user.getCapacity()));
+        return List.of(0L, channelResult.get(1), 2L);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.rate-limit.sweep-interval-ms:1000}")
+    public void sweepExpired() {
+        long now = clock.millis();
+        deniedUntil.values().removeIf(until -> until <= now);
+    }
+
+    int getTrackedCount() {
+        return deniedUntil.size();
+    }
+
+    private void checkLocal(Scope scope, String key, long now) {
+        Long until = deniedUntil.get(key);
+        if (until == null) {
+            return;
+        }
+        if (until <= now) {
+            deniedUntil.remove(key, until);
+            return;
+        }
+
+        localRejections.get(scope).increment();
+        throw rejection(scope, key.substring(key.indexOf(':', KEY_PREFIX.length()) + 1), until - now);
+    }
+
+    private static RateLimitExceededException rejection(Scope scope, String id, long retryAfterMillis) {
+        String target = scope == Scope.USER ? "사용자" : "채널";
+        return new RateLimitExceededException(
+                target + " 메시지 전송 한도 초과 - " + id + ", " + retryAfterMillis + "ms 후 재시도", retryAfterMillis);
+    }
+
+    private static String buildKey(Scope scope, String id) {
+        return KEY_PREFIX + scope.name().toLowerCase() + ":" + id;
+    }
+
+    private static String perMillis(RateLimitProperties.Bucket bucket) {
+        return Double.toString(bucket.getRefillPerSecond() / 1000.0);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, Scope scope, String source) {
+        return Counter.builder("chat.ratelimit.rejected")
+                .description("메시지 쓰기 요청 한도 초과로 거부된 수")
+                .tag("scope", scope.name().toLowerCase())
+                .tag("source", source)
+                .register(registry);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.MessageSearchProperties;
+import com.example.chatapp.config.ReadReplicaProperties;
+import com.example.chatapp.datasource.DataSourceRoutingContext;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.MessageSearchHit;
+import com.example.chatapp.dto.MessageSearchResponse;
+import com.example.chatapp.exception.InvalidSearchQueryException;
+import com.example.chatapp.repository.MessageSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 채널 메시지 전문 검색. 채널의 샤드에서(레플리카가 있으면 레플리카에서) 조회하며,
+ * 페이지는 (rank, sequence) 키셋 커서로 이어 OFFSET 없이 다음 페이지를 읽는다.
+ * DB에 있는 메시지만 대상이며 아카이브된 메시지는 검색되지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageSearchService {
+
+    private final MessageSearchRepository messageSearchRepository;
+    private final ShardRouter shardRouter;
+    private final ReadReplicaProperties readReplicaProperties;
+    private final MessageSearchProperties properties;
+
+    public MessageSearchResponse search(String channelId, String query, String cursor, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("검색어가 비어 있습니다");
+        }
+        if (query.length() > properties.getMaxQueryLength()) {
+            throw new InvalidSearchQueryException("검색어는 " + properties.getMaxQueryLength() + "자 이하여야 합니다");
+        }
+        int pageSize = limit != null ? limit : properties.getDefaultLimit();
+        if (pageSize < 1 || pageSize > properties.getMaxLimit()) {
+            throw new InvalidSearchQueryException("limit은 1 ~ " + properties.getMaxLimit() + " 사이여야 합니다");
+        }
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        // 다음 페이지 유무를 알기 위해 1건 더 조회
+        List<MessageSearchHit> hits = shardRouter.onShardOf(channelId, () -> readFromReplica(() ->
+                messageSearchRepository.search(channelId, query,
+                        after != null ? after.rank() : null, after != null ? after.sequence() : null,
+                        pageSize + 1, properties.getHeadlineOptions())));
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            MessageSearchHit last = hits.get(pageSize - 1);
+            nextCursor = new Cursor(last.getRank(), last.getMessage().getSequenceNumber()).encode();
+        }
+
+        List<MessageSearchHit> results = hits.stream()
+                .map(hit -> new MessageSearchHit(hit.getMessage(), hit.getRank(), toHtml(hit.getHighlight())))
+                .collect(Collectors.toList());
+
+        log.debug("메시지 검색 - channelId: {}, 검색어 길이: {}, 결과 수: {}, 다음 페이지: {}",
+                channelId, query.length(), results.size(), nextCursor != null);
+        return new MessageSearchResponse(channelId, query, results, nextCursor);
+    }
+
+    // 본문을 HTML 이스케이프한 뒤 ts_headline 구분자만 <mark>로 바꾼다 (본문의 태그가 그대로 렌더링되지 않도록)
+    static String toHtml(String highlight) {
+        if (highlight == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(highlight, StandardCharsets.UTF_8.name())
+                .replace(MessageSearchRepository.HIGHLIGHT_START, "<mark>")
+                .replace(MessageSearchRepository.HIGHLIGHT_STOP, "</mark>");
+    }
+
+    private <T> T readFromReplica(Supplier<T> query) {
+        if (!readReplicaProperties.isEnabled()) {
+            return query.get();
+        }
+
+        try {
+            return DataSourceRoutingContext.onReplica(query);
+        } catch (DataAccessException e) {
+            log.warn("레플리카 검색 실패, primary로 재시도 - 오류: {}", e.getMessage());
+            return DataSourceRoutingContext.onPrimary(query);
+        }
+    }
+
+    /**
+     * 이전 페이지 마지막 결과의 (rank, sequence). rank는 DB의 real(float4) 값을 그대로 돌려줘야
+     * 경계 비교가 정확하므로 Float.toString으로 왕복한다.
+     */
+    record Cursor(float rank, long sequence) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((rank + ":" + sequence).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                return new Cursor(Float.parseFloat(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidSearchQueryException("잘못된 cursor입니다: " + cursor);
+            }
+        }
+    }
+}
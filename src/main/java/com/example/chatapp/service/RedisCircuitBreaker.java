@@ -0,0 +1,164 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.RedisResilienceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Redis 호출 앞단의 서킷 브레이커.
+ * 연속 실패가 임계치에 도달하면 OPEN 상태로 전환되어 요청 스레드는 Redis를 호출하지 않고 즉시 fallback을 반환한다.
+ * OPEN 기간이 지나면 요청 스레드가 아닌 백그라운드 probe(PING)가 복구 여부를 확인한다.
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED,     // 정상 - Redis 호출
+        OPEN,       // 차단 - Redis 호출 생략
+        HALF_OPEN   // 백그라운드 probe 진행 중
+    }
+
+    private final RedisResilienceProperties.CircuitBreaker properties;
+    private final BooleanSupplier healthCheck;
+    private final Clock clock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAtMillis = new AtomicLong();
+    private final AtomicLong lastFailureLoggedAtMillis = new AtomicLong();
+    private final AtomicLong suppressedFailureLogs = new AtomicLong();
+
+    @Autowired
+    public RedisCircuitBreaker(RedisResilienceProperties properties, RedisConnectionFactory connectionFactory) {
+        this(properties.getCircuitBreaker(), () -> ping(connectionFactory), Clock.systemUTC());
+    }
+
+    RedisCircuitBreaker(RedisResilienceProperties.CircuitBreaker properties, BooleanSupplier healthCheck, Clock clock) {
+        this.properties = properties;
+        this.healthCheck = healthCheck;
+        this.clock = clock;
+    }
+
+    /**
+     * 브레이커가 닫혀 있을 때만 action을 실행한다.
+     * 실행 중 예외가 발생하거나 브레이커가 열려 있으면 fallback을 반환한다.
+     */
+    public <T> T execute(String operation, Supplier<T> action, T fallback) {
+        if (!allowRequest()) {
+            return fallback;
+        }
+
+        try {
+            T result = action.get();
+            recordSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            recordFailure(operation, e);
+            return fallback;
+        }
+    }
+
+    public void execute(String operation, Runnable action) {
+        execute(operation, () -> {
+            action.run();
+            return null;
+        }, null);
+    }
+
+    public boolean allowRequest() {
+        return state.get() == State.CLOSED;
+    }
+
+    public void recordSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    public void recordFailure(String operation, RuntimeException e) {
+        int failures = consecutiveFailures.incrementAndGet();
+        logFailure(operation, e);
+
+        if (failures >= properties.getFailureThreshold() && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            openedAtMillis.set(clock.millis());
+            log.warn("Redis 서킷 브레이커 OPEN - 연속 실패: {}회, {}ms 동안 캐시 우회",
+                    failures, properties.getOpenDuration().toMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${chat.redis.circuit-breaker.probe-interval-ms:1000}")
+    public void probe() {
+        if (state.get() != State.OPEN) {
+            return;
+        }
+        if (clock.millis() - openedAtMillis.get() < properties.getOpenDuration().toMillis()) {
+            return;
+        }
+        if (!state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return;
+        }
+
+        boolean healthy;
+        try {
+            healthy = healthCheck.getAsBoolean();
+        } catch (RuntimeException e) {
+            log.debug("Redis probe 실패 - 오류: {}", e.getMessage());
+            healthy = false;
+        }
+
+        if (healthy) {
+            consecutiveFailures.set(0);
+            state.set(State.CLOSED);
+            log.info("Redis 서킷 브레이커 CLOSED - probe 성공, 캐시 사용 재개");
+        } else {
+            openedAtMillis.set(clock.millis());
+            state.set(State.OPEN);
+            log.warn("Redis probe 실패 - 서킷 브레이커 OPEN 유지");
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public Instant getOpenedAt() {
+        return state.get() == State.CLOSED ? null : Instant.ofEpochMilli(openedAtMillis.get());
+    }
+
+    private void logFailure(String operation, RuntimeException e) {
+        long now = clock.millis();
+        long lastLoggedAt = lastFailureLoggedAtMillis.get();
+
+        if (now - lastLoggedAt >= properties.getLogInterval().toMillis()
+                && lastFailureLoggedAtMillis.compareAndSet(lastLoggedAt, now)) {
+            log.warn("Redis {} 실패 - 오류: {} (생략된 실패 로그: {}건)",
+                    operation, e.getMessage(), suppressedFailureLogs.getAndSet(0));
+            log.debug("Redis {} 실패 상세", operation, e);
+        } else {
+            suppressedFailureLogs.incrementAndGet();
+        }
+    }
+
+    private static boolean ping(RedisConnectionFactory connectionFactory) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return "PONG".equalsIgnoreCase(connection.ping());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.chatapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Redis Cluster 지원. 클러스터 여부는 spring.data.redis.cluster.nodes 설정으로 정해진다
+ * (Spring Boot가 클러스터용 커넥션 팩토리를 구성, application-cluster.yml 참고).
+ * 채널 단위 키는 channelKey로 만들어 한 채널의 키(메시지 캐시, 헤드, 마지막 메시지)가 같은 슬롯에 모이게 하고,
+ * 여러 채널에 걸친 파이프라인은 키를 슬롯별로 묶은 뒤 같은 마스터 노드의 슬롯끼리 한 번씩 보낸다.
+ */
+@Slf4j
+@Component
+public class RedisClusterSupport {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final boolean clusterMode;
+
+    @Autowired
+    public RedisClusterSupport(RedisTemplate<String, String> redisTemplate, RedisCircuitBreaker circuitBreaker,
+                               RedisConnectionFactory connectionFactory) {
+        this(redisTemplate, circuitBreaker,
+                connectionFactory instanceof LettuceConnectionFactory lettuce && lettuce.isClusterAware());
+    }
+
+    RedisClusterSupport(RedisTemplate<String, String> redisTemplate, RedisCircuitBreaker circuitBreaker,
+                        boolean clusterMode) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.clusterMode = clusterMode;
+        log.info("Redis 모드: {}", clusterMode ? "cluster" : "standalone");
+    }
+
+    /**
+     * prefix{channelId} - 해시 태그({...})만 슬롯 계산에 쓰이므로 prefix가 달라도 같은 채널이면 같은 슬롯.
+     */
+    public static String channelKey(String prefix, String channelId) {
+        return prefix + "{" + channelId + "}";
+    }
+
+    public static int slotOf(String key) {
+        return ClusterSlotHashUtil.calculateSlot(key);
+    }
+
+    public boolean isClusterMode() {
+        return clusterMode;
+    }
+
+    /**
+     * 키마다 command로 커맨드 하나를 파이프라인에 넣고 결과를 keys 순서대로 반환한다.
+     * 클러스터면 노드별 파이프라인으로 나눠 보내고, 실패한 노드의 키는 결과가 null (다른 노드 결과는 유지).
+     *
+     * @return Redis를 쓸 수 없으면(서킷 OPEN, 단일 노드 장애) null
+     */
+    public List<Object> executePipelined(String operation, List<String> keys,
+                                         BiConsumer<RedisConnection, byte[]> command) {
+        if (!clusterMode) {
+            return circuitBreaker.execute(operation, () -> pipeline(keys, command), null);
+        }
+
+        Map<Integer, List<Integer>> indexesBySlot = groupBySlot(keys);
+        Map<RedisClusterNode, List<Integer>> indexesByNode = circuitBreaker.execute(operation,
+                () -> groupByNode(indexesBySlot), null);
+        if (indexesByNode == null) {
+            return null;
+        }
+
+        Object[] results = new Object[keys.size()];
+        indexesByNode.forEach((node, indexes) -> {
+            List<String> nodeKeys = indexes.stream().map(keys::get).toList();
+            List<Object> values = circuitBreaker.execute(operation, () -> pipeline(nodeKeys, command), null);
+            if (values == null) {
+                log.debug("노드 파이프라인 결과 없음 - node: {}, 키 수: {}", node, nodeKeys.size());
+                return;
+            }
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = values.get(i);
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    // 슬롯 -> 해당 슬롯 키들의 keys 인덱스 (슬롯 순)
+    static Map<Integer, List<Integer>> groupBySlot(List<String> keys) {
+        Map<Integer, List<Integer>> indexesBySlot = new TreeMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            indexesBySlot.computeIfAbsent(slotOf(keys.get(i)), slot -> new ArrayList<>()).add(i);
+        }
+        return indexesBySlot;
+    }
+
+    // 슬롯 담당 노드는 커넥션 팩토리가 캐시한 토폴로지에서 찾으므로 슬롯마다 왕복하지 않는다
+    private Map<RedisClusterNode, List<Integer>> groupByNode(Map<Integer, List<Integer>> indexesBySlot) {
+        return redisTemplate.execute((RedisCallback<Map<RedisClusterNode, List<Integer>>>) connection -> {
+            RedisClusterConnection clusterConnection = (RedisClusterConnection) connection;
+            Map<RedisClusterNode, List<Integer>> indexesByNode = new LinkedHashMap<>();
+            indexesBySlot.forEach((slot, indexes) -> indexesByNode
+                    .computeIfAbsent(clusterConnection.clusterGetNodeForSlot(slot), node -> new ArrayList<>())
+                    .addAll(indexes));
+            return indexesByNode;
+        });
+    }
+
+    private List<Object> pipeline(List<String> keys, BiConsumer<RedisConnection, byte[]> command) {
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                command.accept(connection, key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+    }
+}
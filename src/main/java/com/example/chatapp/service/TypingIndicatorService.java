@@ -0,0 +1,156 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.TypingIndicatorProperties;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.dto.TypingEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 입력 중 알림. DB/Redis를 거치지 않고 노드 메모리의 상태만으로 /topic/channel/{channelId}/typing 에 전송한다.
+ *
+ * - 사용자/채널당 throttleInterval 안의 신호는 합쳐서 최대 한 번만 브로드캐스트
+ * - 입력이 계속되면 ttl의 절반마다 한 번 갱신 알림, 중단 신호가 없으면 ttl 후 알림 없이 만료
+ *   (클라이언트도 ttlMs가 지나면 스스로 지우므로 만료 알림은 보내지 않음)
+ * - 메시지를 보내면 입력 중 상태를 조용히 정리 (클라이언트는 메시지 수신 시 해당 사용자 표시를 지움)
+ */
+@Slf4j
+@Service
+public class TypingIndicatorService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TypingIndicatorProperties properties;
+    private final Clock clock;
+
+    private final Map<String, TypingState> states = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TypingIndicatorService(SimpMessagingTemplate messagingTemplate, TypingIndicatorProperties properties) {
+        this(messagingTemplate, properties, Clock.systemUTC());
+    }
+
+    TypingIndicatorService(SimpMessagingTemplate messagingTemplate, TypingIndicatorProperties properties, Clock clock) {
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public void onTyping(String channelId, String userId, boolean typing) {
+        String key = key(channelId, userId);
+        if (typing && states.size() >= properties.getMaxTracked() && !states.containsKey(key)) {
+            log.debug("입력 중 상태 한도 초과로 무시 - channelId: {}, userId: {}", channelId, userId);
+            return;
+        }
+
+        long now = clock.millis();
+        long throttleMillis = properties.getThrottleInterval().toMillis();
+        long ttlMillis = properties.getTtl().toMillis();
+        boolean[] broadcast = new boolean[1];
+
+        states.compute(key, (k, state) -> {
+            if (state == null) {
+                if (!typing) {
+                    return null;
+                }
+                state = new TypingState(channelId, userId);
+            }
+
+            state.typing = typing;
+            if (typing) {
+                state.expiresAt = now + ttlMillis;
+            }
+
+            boolean throttled = state.lastBroadcastAt != 0 && now - state.lastBroadcastAt < throttleMillis;
+            boolean changed = typing != state.announced;
+            boolean refreshDue = typing && now - state.lastBroadcastAt >= ttlMillis / 2;
+            if (!throttled && (changed || refreshDue)) {
+                state.announced = typing;
+                state.lastBroadcastAt = now;
+                broadcast[0] = true;
+            }
+
+            // 중단 알림까지 보냈으면 상태 제거, 보류 중이면 sweep에서 전송
+            return state.typing || state.announced ? state : null;
+        });
+
+        if (broadcast[0]) {
+            broadcast(channelId, userId, typing);
+        }
+    }
+
+    /**
+     * 메시지를 보낸 사용자의 입력 중 상태를 정리한다. 알림은 보내지 않는다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageCreated(MessageCreatedEvent event) {
+        MessageResponse message = event.message();
+        states.remove(key(message.getChannelId(), message.getUserId()));
+    }
+
+    /**
+     * throttle로 보류된 중단 알림을 보내고 만료된 상태를 정리한다.
+     */
+    @Scheduled(fixedDelayString = "${chat.typing.sweep-interval-ms:500}")
+    public void sweep() {
+        long now = clock.millis();
+        long throttleMillis = properties.getThrottleInterval().toMillis();
+        List<TypingState> stopped = new ArrayList<>();
+
+        for (String key : states.keySet()) {
+            states.computeIfPresent(key, (k, state) -> {
+                if (state.typing) {
+                    return now >= state.expiresAt ? null : state;
+                }
+                if (now - state.lastBroadcastAt < throttleMillis) {
+                    return state;
+                }
+                stopped.add(state);
+                return null;
+            });
+        }
+
+        stopped.forEach(state -> broadcast(state.channelId, state.userId, false));
+    }
+
+    public int getTrackedCount() {
+        return states.size();
+    }
+
+    private void broadcast(String channelId, String userId, boolean typing) {
+        try {
+            messagingTemplate.convertAndSend("/topic/channel/" + channelId + "/typing",
+                    new TypingEvent(channelId, userId, typing, typing ? properties.getTtl().toMillis() : 0));
+        } catch (RuntimeException e) {
+            log.warn("입력 중 알림 전송 실패 - channelId: {}, userId: {}, 오류: {}", channelId, userId, e.getMessage());
+        }
+    }
+
+    private static String key(String channelId, String userId) {
+        return channelId + '\u0000' + userId;
+    }
+
+    private static final class TypingState {
+
+        private final String channelId;
+        private final String userId;
+        private boolean typing;         // 마지막으로 받은 신호
+        private boolean announced;      // 구독자에게 마지막으로 보낸 값
+        private long lastBroadcastAt;
+        private long expiresAt;
+
+        private TypingState(String channelId, String userId) {
+            this.channelId = channelId;
+            this.userId = userId;
+        }
+    }
+}
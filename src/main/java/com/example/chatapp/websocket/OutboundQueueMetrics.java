@@ -0,0 +1,48 @@
+package com.example.chatapp.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 세션별 송신 대기열 지표. 세션 ID를 태그로 쓰지 않고(카디널리티) 분포와 합계로 본다.
+ */
+public class OutboundQueueMetrics {
+
+    private final DistributionSummary queueDepth;
+    private final Counter droppedFrames;
+    private final Counter gapFrames;
+    private final Counter slowConsumerDisconnects;
+
+    public OutboundQueueMetrics(MeterRegistry registry) {
+        this.queueDepth = DistributionSummary.builder("chat.websocket.outbound.queue.depth")
+                .description("프레임을 넣은 직후 세션 송신 대기열 길이")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.droppedFrames = Counter.builder("chat.websocket.outbound.dropped")
+                .description("대기열 초과로 버린 MESSAGE 프레임 수")
+                .register(registry);
+        this.gapFrames = Counter.builder("chat.websocket.outbound.gaps")
+                .description("버린 프레임 대신 보낸 GAP 프레임 수")
+                .register(registry);
+        this.slowConsumerDisconnects = Counter.builder("chat.websocket.outbound.slow.disconnects")
+                .description("느린 소비자로 판단해 종료한 세션 수")
+                .register(registry);
+    }
+
+    void recordQueueDepth(int depth) {
+        queueDepth.record(depth);
+    }
+
+    void recordDropped() {
+        droppedFrames.increment();
+    }
+
+    void recordGap() {
+        gapFrames.increment();
+    }
+
+    void recordSlowConsumerDisconnect() {
+        slowConsumerDisconnects.increment();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.chatapp.websocket;
+
+import com.example.chatapp.config.WebSocketBrokerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 모든 WebSocket 세션을 {@link OutboundQueueSession}으로 감싸는 데코레이터 팩토리.
+ * 감싼 세션은 Spring의 ConcurrentWebSocketSessionDecorator 아래에 놓이므로 브로커 스레드는 대기열에 넣고 바로 돌아간다.
+ */
+@Slf4j
+@Component
+public class OutboundQueueRegistry implements WebSocketHandlerDecoratorFactory {
+
+    private final WebSocketBrokerProperties.Outbound settings;
+    private final OutboundQueueMetrics metrics;
+    private final ExecutorService senderExecutor;
+    private final ExecutorService closeExecutor;
+    private final Map<String, OutboundQueueSession> sessions = new ConcurrentHashMap<>();
+
+    public OutboundQueueRegistry(WebSocketBrokerProperties properties, MeterRegistry meterRegistry) {
+        this.settings = properties.getOutbound();
+        this.metrics = new OutboundQueueMetrics(meterRegistry);
+        this.senderExecutor = Executors.newFixedThreadPool(settings.getSenderThreads(), threadFactory("ws-sender-"));
+        // 느린 세션 종료는 송신 스레드와 분리 - 송신 스레드가 모두 소켓 쓰기에 묶여 있어도 종료가 밀리지 않음
+        this.closeExecutor = Executors.newFixedThreadPool(settings.getCloseThreads(), threadFactory("ws-closer-"));
+
+        Gauge.builder("chat.websocket.outbound.queued", this, OutboundQueueRegistry::totalQueued)
+                .description("전체 세션 송신 대기열에 쌓인 프레임 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.outbound.queue.max", this, OutboundQueueRegistry::maxQueued)
+                .description("가장 긴 세션 송신 대기열 길이")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                OutboundQueueSession queued = new OutboundQueueSession(session, settings, senderExecutor, closeExecutor, metrics);
+                sessions.put(session.getId(), queued);
+                super.afterConnectionEstablished(queued);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(queued(session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(queued(session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                OutboundQueueSession queued = sessions.remove(session.getId());
+                if (queued != null) {
+                    queued.discardQueue();
+                }
+                super.afterConnectionClosed(queued != null ? queued : session, closeStatus);
+            }
+        };
+    }
+
+    private WebSocketSession queued(WebSocketSession session) {
+        OutboundQueueSession queued = sessions.get(session.getId());
+        return queued != null ? queued : session;
+    }
+
+    /**
+     * 소켓 쓰기가 sendTimeLimit을 넘긴 채 멈춘 세션 정리. 새 프레임이 들어오지 않는 세션도 놓치지 않도록 주기적으로 확인한다.
+     */
+    @Scheduled(fixedDelayString = "${chat.websocket.outbound.check-interval-ms:1000}")
+    public void closeStalledSessions() {
+        sessions.values().stream()
+                .filter(OutboundQueueSession::isSendTimeLimitExceeded)
+                .forEach(session -> session.closeSlowConsumer("전송 시간 초과"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderExecutor.shutdownNow();
+        closeExecutor.shutdownNow();
+    }
+
+    private double totalQueued() {
+        return sessions.values().stream().mapToInt(OutboundQueueSession::getQueueSize).sum();
+    }
+
+    private double maxQueued() {
+        return sessions.values().stream().mapToInt(OutboundQueueSession::getQueueSize).max().orElse(0);
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.chatapp.websocket;
+
+import com.example.chatapp.config.WebSocketBrokerProperties.Outbound;
+import com.example.chatapp.config.WebSocketBrokerProperties.Outbound.SlowConsumerPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 세션별 송신 대기열. sendMessage는 대기열에 넣고 바로 반환하며, 실제 전송은 송신 스레드가 세션당 하나씩 수행한다.
+ * 브로커/아웃바운드 스레드가 느린 소켓에 묶이지 않으므로 한 세션이 느려도 다른 세션 전달이 밀리지 않는다.
+ *
+ * 대기열이 한도를 넘으면
+ * - DROP_OLDEST: 가장 오래된 STOMP MESSAGE 프레임부터 버리고, 그 자리에 구독별 GAP 프레임 하나를 둔다.
+ *   GAP 프레임은 원래 구독(subscription/destination)으로 가며 gap 헤더에 버린 수를 담는다.
+ *   클라이언트는 마지막으로 받은 시퀀스 이후를 GET /messages?afterSequence= 로 다시 받으면 된다.
+ * - DISCONNECT: 세션을 종료한다.
+ * CONNECTED/RECEIPT/ERROR, 하트비트 등 MESSAGE가 아닌 프레임은 버리지 않는다.
+ */
+@Slf4j
+public class OutboundQueueSession extends WebSocketSessionDecorator {
+
+    private static final String MESSAGE_FRAME_PREFIX = "MESSAGE\n";
+    private static final String SUBSCRIPTION_HEADER = "\nsubscription:";
+    private static final String DESTINATION_HEADER = "\ndestination:";
+
+    private final Outbound settings;
+    private final Executor senderExecutor;
+    private final Executor closeExecutor;
+    private final OutboundQueueMetrics metrics;
+
+    // queue, queuedBytes, pendingGaps, gapSequence는 queue lock으로 보호
+    private final LinkedList<Frame> queue = new LinkedList<>();
+    private final Map<String, GapFrame> pendingGaps = new HashMap<>();
+    private long queuedBytes;
+    private long gapSequence;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long sendStartedAt;
+    private volatile boolean closing;
+
+    public OutboundQueueSession(WebSocketSession delegate, Outbound settings, Executor senderExecutor,
+                                Executor closeExecutor, OutboundQueueMetrics metrics) {
+        super(delegate);
+        this.settings = settings;
+        this.senderExecutor = senderExecutor;
+        this.closeExecutor = closeExecutor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (closing) {
+            return;
+        }
+        if (isSendTimeLimitExceeded()) {
+            closeSlowConsumer("전송 시간 초과");
+            return;
+        }
+
+        boolean overflow = false;
+        synchronized (queue) {
+            Frame frame = Frame.of(message);
+            queue.addLast(frame);
+            queuedBytes += frame.bytes;
+            if (isOverLimit()) {
+                if (settings.getSlowConsumerPolicy() == SlowConsumerPolicy.DISCONNECT) {
+                    overflow = true;
+                } else {
+                    dropOldest();
+                }
+            }
+            metrics.recordQueueDepth(queue.size());
+        }
+
+        if (overflow) {
+            closeSlowConsumer("송신 대기열 초과");
+            return;
+        }
+        scheduleDrain();
+    }
+
+    public boolean isSendTimeLimitExceeded() {
+        long startedAt = sendStartedAt;
+        return startedAt != 0 && System.currentTimeMillis() - startedAt > settings.getSendTimeLimit().toMillis();
+    }
+
+    public int getQueueSize() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * 느린 소비자로 판단해 세션을 닫는다. 송신 스레드는 모두 멈춘 소켓 쓰기에 묶여 있을 수 있고
+     * 브로커/정리 스레드는 close frame 전송을 기다리면 안 되므로, 종료 전용 스레드에서 닫는다.
+     */
+    public void closeSlowConsumer(String reason) {
+        if (closing) {
+            return;
+        }
+        closing = true;
+        discardQueue();
+        metrics.recordSlowConsumerDisconnect();
+        log.warn("느린 WebSocket 세션 종료 - sessionId: {}, 사유: {}", getId(), reason);
+
+        Runnable close = () -> {
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException | RuntimeException e) {
+                log.debug("세션 종료 실패 - sessionId: {}, 오류: {}", getId(), e.getMessage());
+            }
+        };
+        try {
+            closeExecutor.execute(close);
+        } catch (RejectedExecutionException e) {
+            close.run();
+        }
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closing = true;
+        discardQueue();
+        super.close(status);
+    }
+
+    void discardQueue() {
+        synchronized (queue) {
+            queue.clear();
+            pendingGaps.clear();
+            queuedBytes = 0;
+        }
+    }
+
+    private boolean isOverLimit() {
+        return queue.size() > settings.getMaxQueuedMessages() || queuedBytes > settings.getMaxQueuedBytes().toBytes();
+    }
+
+    // 오래된 MESSAGE 프레임부터 버린다. 구독별로 처음 버린 자리를 GAP 프레임으로 바꾸고 이후 버린 수는 거기에 합친다
+    private void dropOldest() {
+        ListIterator<Frame> iterator = queue.listIterator();
+        while (isOverLimit() && iterator.hasNext()) {
+            Frame frame = iterator.next();
+            if (frame.subscription == null) {
+                continue;
+            }
+
+            metrics.recordDropped();
+            queuedBytes -= frame.bytes;
+            GapFrame gap = pendingGaps.get(frame.subscription);
+            if (gap == null) {
+                gap = new GapFrame(frame.subscription, frame.destination, ++gapSequence);
+                pendingGaps.put(frame.subscription, gap);
+                iterator.set(gap);
+                queuedBytes += gap.bytes;
+            } else {
+                iterator.remove();
+            }
+            gap.dropped++;
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senderExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            log.warn("WebSocket 송신 스레드 포화 - sessionId: {}", getId());
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closing) {
+                WebSocketMessage<?> message;
+                synchronized (queue) {
+                    Frame frame = queue.pollFirst();
+                    if (frame == null) {
+                        break;
+                    }
+                    queuedBytes -= frame.bytes;
+                    if (frame instanceof GapFrame gap) {
+                        pendingGaps.remove(gap.gapSubscription, gap);
+                        metrics.recordGap();
+                    }
+                    message = frame.toMessage();
+                }
+
+                sendStartedAt = System.currentTimeMillis();
+                try {
+                    getDelegate().sendMessage(message);
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("WebSocket 전송 실패 - sessionId: {}, 오류: {}", getId(), e.getMessage());
+            closing = true;
+            discardQueue();
+        } finally {
+            draining.set(false);
+        }
+
+        // draining 해제 직전에 들어온 프레임
+        if (!closing && getQueueSize() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    private static class Frame {
+
+        private final WebSocketMessage<?> message;
+        // MESSAGE 프레임만 값이 있음 (버릴 수 있는 프레임)
+        final String subscription;
+        final String destination;
+        final int bytes;
+
+        Frame(WebSocketMessage<?> message, String subscription, String destination, int bytes) {
+            this.message = message;
+            this.subscription = subscription;
+            this.destination = destination;
+            this.bytes = bytes;
+        }
+
+        static Frame of(WebSocketMessage<?> message) {
+            if (message instanceof TextMessage text && text.getPayload().startsWith(MESSAGE_FRAME_PREFIX)) {
+                String payload = text.getPayload();
+                int headersEnd = payload.indexOf("\n\n");
+                String headers = headersEnd >= 0 ? payload.substring(0, headersEnd + 1) : payload;
+                String subscription = header(headers, SUBSCRIPTION_HEADER);
+                if (subscription != null) {
+                    return new Frame(message, subscription, header(headers, DESTINATION_HEADER),
+                            message.getPayloadLength());
+                }
+            }
+            return new Frame(message, null, null, message.getPayloadLength());
+        }
+
+        // STOMP 헤더 값은 인코딩된 그대로 사용 (GAP 프레임에 그대로 다시 씀)
+        private static String header(String headers, String name) {
+            int start = headers.indexOf(name);
+            if (start < 0) {
+                return null;
+            }
+            start += name.length();
+            int end = headers.indexOf('\n', start);
+            return headers.substring(start, end >= 0 ? end : headers.length());
+        }
+
+        WebSocketMessage<?> toMessage() {
+            return message;
+        }
+    }
+
+    // 버린 MESSAGE 프레임 자리를 대신하는 프레임. 자신은 버리지 않도록 subscription은 비워 둔다
+    private static final class GapFrame extends Frame {
+
+        private static final int ESTIMATED_BYTES = 256;
+
+        private final String gapSubscription;
+        private final long sequence;
+        private int dropped;
+
+        GapFrame(String subscription, String destination, long sequence) {
+            super(null, null, destination, ESTIMATED_BYTES);
+            this.gapSubscription = subscription;
+            this.sequence = sequence;
+        }
+
+        @Override
+        WebSocketMessage<?> toMessage() {
+            String body = "{\"type\":\"GAP\",\"dropped\":" + dropped + "}";
+            return new TextMessage("MESSAGE\n" +
+                    "subscription:" + gapSubscription + "\n" +
+                    (destination != null ? "destination:" + destination + "\n" : "") +
+                    "message-id:gap-" + sequence + "\n" +
+                    "content-type:application/json\n" +
+                    "gap:" + dropped + "\n" +
+                    "\n" + body + "\u0000");
+        }
+    }
+}
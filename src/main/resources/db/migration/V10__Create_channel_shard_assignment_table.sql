@@ -0,0 +1,8 @@
+-- 해시 링 배정을 덮어쓰는 채널별 샤드 배정 (모든 샤드에 생성되지만 shard-0의 테이블만 사용)
+CREATE TABLE channel_shard_assignments (
+    channel_id VARCHAR(255) PRIMARY KEY,
+    shard_id INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_channel_shard_assignments_status CHECK (status IN ('ACTIVE', 'FROZEN'))
+);
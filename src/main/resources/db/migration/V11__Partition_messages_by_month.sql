@@ -0,0 +1,44 @@
+-- messages를 created_at 월 단위 RANGE 파티션 테이블로 전환
+-- 기존 데이터는 복사하지 않고 messages_legacy로 이름을 바꿔 (MINVALUE ~ 다음 달 1일) 파티션으로 붙인다.
+-- 이후 월 파티션은 MessagePartitionManager가 미리 생성하고, 보존 기간이 지난 파티션은 분리/삭제한다.
+-- 주의: 같은 트랜잭션에서 legacy 전체를 검사(CHECK, 유니크 인덱스)하므로 대용량 테이블은 점검 시간에 실행할 것
+
+-- 1. 기존 테이블/인덱스 이름 변경 (인덱스 이름은 스키마 전역이므로 새 부모 테이블과 겹치지 않게)
+ALTER TABLE messages RENAME TO messages_legacy;
+ALTER TABLE messages_legacy RENAME CONSTRAINT messages_pkey TO messages_legacy_pkey;
+ALTER INDEX idx_messages_channel_sequence RENAME TO idx_messages_legacy_channel_sequence;
+ALTER INDEX idx_messages_client_message_id RENAME TO idx_messages_legacy_client_message_id;
+
+-- 2. 파티션 부모 테이블 (파티션 테이블의 PK/유니크 제약은 파티션 키를 포함해야 함)
+CREATE TABLE messages (
+    id BIGINT NOT NULL DEFAULT nextval('messages_id_seq'),
+    channel_id VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    client_message_id VARCHAR(255) NOT NULL,
+    message_type VARCHAR(255) NOT NULL CHECK (message_type IN ('CHAT','JOIN','LEAVE')),
+    sequence_number BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- legacy 파티션이 나중에 삭제되어도 시퀀스가 함께 삭제되지 않도록 소유자 변경
+ALTER SEQUENCE messages_id_seq OWNED BY messages.id;
+
+CREATE INDEX idx_messages_channel_sequence ON messages (channel_id, sequence_number);
+CREATE INDEX idx_messages_client_message_id ON messages (user_id, channel_id, client_message_id);
+
+-- 3. legacy를 첫 파티션으로 연결
+--    부모 PK와 같은 유니크 인덱스와 범위 CHECK를 미리 만들어 두면 ATTACH 시 재검사/재생성하지 않는다
+CREATE UNIQUE INDEX messages_legacy_id_created_at ON messages_legacy (id, created_at);
+
+DO $$
+DECLARE
+    next_month TIMESTAMP WITH TIME ZONE := date_trunc('month', now()) + INTERVAL '1 month';
+BEGIN
+    EXECUTE format('ALTER TABLE messages_legacy ADD CONSTRAINT chk_messages_legacy_created_at CHECK (created_at < %L)',
+                   next_month);
+    EXECUTE format('ALTER TABLE messages ATTACH PARTITION messages_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                   next_month);
+END $$;
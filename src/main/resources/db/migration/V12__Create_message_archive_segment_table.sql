@@ -0,0 +1,14 @@
+-- 아카이브 세그먼트 파일 목록 (채널별로 겹치지 않는 시퀀스 구간)
+CREATE TABLE message_archive_segments (
+    id BIGSERIAL PRIMARY KEY,
+    channel_id VARCHAR(255) NOT NULL,
+    first_sequence BIGINT NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    message_count INTEGER NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_message_archive_segments_range CHECK (first_sequence <= last_sequence)
+);
+
+CREATE UNIQUE INDEX idx_message_archive_segments_channel_last ON message_archive_segments (channel_id, last_sequence);
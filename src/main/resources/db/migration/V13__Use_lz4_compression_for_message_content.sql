@@ -0,0 +1,16 @@
+-- 큰 본문(TOAST 대상, 약 2KB 이상)을 pglz 대신 lz4로 압축
+-- 최소 버전: PostgreSQL 14 (컬럼별 SET COMPRESSION, 파티션 생성 시 INCLUDING COMPRESSION, DETACH CONCURRENTLY 모두 14부터 지원)
+-- 파티션 테이블에 적용하면 기존 파티션에도 전파되고, 새 파티션은 INCLUDING COMPRESSION으로 이어받는다.
+-- 이미 저장된 값은 다시 쓰일 때까지 기존 방식(pglz)으로 남는다.
+-- 14 미만이거나 lz4 없이 빌드된 서버에서는 기본 압축(pglz)을 유지한다.
+DO $$
+BEGIN
+    IF current_setting('server_version_num')::int < 140000 THEN
+        RAISE NOTICE 'PostgreSQL 14 미만 서버입니다. content 컬럼은 기본 압축을 유지합니다.';
+        RETURN;
+    END IF;
+    EXECUTE 'ALTER TABLE messages ALTER COLUMN content SET COMPRESSION lz4';
+EXCEPTION
+    WHEN feature_not_supported THEN
+        RAISE NOTICE 'lz4 압축을 지원하지 않는 서버입니다. content 컬럼은 기본 압축을 유지합니다.';
+END $$;
@@ -0,0 +1,14 @@
+-- 메시지 본문 전문 검색 (GET /messages/search)
+-- 'simple' 설정: 형태소 분석 없이 공백/구두점 단위로 나누고 소문자화 (한국어 조사는 검색 시 접두어 매칭으로 보완)
+-- 생성 컬럼이라 INSERT/UPDATE 시 자동 갱신되며 애플리케이션 코드는 이 컬럼을 쓰지 않는다.
+-- 주의: STORED 생성 컬럼 추가는 모든 파티션을 다시 쓰므로(ACCESS EXCLUSIVE) 대용량 테이블은 점검 시간에 실행할 것
+
+-- 1. (channel_id, search_vector) 복합 GIN 인덱스를 위해 btree_gin 필요 (PostgreSQL 13+에서는 DB 소유자가 설치 가능)
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- 2. 부모에 추가하면 기존 파티션에도 추가됨 (새 파티션은 MessagePartitionRepository가 INCLUDING GENERATED로 이어받음)
+ALTER TABLE messages ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple'::regconfig, content)) STORED;
+
+-- 3. 검색은 항상 채널 단위이므로 channel_id와 함께 색인해 다른 채널의 일치 행을 읽지 않게 한다
+CREATE INDEX idx_messages_search ON messages USING gin (channel_id, search_vector);
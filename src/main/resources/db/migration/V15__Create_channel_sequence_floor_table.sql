@@ -0,0 +1,8 @@
+-- 보존 기간 정리로 삭제/분리되는 파티션에 있던 채널별 마지막 시퀀스 (MessagePartitionManager가 DETACH 전에 기록)
+-- 채널의 행이 모두 정리되면 MAX(sequence_number)가 0이 되어 시퀀스 1부터 다시 할당되는데,
+-- 이전 시퀀스는 Redis 헤드/ETag/클라이언트 커서에 남아 있으므로 이 값 이후부터 할당한다.
+CREATE TABLE channel_sequence_floors (
+    channel_id VARCHAR(255) PRIMARY KEY,
+    last_sequence BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,9 @@
+-- 마지막으로 적용된 해시 링 구성 (모든 샤드에 생성되지만 shard-0의 테이블만 사용)
+-- 샤드 수/가상 노드 수가 바뀌면 ShardRingGuard가 링 위치가 바뀌는 기존 채널을 channel_shard_assignments에 원래 샤드로 고정한 뒤 갱신한다.
+CREATE TABLE shard_ring_state (
+    id SMALLINT PRIMARY KEY DEFAULT 1,
+    shard_count INTEGER NOT NULL,
+    virtual_nodes INTEGER NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_shard_ring_state_single_row CHECK (id = 1)
+);
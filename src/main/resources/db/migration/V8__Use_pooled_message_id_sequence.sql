@@ -0,0 +1,8 @@
+-- Message.id를 IDENTITY에서 pooled 시퀀스로 전환 (JDBC 배치 INSERT 활성화)
+
+-- 1. Hibernate pooled optimizer는 nextval 한 번으로 (값 - 49) ~ 값 범위의 ID 50개를 사용
+ALTER SEQUENCE messages_id_seq INCREMENT BY 50;
+
+-- 2. 첫 nextval이 (기존 최대 ID + 50)을 반환하도록 설정하여 기존 ID와 겹치지 않게 함
+--    컬럼 DEFAULT(nextval)는 유지되며, 직접 INSERT되는 행은 Hibernate가 쓰지 않는 블록의 끝 값을 사용
+SELECT setval('messages_id_seq', COALESCE((SELECT MAX(id) FROM messages), 0) + 50, false);
@@ -0,0 +1,8 @@
+-- 멱등키를 64자 hex VARCHAR에서 SHA-256 원본 32바이트 bytea로 변환
+-- 해시 입력이 동일하므로 기존 키는 decode만으로 새 키와 일치한다 (테이블 재작성 및 PK 인덱스 재생성)
+
+ALTER TABLE idempotency_keys
+    ALTER COLUMN idempotency_hash TYPE bytea USING decode(idempotency_hash, 'hex');
+
+ALTER TABLE idempotency_keys
+    ADD CONSTRAINT chk_idempotency_hash_length CHECK (octet_length(idempotency_hash) = 32);
@@ -0,0 +1,131 @@
+package com.example.chatapp.archive;
+
+import com.example.chatapp.config.ArchiveProperties;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import com.example.chatapp.entity.MessageArchiveSegment;
+import com.example.chatapp.repository.MessageArchiveRepository;
+import com.example.chatapp.repository.MessageArchiveSegmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArchiveSealerTest {
+
+    private static final String CHANNEL_ID = "seal-channel";
+    private static final OffsetDateTime CUTOFF = OffsetDateTime.parse("2024-06-01T00:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private final ArchiveProperties properties = new ArchiveProperties();
+    private final MessageArchiveService archiveService = mock(MessageArchiveService.class);
+    private final MessageArchiveRepository archiveRepository = mock(MessageArchiveRepository.class);
+    private final MessageArchiveSegmentRepository segmentRepository = mock(MessageArchiveSegmentRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private ArchiveSealer archiveSealer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSegmentMinMessages(1);
+        properties.setSegmentMaxMessages(100);
+        when(archiveService.getDirectory()).thenReturn(tempDir);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(archiveRepository.findMessagesToSeal(eq(CHANNEL_ID), anyLong(), eq(CUTOFF), anyInt()))
+                .thenReturn(messages(1, 10));
+        archiveSealer = new ArchiveSealer(properties, archiveService, archiveRepository, segmentRepository,
+                mock(ShardRouter.class), transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 채널을 봉인 중이면 파일을 쓰지 않고 건너뛴다")
+    void skipsChannelLockedByAnotherInstance() throws Exception {
+        // given
+        when(archiveRepository.tryLockChannelForSeal(CHANNEL_ID)).thenReturn(false);
+
+        // when
+        long sealed = archiveSealer.sealChannel(CHANNEL_ID, CUTOFF);
+
+        // then
+        assertThat(sealed).isZero();
+        assertThat(segmentFiles()).isEmpty();
+        verify(archiveRepository, never()).deleteMessages(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("등록 실패 시 목록에 없는 파일만 지우고, 이미 등록된 세그먼트 파일은 남긴다")
+    void keepsRegisteredSegmentFileOnFailure() throws Exception {
+        // given - 다른 인스턴스가 같은 구간을 먼저 등록해 유니크 인덱스 위반
+        when(archiveRepository.tryLockChannelForSeal(CHANNEL_ID)).thenReturn(true);
+        when(segmentRepository.save(any(MessageArchiveSegment.class)))
+                .thenThrow(new DataIntegrityViolationException("idx_message_archive_segments_channel_last"));
+        when(segmentRepository.existsByChannelIdAndFileName(eq(CHANNEL_ID), anyString())).thenReturn(true);
+
+        // when
+        assertThatThrownBy(() -> archiveSealer.sealChannel(CHANNEL_ID, CUTOFF))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // then - 파일은 유일한 사본일 수 있으므로 유지, 임시 파일은 남지 않음
+        assertThat(segmentFiles()).singleElement().satisfies(file -> assertThat(file.toString()).endsWith("1-10.seg"));
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 세그먼트 파일은 실패 시 지운다")
+    void deletesUnregisteredSegmentFileOnFailure() throws Exception {
+        // given
+        when(archiveRepository.tryLockChannelForSeal(CHANNEL_ID)).thenReturn(true);
+        when(segmentRepository.save(any(MessageArchiveSegment.class)))
+                .thenThrow(new DataIntegrityViolationException("DB 오류"));
+        when(segmentRepository.existsByChannelIdAndFileName(eq(CHANNEL_ID), anyString())).thenReturn(false);
+
+        // when
+        assertThatThrownBy(() -> archiveSealer.sealChannel(CHANNEL_ID, CUTOFF))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // then
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private List<MessageResponse> messages(long firstSequence, long lastSequence) {
+        ZonedDateTime base = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+        List<MessageResponse> messages = new ArrayList<>();
+        for (long sequence = firstSequence; sequence <= lastSequence; sequence++) {
+            messages.add(new MessageResponse(1000 + sequence, CHANNEL_ID, "user-1",
+                    "메시지 " + sequence, Message.MessageType.CHAT, sequence, base.plusSeconds(sequence)));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.chatapp.archive;
+
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchiveSegmentTest {
+
+    private static final String CHANNEL_ID = "archive-channel";
+    private static final int INDEX_INTERVAL = 4;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("세그먼트로 기록한 메시지를 그대로 다시 읽을 수 있다")
+    void roundTrip() throws Exception {
+        // given
+        List<MessageResponse> messages = messages(11, 30);
+        Path file = tempDir.resolve("11-30.seg");
+
+        // when
+        long size = ArchiveSegmentWriter.write(file, CHANNEL_ID, messages, INDEX_INTERVAL);
+        ArchiveSegmentReader reader = ArchiveSegmentReader.open(file);
+
+        // then
+        assertThat(size).isEqualTo(Files.size(file));
+        assertThat(reader.getChannelId()).isEqualTo(CHANNEL_ID);
+        assertThat(reader.getRecordCount()).isEqualTo(20);
+        assertThat(reader.getFirstSequence()).isEqualTo(11L);
+        assertThat(reader.getLastSequence()).isEqualTo(30L);
+
+        List<MessageResponse> all = reader.readAfter(0, 100);
+        assertThat(all).hasSize(20);
+        MessageResponse first = all.get(0);
+        assertThat(first.getId()).isEqualTo(1011L);
+        assertThat(first.getChannelId()).isEqualTo(CHANNEL_ID);
+        assertThat(first.getUserId()).isEqualTo("user-2");
+        assertThat(first.getContent()).isEqualTo("메시지 11 😀");
+        assertThat(first.getMessageType()).isEqualTo(Message.MessageType.CHAT);
+        assertThat(first.getCreatedAt().toInstant()).isEqualTo(messages.get(0).getCreatedAt().toInstant());
+    }
+
+    @Test
+    @DisplayName("readAfter는 인덱스 블록 경계를 넘어 오름차순으로 반환한다")
+    void readAfterAcrossIndexBlocks() throws Exception {
+        // given
+        ArchiveSegmentReader reader = writeAndOpen(11, 30);
+
+        // when
+        List<MessageResponse> page = reader.readAfter(13, 6);
+
+        // then
+        assertThat(sequences(page)).containsExactly(14L, 15L, 16L, 17L, 18L, 19L);
+        assertThat(reader.readAfter(28, 10)).extracting(MessageResponse::getSequenceNumber).containsExactly(29L, 30L);
+        assertThat(reader.readAfter(30, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("readBefore는 인덱스 블록 경계를 넘어 내림차순으로 반환한다")
+    void readBeforeAcrossIndexBlocks() throws Exception {
+        // given
+        ArchiveSegmentReader reader = writeAndOpen(11, 30);
+
+        // when
+        List<MessageResponse> page = reader.readBefore(25, 7);
+
+        // then
+        assertThat(sequences(page)).containsExactly(24L, 23L, 22L, 21L, 20L, 19L, 18L);
+        assertThat(sequences(reader.readBefore(14, 10))).containsExactly(13L, 12L, 11L);
+        assertThat(sequences(reader.readBefore(Long.MAX_VALUE, 2))).containsExactly(30L, 29L);
+        assertThat(reader.readBefore(11, 10)).isEmpty();
+    }
+
+    private ArchiveSegmentReader writeAndOpen(long firstSequence, long lastSequence) throws Exception {
+        Path file = tempDir.resolve(firstSequence + "-" + lastSequence + ".seg");
+        ArchiveSegmentWriter.write(file, CHANNEL_ID, messages(firstSequence, lastSequence), INDEX_INTERVAL);
+        return ArchiveSegmentReader.open(file);
+    }
+
+    private List<MessageResponse> messages(long firstSequence, long lastSequence) {
+        ZonedDateTime base = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_000, ZoneId.of("UTC"));
+        List<MessageResponse> messages = new ArrayList<>();
+        for (long sequence = firstSequence; sequence <= lastSequence; sequence++) {
+            messages.add(new MessageResponse(1000 + sequence, CHANNEL_ID, "user-" + (sequence % 3),
+                    "메시지 " + sequence + " 😀", Message.MessageType.CHAT, sequence, base.plusSeconds(sequence)));
+        }
+        return messages;
+    }
+
+    private List<Long> sequences(List<MessageResponse> messages) {
+        return messages.stream().map(MessageResponse::getSequenceNumber).toList();
+    }
+}
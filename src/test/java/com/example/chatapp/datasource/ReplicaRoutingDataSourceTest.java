@@ -0,0 +1,70 @@
+package com.example.chatapp.datasource;
+
+import com.example.chatapp.repository.LatestMessageRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private LatestMessageRepository latestMessageRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubEmptyQuery(primary);
+        stubEmptyQuery(replica);
+        when(lagMonitor.isHealthy(ReplicaRoutingDataSource.replicaKey(0))).thenReturn(true);
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                primary, Map.of(ReplicaRoutingDataSource.replicaKey(0), replica), lagMonitor);
+        latestMessageRepository = new LatestMessageRepository(new JdbcTemplate(routingDataSource));
+    }
+
+    @Test
+    @DisplayName("레플리카 조회 뒤 primary 이어 읽기는 요청에 JPA 커넥션이 묶여 있어도 primary 커넥션을 쓴다")
+    void primaryTopUpReachesPrimaryAfterReplicaRead() throws Exception {
+        // given - open-in-view처럼 요청 스레드에 EntityManager가 바인딩된 상태
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(mock(EntityManager.class)));
+        try {
+            // when - MessageService.findMessagesAfter와 같은 순서
+            DataSourceRoutingContext.onReplica(() -> latestMessageRepository.findAfter("channel-1", 0L, 50));
+            DataSourceRoutingContext.onPrimary(() -> latestMessageRepository.findAfter("channel-1", 40L, 10));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        }
+
+        // then
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(1)).getConnection();
+    }
+
+    private static void stubEmptyQuery(DataSource dataSource) throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.chatapp.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NavigableMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardRingGuardTest {
+
+    @Test
+    @DisplayName("샤드를 추가하면 새 샤드로 옮겨 가는 채널만 원래 샤드에 고정 대상이 된다")
+    void onlyChannelsMovingToNewShardArePinned() {
+        // given - 샤드 2개 -> 3개
+        NavigableMap<Long, Integer> previousRing = ShardRouter.buildRing(2, 128);
+        NavigableMap<Long, Integer> ring = ShardRouter.buildRing(3, 128);
+
+        // when
+        int moved = 0;
+        int channels = 10_000;
+        for (int i = 0; i < channels; i++) {
+            String channelId = "channel-" + i;
+            int previousShard = ShardRouter.ringShardOf(previousRing, channelId);
+            int shard = ShardRouter.ringShardOf(ring, channelId);
+
+            // then - 기존 샤드 사이에서는 옮겨 가지 않고, 옮겨 가는 채널은 원래 샤드에서만 고정 대상
+            assertThat(shard).isIn(previousShard, 2);
+            assertThat(ShardRingGuard.isMoved(channelId, previousShard, previousRing, ring)).isEqualTo(shard == 2);
+            assertThat(ShardRingGuard.isMoved(channelId, 1 - previousShard, previousRing, ring)).isFalse();
+            if (shard == 2) {
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(channels / 5, channels / 2);
+    }
+
+    @Test
+    @DisplayName("단일 DB에서 샤딩을 켜면 shard-0 밖으로 옮겨 가는 채널이 고정 대상이다")
+    void enablingShardingPinsChannelsLeavingShardZero() {
+        // given
+        NavigableMap<Long, Integer> previousRing = ShardRouter.buildRing(1, 128);
+        NavigableMap<Long, Integer> ring = ShardRouter.buildRing(3, 128);
+
+        // when & then
+        for (int i = 0; i < 1_000; i++) {
+            String channelId = "channel-" + i;
+            assertThat(ShardRingGuard.isMoved(channelId, 0, previousRing, ring))
+                    .isEqualTo(ShardRouter.ringShardOf(ring, channelId) != 0);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.chatapp.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyKeyTest {
+
+    @Test
+    @DisplayName("해시는 \"userId:channelId:clientMessageId\"의 SHA-256과 같다")
+    void matchesSha256OfJoinedKey() throws Exception {
+        // when
+        byte[] hash = IdempotencyKey.generateHash("user-1", "channel-1", "msg-1");
+
+        // then
+        assertThat(hash).isEqualTo(sha256("user-1:channel-1:msg-1"));
+    }
+
+    @Test
+    @DisplayName("중간에 실패한 호출의 입력이 같은 스레드의 다음 해시에 섞이지 않는다")
+    void failedCallDoesNotLeakIntoNextHash() throws Exception {
+        // given - userId와 구분자를 넣은 뒤 channelId가 null이라 실패
+        assertThatThrownBy(() -> IdempotencyKey.generateHash("user-1", null, "msg-1"))
+                .isInstanceOf(NullPointerException.class);
+
+        // when
+        byte[] hash = IdempotencyKey.generateHash("user-1", "channel-1", "msg-1");
+
+        // then
+        assertThat(hash).isEqualTo(sha256("user-1:channel-1:msg-1"));
+    }
+
+    private static byte[] sha256(String value) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.chatapp.hotchannel;
+
+import com.example.chatapp.config.HotChannelProperties;
+import com.example.chatapp.hotchannel.HotChannelTracker.Kind;
+import com.example.chatapp.service.RedisCircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HotChannelTrackerTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private HotChannelTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        HotChannelProperties properties = new HotChannelProperties();
+        properties.setTopK(3);
+        properties.setMinCount(50);
+        properties.setBuckets(3);
+        properties.setSketchWidth(1024);
+
+        // Redis 서킷 OPEN -> 노드 로컬 결과로 판단
+        RedisCircuitBreaker circuitBreaker = mock(RedisCircuitBreaker.class);
+        when(circuitBreaker.allowRequest()).thenReturn(false);
+        tracker = new HotChannelTracker(redisTemplate, circuitBreaker, properties, Clock.systemUTC());
+    }
+
+    @Test
+    @DisplayName("쓰기가 몰리는 채널이 상위에 오고 minCount 이상만 핫 채널로 본다")
+    void detectsHotChannels() {
+        // given - hot-1: 500회, hot-2: 200회, 나머지 1000개 채널은 각 3회
+        for (int i = 0; i < 500; i++) {
+            tracker.recordWrite("hot-1");
+            if (i < 200) {
+                tracker.recordWrite("hot-2");
+            }
+        }
+        for (int i = 0; i < 3000; i++) {
+            tracker.recordWrite("cold-" + (i % 1000));
+        }
+
+        // when
+        tracker.merge();
+
+        // then
+        List<HotChannel> top = tracker.getClusterTop(Kind.WRITE);
+        assertThat(top).hasSize(3);
+        assertThat(top.get(0).channelId()).isEqualTo("hot-1");
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(500);
+        assertThat(top.get(1).channelId()).isEqualTo("hot-2");
+
+        assertThat(tracker.isHot("hot-1")).isTrue();
+        assertThat(tracker.isHot("hot-2")).isTrue();
+        assertThat(tracker.isHot("cold-1")).isFalse();
+        assertThat(tracker.admitHistory("cold-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("윈도우를 벗어난 집계는 사라진다")
+    void expiresAfterWindow() {
+        // given
+        for (int i = 0; i < 100; i++) {
+            tracker.recordRead("hot-1");
+        }
+        tracker.rotate();
+        tracker.rotate();
+        assertThat(tracker.getLocalTop(Kind.READ)).extracting(HotChannel::count).containsExactly(100L);
+
+        // when - 버킷 3개를 모두 지나감
+        tracker.rotate();
+        tracker.merge();
+
+        // then
+        assertThat(tracker.getLocalTop(Kind.READ)).isEmpty();
+        assertThat(tracker.isHot("hot-1")).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.chatapp.jfr;
+
+import com.example.chatapp.config.JfrProperties;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JfrRecordingService service;
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        JfrProperties properties = new JfrProperties();
+        properties.setDirectory(tempDir.toString());
+        service = new JfrRecordingService(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recording != null) {
+            service.stop(recording.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("녹화 중 발생한 채팅 이벤트가 필드와 함께 덤프 파일에 기록된다")
+    void dumpContainsChatEvents() throws Exception {
+        // given
+        recording = service.start("test", "default", null);
+
+        // when
+        MessageSavedEvent saved = new MessageSavedEvent();
+        saved.begin();
+        saved.complete("jfr-channel", 42L, 7L);
+
+        HybridFallbackEvent fallback = new HybridFallbackEvent();
+        fallback.begin();
+        fallback.complete("jfr-channel", "before", 20, 5, 15, 0, 20);
+
+        Path file = service.dump(recording.getId()).orElseThrow();
+
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.example.chatapp."))
+                .toList();
+        assertThat(events).extracting(event -> event.getEventType().getName())
+                .containsExactly("com.example.chatapp.MessageSaved", "com.example.chatapp.HybridFallback");
+
+        RecordedEvent savedEvent = events.get(0);
+        assertThat(savedEvent.getString("channelId")).isEqualTo("jfr-channel");
+        assertThat(savedEvent.getLong("messageId")).isEqualTo(42L);
+        assertThat(savedEvent.getLong("sequenceNumber")).isEqualTo(7L);
+
+        RecordedEvent fallbackEvent = events.get(1);
+        assertThat(fallbackEvent.getString("mode")).isEqualTo("before");
+        assertThat(fallbackEvent.getInt("cachedRows")).isEqualTo(5);
+        assertThat(fallbackEvent.getInt("dbRows")).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("임계치(1ms) 미만의 캐시 조회는 기록하지 않는다")
+    void fastCacheLookupIsNotRecorded() throws Exception {
+        // given
+        recording = service.start("test", "default", null);
+
+        // when
+        CacheLookupEvent fast = new CacheLookupEvent();
+        fast.begin();
+        fast.complete("jfr-channel", "latest", 0, 20, 20);
+
+        CacheLookupEvent slow = new CacheLookupEvent();
+        slow.begin();
+        Thread.sleep(5);
+        slow.complete("jfr-channel", "after", 10, 20, 3);
+
+        Path file = service.dump(recording.getId()).orElseThrow();
+
+        // then
+        List<RecordedEvent> lookups = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.chatapp.CacheLookup"))
+                .toList();
+        assertThat(lookups).hasSize(1);
+        assertThat(lookups.get(0).getString("operation")).isEqualTo("after");
+        assertThat(lookups.get(0).getInt("rows")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("없는 녹화는 덤프/종료하지 않는다")
+    void unknownRecording() throws Exception {
+        assertThat(service.dump(Long.MAX_VALUE)).isEmpty();
+        assertThat(service.stop(Long.MAX_VALUE)).isFalse();
+    }
+}
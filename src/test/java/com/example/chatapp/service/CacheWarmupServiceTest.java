@@ -0,0 +1,132 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.CacheWarmupProperties;
+import com.example.chatapp.config.RedisResilienceProperties;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import com.example.chatapp.repository.LatestMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmupServiceTest {
+
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final LatestMessageRepository latestMessageRepository = mock(LatestMessageRepository.class);
+    private final MessageCacheService messageCacheService = mock(MessageCacheService.class);
+    private final ChannelHeadService channelHeadService = mock(ChannelHeadService.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final CacheWarmupProperties properties = new CacheWarmupProperties();
+    private CacheWarmupService cacheWarmupService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        properties.setMaxChannelsPerSecond(100_000);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any())).thenReturn(true);
+        when(shardRouter.getShardCount()).thenReturn(1);
+        when(shardRouter.shardOf(anyString())).thenReturn(0);
+
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(
+                new RedisResilienceProperties.CircuitBreaker(), () -> true, Clock.systemUTC());
+        cacheWarmupService = new CacheWarmupService(latestMessageRepository, messageCacheService, channelHeadService,
+                redisTemplate, circuitBreaker, shardRouter, properties);
+    }
+
+    @Test
+    @DisplayName("기동 시 활동량 순으로 채널의 최신 페이지를 배치 단위로 캐시에 채우고 마커를 남긴다")
+    void warmsUpMostActiveChannels() {
+        // given
+        when(redisTemplate.hasKey("cache_warmup:marker:v2")).thenReturn(false);
+        Map<String, Long> activity = new LinkedHashMap<>();
+        activity.put("channel-a", 300L);
+        activity.put("channel-b", 200L);
+        activity.put("channel-c", 100L);
+        when(latestMessageRepository.findMostActiveChannels(any(), anyInt())).thenReturn(activity);
+        when(latestMessageRepository.findLatestPages(List.of("channel-a", "channel-b"), 20))
+                .thenReturn(List.of(message("channel-a", 7), message("channel-a", 6), message("channel-b", 3)));
+        when(latestMessageRepository.findLatestPages(List.of("channel-c"), 20))
+                .thenReturn(List.of(message("channel-c", 1)));
+
+        // when
+        cacheWarmupService.run(null);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MessageResponse>> cached = ArgumentCaptor.forClass(List.class);
+        verify(messageCacheService).cacheMessages(eq("channel-a"), cached.capture());
+        assertThat(cached.getValue()).extracting(MessageResponse::getSequenceNumber).containsExactly(7L, 6L);
+        verify(channelHeadService).advance("channel-a", 7L);
+        verify(channelHeadService).advance("channel-b", 3L);
+        verify(channelHeadService).advance("channel-c", 1L);
+        verify(valueOperations).set(eq("cache_warmup:marker:v2"), anyString());
+
+        assertThat(cacheWarmupService.getState()).isEqualTo(CacheWarmupService.State.READY);
+        assertThat(cacheWarmupService.getLastResult().channels()).isEqualTo(3);
+        assertThat(cacheWarmupService.getLastResult().messages()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("마커가 남아 있으면(이미 채워진 캐시) DB를 읽지 않는다")
+    void skipsWhenCacheIsWarm() {
+        // given
+        when(redisTemplate.hasKey("cache_warmup:marker:v2")).thenReturn(true);
+
+        // when
+        cacheWarmupService.run(null);
+
+        // then
+        verify(latestMessageRepository, never()).findMostActiveChannels(any(), anyInt());
+        verify(latestMessageRepository, never()).findLatestPages(anyList(), anyInt());
+        assertThat(cacheWarmupService.getState()).isEqualTo(CacheWarmupService.State.READY);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 락을 잡고 있으면 워밍업하지 않는다")
+    void skipsWhenAnotherNodeHoldsLock() {
+        // given
+        when(redisTemplate.hasKey("cache_warmup:marker:v2")).thenReturn(false);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any())).thenReturn(false);
+
+        // when
+        cacheWarmupService.run(null);
+
+        // then
+        verify(latestMessageRepository, times(0)).findMostActiveChannels(any(), anyInt());
+    }
+
+    private MessageResponse message(String channelId, long sequence) {
+        return new MessageResponse(100 + sequence, channelId, "user-1", "메시지 " + sequence,
+                Message.MessageType.CHAT, sequence, BASE.plusSeconds(sequence));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.service.ChannelFeedIndex.FeedSubscriber;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChannelFeedIndexTest {
+
+    private final ChannelFeedIndex index = new ChannelFeedIndex();
+
+    @Test
+    @DisplayName("첫 세션에서만 가입 채널을 읽고, 마지막 세션이 끊기면 색인에서 빠진다")
+    void indexesUserWhileAnySessionIsOnline() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        index.addSession("user1", "session-1", "sub-1", userId -> {
+            loads.incrementAndGet();
+            return List.of("channel1", "channel2");
+        });
+        index.addSession("user1", "session-2", "sub-2", userId -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(index.getSubscribers("channel1")).containsExactlyInAnyOrder(
+                new FeedSubscriber("session-1", "sub-1"), new FeedSubscriber("session-2", "sub-2"));
+        assertThat(index.getSubscribers("channel2")).hasSize(2);
+
+        index.removeSession("user1", "session-1");
+        assertThat(index.getSubscribers("channel1")).containsExactly(new FeedSubscriber("session-2", "sub-2"));
+        assertThat(index.isOnline("user1")).isTrue();
+
+        index.removeSession("user1", "session-2");
+        assertThat(index.getSubscribers("channel1")).isEmpty();
+        assertThat(index.isOnline("user1")).isFalse();
+        assertThat(index.getIndexedChannelCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("온라인 사용자의 채널 가입/탈퇴는 바로 반영되고, 오프라인 사용자는 색인하지 않는다")
+    void appliesMembershipChangesForOnlineUsers() {
+        // given
+        index.addSession("user1", "session-1", "sub-1", userId -> List.of("channel1"));
+        index.addSession("user2", "session-2", "sub-2", userId -> List.of("channel1"));
+
+        // when
+        index.addChannel("user1", "channel2");
+        index.removeChannel("user2", "channel1");
+        index.addChannel("offline-user", "channel1");
+
+        // then
+        assertThat(index.getSubscribers("channel1")).containsExactly(new FeedSubscriber("session-1", "sub-1"));
+        assertThat(index.getSubscribers("channel2")).containsExactly(new FeedSubscriber("session-1", "sub-1"));
+        assertThat(index.getOnlineUserCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 세션이 피드를 다시 구독하면 새 구독 ID로 바뀐다")
+    void resubscribeReplacesSubscriptionId() {
+        // given
+        index.addSession("user1", "session-1", "sub-1", userId -> List.of("channel1"));
+
+        // when
+        index.addSession("user1", "session-1", "sub-9", userId -> List.of());
+
+        // then
+        assertThat(index.getSubscribers("channel1")).containsExactly(new FeedSubscriber("session-1", "sub-9"));
+    }
+}
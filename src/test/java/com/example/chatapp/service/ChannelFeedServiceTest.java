@@ -0,0 +1,118 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.repository.ChannelOffsetRepository;
+import com.example.chatapp.service.ChannelFeedIndex.FeedSubscriber;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChannelFeedServiceTest {
+
+    private ChannelOffsetRepository channelOffsetRepository;
+    private MessageChannel clientOutboundChannel;
+    private ChannelFeedService channelFeedService;
+
+    @BeforeEach
+    void setUp() {
+        channelOffsetRepository = mock(ChannelOffsetRepository.class);
+        clientOutboundChannel = mock(MessageChannel.class);
+        when(clientOutboundChannel.send(any())).thenReturn(true);
+        channelFeedService = new ChannelFeedService(channelOffsetRepository, clientOutboundChannel,
+                new ObjectMapper(), mock(TransactionTemplate.class));
+    }
+
+    @Test
+    @DisplayName("피드 구독 세션마다 구독 ID를 담은 MESSAGE 프레임을 clientOutboundChannel로 바로 보낸다")
+    void deliversMessageFramesToFeedSubscriptions() {
+        // given
+        when(channelOffsetRepository.findChannelIdsByUserId("user1")).thenReturn(List.of("channel1"));
+        when(channelOffsetRepository.findChannelIdsByUserId("user2")).thenReturn(List.of("channel2"));
+        channelFeedService.onSubscribe(subscribe("user1", "session-1", "sub-1", "/user/queue/feed"));
+        channelFeedService.onSubscribe(subscribe("user1", "session-2", "sub-7", "/user/queue/feed"));
+        channelFeedService.onSubscribe(subscribe("user2", "session-3", "sub-1", "/user/queue/feed"));
+        channelFeedService.onSubscribe(subscribe("user2", "session-3", "sub-2", "/topic/channel/channel1"));
+
+        MessageResponse message = new MessageResponse();
+        message.setId(1L);
+        message.setChannelId("channel1");
+        message.setContent("hello");
+
+        // when
+        channelFeedService.deliver(message);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<byte[]>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(clientOutboundChannel, times(2)).send(captor.capture());
+
+        List<Message<byte[]>> sent = captor.getAllValues();
+        assertThat(sent).extracting(frame -> SimpMessageHeaderAccessor.getSessionId(frame.getHeaders()) + "/"
+                        + SimpMessageHeaderAccessor.getSubscriptionId(frame.getHeaders()))
+                .containsExactlyInAnyOrder("session-1/sub-1", "session-2/sub-7");
+        assertThat(sent).allSatisfy(frame -> {
+            assertThat(SimpMessageHeaderAccessor.getMessageType(frame.getHeaders())).isEqualTo(SimpMessageType.MESSAGE);
+            assertThat(SimpMessageHeaderAccessor.getDestination(frame.getHeaders())).isEqualTo("/user/queue/feed");
+            assertThat(new String(frame.getPayload())).contains("\"content\":\"hello\"");
+        });
+        // 페이로드는 한 번만 직렬화
+        assertThat(sent.get(0).getPayload()).isSameAs(sent.get(1).getPayload());
+    }
+
+    @Test
+    @DisplayName("피드 MESSAGE 프레임은 STOMP 인코딩 후 구독 ID, 목적지, message-id를 담는다")
+    void feedMessageEncodesAsStompMessageFrame() throws Exception {
+        // given
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("session-1");
+        when(session.isOpen()).thenReturn(true);
+        Message<byte[]> frame = ChannelFeedService.feedMessage(
+                new FeedSubscriber("session-1", "sub-1"), "{\"content\":\"hello\"}".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        new StompSubProtocolHandler().handleMessageToClient(session, frame);
+
+        // then
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(captor.capture());
+        assertThat(captor.getValue().getPayload()).startsWith("MESSAGE\n")
+                .contains("\nsubscription:sub-1\n")
+                .contains("\ndestination:/user/queue/feed\n")
+                .contains("\nmessage-id:")
+                .contains("\ncontent-type:application/json\n")
+                .endsWith("\n\n{\"content\":\"hello\"}\u0000");
+    }
+
+    private SessionSubscribeEvent subscribe(String userId, String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionSubscribeEvent(this, message, () -> userId);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.ChannelHeadProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChannelHeadServiceTest {
+
+    private static final String CHANNEL_ID = "channel1";
+    private static final String HEAD_KEY = RedisClusterSupport.channelKey("channel_head:", CHANNEL_ID);
+
+    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private RedisCircuitBreaker circuitBreaker;
+    private ChannelHeadService channelHeadService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(HEAD_KEY)).thenReturn("5");
+
+        // 실제 브레이커처럼 닫혀 있을 때만 실행하고 예외는 fallback으로 바꿈
+        circuitBreaker = mock(RedisCircuitBreaker.class);
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        when(circuitBreaker.execute(anyString(), any(Supplier.class), any())).thenAnswer(invocation -> {
+            if (!circuitBreaker.allowRequest()) {
+                return invocation.getArgument(2);
+            }
+            try {
+                return invocation.<Supplier<?>>getArgument(1).get();
+            } catch (RuntimeException e) {
+                return invocation.getArgument(2);
+            }
+        });
+        doAnswer(invocation -> {
+            try {
+                invocation.<Runnable>getArgument(1).run();
+            } catch (RuntimeException ignored) {
+            }
+            return null;
+        }).when(circuitBreaker).execute(anyString(), any(Runnable.class));
+
+        channelHeadService = new ChannelHeadService(redisTemplate, circuitBreaker, new ChannelHeadProperties());
+    }
+
+    @Test
+    @DisplayName("브레이커가 열려 갱신을 건너뛴 채널은 헤드 키를 지울 때까지 ETag 없이 응답한다")
+    void skippedAdvanceHidesHeadUntilKeyDeleted() {
+        // given
+        when(circuitBreaker.allowRequest()).thenReturn(false);
+
+        // when
+        channelHeadService.advance(CHANNEL_ID, 6L);
+        channelHeadService.invalidateStaleHeads();
+
+        // then - Redis가 돌아와도 삭제 전까지는 남은 헤드(5)를 쓰지 않음
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        assertThat(channelHeadService.buildETag(CHANNEL_ID, null, null)).isNull();
+        verify(redisTemplate, never()).delete(HEAD_KEY);
+
+        channelHeadService.invalidateStaleHeads();
+        verify(redisTemplate).delete(HEAD_KEY);
+        assertThat(channelHeadService.getHead(CHANNEL_ID)).isEqualTo(5L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("갱신이 실패한 채널은 헤드를 모르는 것으로 보고, 삭제가 실패하면 다음 주기에 다시 지운다")
+    void failedAdvanceHidesHeadAndRetriesDelete() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(redisTemplate.delete(HEAD_KEY))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(true);
+
+        // when
+        channelHeadService.advance(CHANNEL_ID, 6L);
+        channelHeadService.invalidateStaleHeads();
+
+        // then
+        assertThat(channelHeadService.getHead(CHANNEL_ID)).isNull();
+
+        channelHeadService.invalidateStaleHeads();
+        assertThat(channelHeadService.getHead(CHANNEL_ID)).isEqualTo(5L);
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.datasource.ShardDataSources;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.MessageRequest;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.ChannelShardAssignment;
+import com.example.chatapp.entity.Message;
+import com.example.chatapp.exception.ChannelMigrationInProgressException;
+import com.example.chatapp.repository.ChannelShardAssignmentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 2개 샤드 통합 테스트. 로컬 PostgreSQL(5433)에 chatdb_shard0_test, chatdb_shard1_test 데이터베이스가 필요하다.
+ * 스키마는 샤드별 Flyway 마이그레이션으로 생성되며, 채널 ID를 매번 새로 만들어 이전 실행 데이터와 겹치지 않는다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:postgresql://localhost:5433/chatdb_shard0_test",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true",
+        "chat.datasource.shards.enabled=true",
+        "chat.datasource.shards.mapping-refresh-interval-ms=100",
+        "chat.datasource.shards.migration-batch-size=3",
+        "chat.datasource.shards.nodes[0].url=jdbc:postgresql://localhost:5433/chatdb_shard1_test"
+})
+@ActiveProfiles("test")
+class ChannelMigrationServiceTest {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private ChannelMigrationService channelMigrationService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ChannelShardAssignmentRepository assignmentRepository;
+
+    @MockBean
+    private MessageCacheService messageCacheService;
+
+    @MockBean
+    private ChannelHeadService channelHeadService;
+
+    @MockBean
+    private InboxService inboxService;
+
+    @Test
+    @DisplayName("메시지는 채널을 소유한 샤드에만 저장되고 조회됨")
+    void saveMessage_routesToOwningShard() {
+        // given
+        String channel0 = channelOnShard(0);
+        String channel1 = channelOnShard(1);
+
+        // when
+        messageService.saveMessage(createMessageRequest("user1", channel0, "msg-1"));
+        messageService.saveMessage(createMessageRequest("user1", channel1, "msg-1"));
+        messageService.saveMessage(createMessageRequest("user1", channel1, "msg-2"));
+
+        // then
+        assertThat(countMessages(0, channel0)).isEqualTo(1L);
+        assertThat(countMessages(1, channel0)).isZero();
+        assertThat(countMessages(0, channel1)).isZero();
+        assertThat(countMessages(1, channel1)).isEqualTo(2L);
+
+        assertThat(messageService.getMessages(channel1, 20, null, null))
+                .extracting(MessageResponse::getSequenceNumber)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("채널 이전 후 메시지/멱등성/시퀀스가 대상 샤드에서 이어짐")
+    void migrate_movesChannelToTargetShard() {
+        // given
+        String channelId = channelOnShard(0);
+        MessageResponse first = messageService.saveMessage(createMessageRequest("user1", channelId, "msg-1"));
+        for (int i = 2; i <= 5; i++) {
+            messageService.saveMessage(createMessageRequest("user1", channelId, "msg-" + i));
+        }
+
+        // when
+        long migrated = channelMigrationService.migrate(channelId, 1);
+
+        // then
+        assertThat(migrated).isEqualTo(5L);
+        assertThat(shardRouter.shardOf(channelId)).isEqualTo(1);
+        assertThat(countMessages(0, channelId)).isZero();
+        assertThat(countMessages(1, channelId)).isEqualTo(5L);
+
+        MessageResponse duplicate = messageService.saveMessage(createMessageRequest("user1", channelId, "msg-1"));
+        assertThat(duplicate.getId()).isEqualTo(first.getId());
+        assertThat(duplicate.getCreatedAt().toInstant()).isEqualTo(first.getCreatedAt().toInstant());
+
+        MessageResponse next = messageService.saveMessage(createMessageRequest("user1", channelId, "msg-6"));
+        assertThat(next.getSequenceNumber()).isEqualTo(6L);
+        assertThat(countMessages(1, channelId)).isEqualTo(6L);
+
+        List<MessageResponse> messages = messageService.getMessages(channelId, 20, null, null);
+        assertThat(messages).extracting(MessageResponse::getSequenceNumber).containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    @DisplayName("채널 이전 시 시퀀스 하한도 대상 샤드로 옮겨지고 원본에서는 삭제됨")
+    void migrate_movesSequenceFloor() {
+        // given - 보존 기간 정리로 시퀀스 1~100이 사라지고 하한만 남은 채널 + 남은 메시지
+        String channelId = channelOnShard(0);
+        new JdbcTemplate(shardDataSources.get(0)).update(
+                "INSERT INTO channel_sequence_floors (channel_id, last_sequence) VALUES (?, 100)", channelId);
+        messageService.saveMessage(createMessageRequest("user1", channelId, "msg-1"));
+
+        // when
+        channelMigrationService.migrate(channelId, 1);
+
+        // then
+        assertThat(findSequenceFloor(1, channelId)).containsExactly(100L);
+        assertThat(findSequenceFloor(0, channelId)).isEmpty();
+        assertThat(countMessages(1, channelId)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("메시지가 모두 정리되어 하한만 남은 채널도 하한이 옮겨짐")
+    void migrate_movesSequenceFloorWithoutMessages() {
+        // given
+        String channelId = channelOnShard(0);
+        new JdbcTemplate(shardDataSources.get(0)).update(
+                "INSERT INTO channel_sequence_floors (channel_id, last_sequence) VALUES (?, 42)", channelId);
+
+        // when
+        long migrated = channelMigrationService.migrate(channelId, 1);
+
+        // then
+        assertThat(migrated).isZero();
+        assertThat(findSequenceFloor(1, channelId)).containsExactly(42L);
+        assertThat(findSequenceFloor(0, channelId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이전 중(FROZEN)인 채널의 쓰기는 거부되고 읽기는 허용됨")
+    void saveMessage_frozenChannel() {
+        // given
+        String channelId = channelOnShard(1);
+        messageService.saveMessage(createMessageRequest("user1", channelId, "msg-1"));
+
+        assignmentRepository.save(new ChannelShardAssignment(channelId, 1, ChannelShardAssignment.Status.FROZEN));
+        shardRouter.refreshAssignments();
+
+        // when & then
+        assertThatThrownBy(() -> messageService.saveMessage(createMessageRequest("user1", channelId, "msg-2")))
+                .isInstanceOf(ChannelMigrationInProgressException.class);
+        assertThat(messageService.getMessages(channelId, 20, null, null)).hasSize(1);
+
+        assignmentRepository.deleteById(channelId);
+        shardRouter.refreshAssignments();
+    }
+
+    private String channelOnShard(int shardId) {
+        while (true) {
+            String channelId = "channel-" + UUID.randomUUID();
+            if (shardRouter.shardOf(channelId) == shardId) {
+                return channelId;
+            }
+        }
+    }
+
+    private long countMessages(int shardId, String channelId) {
+        return new JdbcTemplate(shardDataSources.get(shardId))
+                .queryForObject("SELECT COUNT(*) FROM messages WHERE channel_id = ?", Long.class, channelId);
+    }
+
+    private List<Long> findSequenceFloor(int shardId, String channelId) {
+        return new JdbcTemplate(shardDataSources.get(shardId)).queryForList(
+                "SELECT last_sequence FROM channel_sequence_floors WHERE channel_id = ?", Long.class, channelId);
+    }
+
+    private MessageRequest createMessageRequest(String userId, String channelId, String clientMessageId) {
+        MessageRequest request = new MessageRequest();
+        request.setUserId(userId);
+        request.setChannelId(channelId);
+        request.setClientMessageId(clientMessageId);
+        request.setContent("테스트 메시지");
+        request.setMessageType(Message.MessageType.CHAT);
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.ContentCompressionProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentCompressorTest {
+
+    private final ContentCompressionProperties properties = new ContentCompressionProperties();
+    private final ContentCompressor compressor = new ContentCompressor(properties);
+
+    @Test
+    @DisplayName("임계치 이상인 본문은 압축되고 원문으로 복원된다")
+    void compressesLargeContent() {
+        // given
+        String content = "{\"event\":\"build\",\"status\":\"성공\",\"log\":\"컴파일 완료\"}\n".repeat(100);
+
+        // when
+        ContentCompressor.Compressed compressed = compressor.compress(content);
+
+        // then
+        assertThat(compressed).isNotNull();
+        assertThat(compressed.encoding()).isEqualTo(ContentCompressor.LZ4);
+        assertThat(compressed.content().length()).isLessThan(content.length());
+        assertThat(compressor.decompress(compressed.encoding(), compressed.content(), compressed.originalLength()))
+                .isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("임계치 미만이거나 압축 이득이 없는 본문은 압축하지 않는다")
+    void skipsSmallOrIncompressibleContent() {
+        // given
+        byte[] random = new byte[4096];
+        new Random(42).nextBytes(random);
+        String incompressible = Base64.getEncoder().encodeToString(random);
+
+        // when & then
+        assertThat(compressor.compress("안녕하세요")).isNull();
+        assertThat(compressor.compress(incompressible)).isNull();
+    }
+
+    @Test
+    @DisplayName("비활성화하면 큰 본문도 압축하지 않는다")
+    void disabled() {
+        // given
+        properties.setEnabled(false);
+
+        // when & then
+        assertThat(compressor.compress("a".repeat(10_000))).isNull();
+    }
+}
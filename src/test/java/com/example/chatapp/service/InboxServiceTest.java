@@ -0,0 +1,132 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.InboxProperties;
+import com.example.chatapp.config.RedisResilienceProperties;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.InboxChannel;
+import com.example.chatapp.dto.InboxResponse;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import com.example.chatapp.repository.ChannelOffsetRepository;
+import com.example.chatapp.repository.LatestMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InboxServiceTest {
+
+    private static final String USER_ID = "inbox-user";
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final MessageCacheService messageCacheService = mock(MessageCacheService.class);
+    private final ChannelOffsetRepository channelOffsetRepository = mock(ChannelOffsetRepository.class);
+    private final LatestMessageRepository latestMessageRepository = mock(LatestMessageRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final InboxProperties properties = new InboxProperties();
+    private InboxService inboxService;
+
+    @BeforeEach
+    void setUp() {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(
+                new RedisResilienceProperties.CircuitBreaker(), () -> true, Clock.systemUTC());
+        inboxService = new InboxService(redisTemplate, circuitBreaker,
+                new RedisClusterSupport(redisTemplate, circuitBreaker, false), messageCacheService,
+                channelOffsetRepository, latestMessageRepository, shardRouter, properties);
+    }
+
+    @Test
+    @DisplayName("Redis에 없는 채널만 DB에서 보충하고 마지막 메시지가 최신인 채널부터 반환한다")
+    @SuppressWarnings("unchecked")
+    void fillsMissingChannelsFromDatabase() throws Exception {
+        // given - channel-a는 Redis, channel-b는 DB, channel-c는 메시지 없음
+        when(channelOffsetRepository.findChannelIdsByUserId(USER_ID))
+                .thenReturn(List.of("channel-a", "channel-b", "channel-c"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(Arrays.asList("cached-a", null, null));
+
+        MessageResponse cachedA = message("channel-a", 10, BASE.plusMinutes(1));
+        MessageResponse loadedB = message("channel-b", 3, BASE.plusMinutes(5));
+        when(messageCacheService.deserializeMessage("cached-a")).thenReturn(cachedA);
+        when(messageCacheService.serialize(loadedB)).thenReturn("loaded-b");
+        when(latestMessageRepository.findLatestByChannelIds(List.of("channel-b", "channel-c")))
+                .thenReturn(List.of(loadedB));
+
+        // when
+        InboxResponse inbox = inboxService.getInbox(USER_ID);
+
+        // then
+        assertThat(inbox.getChannels()).extracting(InboxChannel::getChannelId)
+                .containsExactly("channel-b", "channel-a", "channel-c");
+        assertThat(inbox.getChannels()).extracting(InboxChannel::getHeadSequence)
+                .containsExactly(3L, 10L, null);
+        assertThat(inbox.getChannels().get(0).getLastMessage()).isSameAs(loadedB);
+
+        // DB에서 읽은 채널은 Redis에 다시 채움
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of("channel_last:{channel-b}")),
+                eq("3"), eq("loaded-b"), anyString());
+    }
+
+    @Test
+    @DisplayName("모든 채널이 Redis에 있으면 DB를 조회하지 않는다")
+    void servesFromRedisOnly() {
+        // given
+        when(channelOffsetRepository.findChannelIdsByUserId(USER_ID)).thenReturn(List.of("channel-a"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of("cached-a"));
+        when(messageCacheService.deserializeMessage("cached-a")).thenReturn(message("channel-a", 10, BASE));
+
+        // when
+        InboxResponse inbox = inboxService.getInbox(USER_ID);
+
+        // then
+        assertThat(inbox.getChannels()).hasSize(1);
+        verify(latestMessageRepository, times(0)).findLatestByChannelIds(anyList());
+    }
+
+    @Test
+    @DisplayName("채널 수 제한을 넘으면 마지막 메시지가 최신인 채널부터 남긴다")
+    void keepsMostRecentChannelsWhenOverLimit() throws Exception {
+        // given - 가입 순서와 무관하게 channel-c, channel-a가 최신, channel-b는 Redis에 없음
+        properties.setMaxChannels(2);
+        when(channelOffsetRepository.findChannelIdsByUserId(USER_ID))
+                .thenReturn(List.of("channel-a", "channel-b", "channel-c", "channel-d"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(Arrays.asList("cached-a", null, "cached-c", "cached-d"));
+        when(messageCacheService.deserializeMessage("cached-a")).thenReturn(message("channel-a", 5, BASE.plusMinutes(2)));
+        when(messageCacheService.deserializeMessage("cached-c")).thenReturn(message("channel-c", 7, BASE.plusMinutes(3)));
+        when(messageCacheService.deserializeMessage("cached-d")).thenReturn(message("channel-d", 9, BASE));
+
+        // when
+        InboxResponse inbox = inboxService.getInbox(USER_ID);
+
+        // then
+        assertThat(inbox.getChannels()).extracting(InboxChannel::getChannelId)
+                .containsExactly("channel-c", "channel-a");
+        verify(latestMessageRepository, times(0)).findLatestByChannelIds(anyList());
+    }
+
+    private MessageResponse message(String channelId, long sequence, ZonedDateTime createdAt) {
+        return new MessageResponse(100 + sequence, channelId, "user-1", "메시지 " + sequence,
+                Message.MessageType.CHAT, sequence, createdAt);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.LongPollProperties;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import com.example.chatapp.exception.LongPollCapacityExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LongPollServiceTest {
+
+    private static final String CHANNEL_ID = "channel1";
+
+    private final MessageService messageService = mock(MessageService.class);
+    private final ChannelHeadService channelHeadService = mock(ChannelHeadService.class);
+    private final LongPollProperties properties = new LongPollProperties();
+    private LongPollService longPollService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxWaiters(2);
+        longPollService = new LongPollService(messageService, channelHeadService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        longPollService.shutdown();
+    }
+
+    @Test
+    @DisplayName("새 메시지가 없으면 대기하다가 새 메시지 이벤트에 응답한다")
+    void wakesOnMessageCreated() throws Exception {
+        // given
+        when(channelHeadService.getHead(CHANNEL_ID)).thenReturn(5L);
+        List<MessageResponse> messages = List.of(message(6L));
+        when(messageService.getMessages(CHANNEL_ID, null, 5L, null)).thenReturn(messages);
+
+        DeferredResult<List<MessageResponse>> first = longPollService.await(CHANNEL_ID, 5L, Duration.ofSeconds(30));
+        DeferredResult<List<MessageResponse>> second = longPollService.await(CHANNEL_ID, 5L, Duration.ofSeconds(30));
+        assertThat(first.hasResult()).isFalse();
+
+        // when
+        longPollService.onMessageCreated(CHANNEL_ID, 6L);
+
+        // then
+        assertThat(awaitResult(first)).isEqualTo(messages);
+        assertThat(awaitResult(second)).isEqualTo(messages);
+        // 같은 커서로 대기한 요청은 한 번만 조회
+        verify(messageService, times(1)).getMessages(CHANNEL_ID, null, 5L, null);
+    }
+
+    @Test
+    @DisplayName("이미 afterSequence 이후 메시지가 있으면 대기하지 않고 응답한다")
+    void completesImmediatelyWhenHeadIsAhead() throws Exception {
+        // given
+        when(channelHeadService.getHead(CHANNEL_ID)).thenReturn(10L);
+        List<MessageResponse> messages = List.of(message(4L), message(5L));
+        when(messageService.getMessages(CHANNEL_ID, null, 3L, null)).thenReturn(messages);
+
+        // when
+        DeferredResult<List<MessageResponse>> result = longPollService.await(CHANNEL_ID, 3L, null);
+
+        // then
+        assertThat(awaitResult(result)).isEqualTo(messages);
+    }
+
+    @Test
+    @DisplayName("대기 커서 이하의 시퀀스 이벤트로는 깨우지 않는다")
+    void ignoresOlderSequence() {
+        // given
+        when(channelHeadService.getHead(CHANNEL_ID)).thenReturn(5L);
+        DeferredResult<List<MessageResponse>> result = longPollService.await(CHANNEL_ID, 5L, null);
+
+        // when
+        longPollService.onMessageCreated(CHANNEL_ID, 5L);
+        longPollService.onMessageCreated("other-channel", 100L);
+
+        // then
+        assertThat(result.hasResult()).isFalse();
+        verify(messageService, never()).getMessages(anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("대기 수 한도를 넘으면 거부한다")
+    void rejectsOverCapacity() {
+        // given
+        when(channelHeadService.getHead(CHANNEL_ID)).thenReturn(5L);
+        longPollService.await(CHANNEL_ID, 5L, null);
+        longPollService.await(CHANNEL_ID, 5L, null);
+
+        // when & then
+        assertThatThrownBy(() -> longPollService.await(CHANNEL_ID, 5L, null))
+                .isInstanceOf(LongPollCapacityExceededException.class);
+        assertThat(longPollService.getWaiterCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("0 이하의 timeout은 무기한 대기가 되지 않도록 최소 1초로, 최대값을 넘으면 최대값으로 제한한다")
+    void clampsTimeout() {
+        assertThat(longPollService.effectiveTimeout(Duration.ZERO)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(longPollService.effectiveTimeout(Duration.ofSeconds(-5))).isEqualTo(Duration.ofSeconds(1));
+        assertThat(longPollService.effectiveTimeout(Duration.ofMinutes(10))).isEqualTo(properties.getMaxTimeout());
+        assertThat(longPollService.effectiveTimeout(null)).isEqualTo(properties.getDefaultTimeout());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MessageResponse> awaitResult(DeferredResult<List<MessageResponse>> result) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(result.hasResult()).isTrue();
+        return (List<MessageResponse>) result.getResult();
+    }
+
+    private MessageResponse message(long sequence) {
+        return new MessageResponse(sequence, CHANNEL_ID, "user1", "메시지 " + sequence,
+                Message.MessageType.CHAT, sequence, ZonedDateTime.now());
+    }
+}
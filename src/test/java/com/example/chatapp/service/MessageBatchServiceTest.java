@@ -0,0 +1,195 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.dto.BatchMessageResult;
+import com.example.chatapp.dto.MessageRequest;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.entity.Message;
+import com.example.chatapp.repository.IdempotencyRepository;
+import com.example.chatapp.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MessageBatchServiceTest {
+
+    @Autowired
+    private MessageBatchService messageBatchService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private IdempotencyRepository idempotencyRepository;
+
+    @MockBean
+    private MessageCacheService messageCacheService;
+
+    @MockBean
+    private ChannelHeadService channelHeadService;
+
+    @MockBean
+    private InboxService inboxService;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        idempotencyRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("여러 채널의 메시지를 한 번에 저장하고 채널별 시퀀스를 순서대로 할당")
+    void saveMessages_assignsSequencesPerChannel() {
+        // given
+        List<MessageRequest> requests = List.of(
+                createMessageRequest("user1", "channel1", "msg-1"),
+                createMessageRequest("user1", "channel2", "msg-2"),
+                createMessageRequest("user2", "channel1", "msg-3"),
+                createMessageRequest("user2", "channel1", "msg-4")
+        );
+
+        // when
+        List<BatchMessageResult> results = messageBatchService.saveMessages(requests);
+
+        // then
+        assertThat(results).extracting(BatchMessageResult::getStatus)
+                .containsOnly(BatchMessageResult.Status.CREATED);
+        assertThat(results).extracting(result -> result.getMessage().getSequenceNumber())
+                .containsExactly(1L, 1L, 2L, 3L);
+        assertThat(results).extracting(BatchMessageResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(messageRepository.count()).isEqualTo(4L);
+        assertThat(idempotencyRepository.count()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("단건 API로 저장된 메시지와 배치 내 중복 요청은 기존 메시지를 반환")
+    void saveMessages_idempotency() {
+        // given
+        MessageResponse existing = messageService.saveMessage(createMessageRequest("user1", "channel1", "msg-1"));
+
+        List<MessageRequest> requests = List.of(
+                createMessageRequest("user1", "channel1", "msg-1"),
+                createMessageRequest("user1", "channel1", "msg-2"),
+                createMessageRequest("user1", "channel1", "msg-2")
+        );
+
+        // when
+        List<BatchMessageResult> results = messageBatchService.saveMessages(requests);
+
+        // then
+        assertThat(results).extracting(BatchMessageResult::getStatus).containsExactly(
+                BatchMessageResult.Status.DUPLICATE,
+                BatchMessageResult.Status.CREATED,
+                BatchMessageResult.Status.DUPLICATE);
+        assertThat(results.get(0).getMessage().getId()).isEqualTo(existing.getId());
+        assertThat(results.get(2).getMessage().getId()).isEqualTo(results.get(1).getMessage().getId());
+        assertThat(results.get(1).getMessage().getSequenceNumber()).isEqualTo(2L);
+
+        // DB에는 2개의 메시지와 2개의 멱등키만 저장되어야 함
+        assertThat(messageRepository.count()).isEqualTo(2L);
+        assertThat(idempotencyRepository.count()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("잘못된 항목은 INVALID로 반환하고 나머지 항목은 저장")
+    void saveMessages_invalidItems() {
+        // given
+        MessageRequest invalid = createMessageRequest("user1", "channel1", "msg-1");
+        invalid.setContent("");
+
+        List<MessageRequest> requests = List.of(invalid, createMessageRequest("user1", "channel1", "msg-2"));
+
+        // when
+        List<BatchMessageResult> results = messageBatchService.saveMessages(requests);
+
+        // then
+        assertThat(results.get(0).getStatus()).isEqualTo(BatchMessageResult.Status.INVALID);
+        assertThat(results.get(0).getError()).isEqualTo("메시지 내용은 필수입니다");
+        assertThat(results.get(1).getStatus()).isEqualTo(BatchMessageResult.Status.CREATED);
+        assertThat(messageRepository.count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("같은 채널에 단건 저장과 배치 수집이 동시에 들어와도 시퀀스가 겹치지 않는다")
+    void saveMessages_concurrentWithSingleSaves_assignsDistinctSequences() throws InterruptedException {
+        // given - 단건 저장 스레드 8개와 20건짜리 배치 스레드 2개가 같은 채널에 동시에 쓴다
+        int singleCount = 8;
+        int batchCount = 2;
+        int batchSize = 20;
+        ExecutorService executorService = Executors.newFixedThreadPool(singleCount + batchCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch finishLatch = new CountDownLatch(singleCount + batchCount);
+        AtomicInteger exceptionCount = new AtomicInteger();
+
+        // when - 각 스레드는 테스트 트랜잭션 밖에서 자신의 트랜잭션으로 커밋
+        for (int i = 0; i < singleCount; i++) {
+            MessageRequest request = createMessageRequest("single-user", "mixed-channel", "single-" + i);
+            executorService.submit(() -> runConcurrently(startLatch, finishLatch, exceptionCount,
+                    () -> messageService.saveMessage(request)));
+        }
+        for (int i = 0; i < batchCount; i++) {
+            List<MessageRequest> requests = new ArrayList<>();
+            for (int j = 0; j < batchSize; j++) {
+                requests.add(createMessageRequest("batch-user", "mixed-channel", "batch-" + i + "-" + j));
+            }
+            executorService.submit(() -> runConcurrently(startLatch, finishLatch, exceptionCount,
+                    () -> messageBatchService.saveMessages(requests)));
+        }
+        startLatch.countDown();
+        assertThat(finishLatch.await(30, TimeUnit.SECONDS)).isTrue();
+        executorService.shutdown();
+
+        // then
+        int total = singleCount + batchCount * batchSize;
+        assertThat(exceptionCount.get()).isZero();
+        assertThat(messageRepository.findAll())
+                .filteredOn(message -> message.getChannelId().equals("mixed-channel"))
+                .extracting(Message::getSequenceNumber)
+                .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, total).boxed().toList());
+    }
+
+    private void runConcurrently(CountDownLatch startLatch, CountDownLatch finishLatch, AtomicInteger exceptionCount,
+                                 Runnable action) {
+        try {
+            startLatch.await();
+            action.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            exceptionCount.incrementAndGet();
+        } finally {
+            finishLatch.countDown();
+        }
+    }
+
+    private MessageRequest createMessageRequest(String userId, String channelId, String clientMessageId) {
+        MessageRequest request = new MessageRequest();
+        request.setUserId(userId);
+        request.setChannelId(channelId);
+        request.setContent("배치 메시지 " + clientMessageId);
+        request.setClientMessageId(clientMessageId);
+        request.setMessageType(Message.MessageType.CHAT);
+        return request;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.ChannelHeadProperties;
+import com.example.chatapp.config.MessageMetricsProperties;
+import com.example.chatapp.service.MessageMetrics.CacheResult;
+import com.example.chatapp.service.MessageMetrics.ReadMode;
+import com.example.chatapp.service.MessageMetrics.ReadStage;
+import com.example.chatapp.service.MessageMetrics.RowSource;
+import com.example.chatapp.service.MessageMetrics.SaveOutcome;
+import com.example.chatapp.service.MessageMetrics.SaveStage;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MessageMetricsTest {
+
+    private static final String CHANNEL_ID = "metrics-channel";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MessageMetrics messageMetrics;
+    private String bucket;
+
+    @BeforeEach
+    void setUp() {
+        MessageMetricsProperties properties = new MessageMetricsProperties();
+        properties.setChannelBuckets(8);
+        messageMetrics = new MessageMetrics(registry, properties);
+        bucket = Integer.toString(messageMetrics.bucketOf(CHANNEL_ID));
+    }
+
+    @Test
+    @DisplayName("채널 수와 무관하게 channel.bucket 태그 값은 설정한 개수 안에 있다")
+    void channelBucketsAreBounded() {
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            messageMetrics.timeSaveStage(SaveStage.MESSAGE_INSERT, "channel-" + i, () -> null);
+        }
+
+        // then
+        assertThat(registry.find("chat.message.save.stage").tag("stage", "message_insert").timers())
+                .hasSize(8)
+                .allMatch(timer -> timer.count() > 0);
+        assertThat(messageMetrics.bucketOf(CHANNEL_ID)).isEqualTo(messageMetrics.bucketOf(CHANNEL_ID)).isBetween(0, 7);
+    }
+
+    @Test
+    @DisplayName("단계 타이머는 예외가 나도 기록되고 예외는 그대로 전파된다")
+    void stageTimerRecordsOnFailure() {
+        // when
+        assertThatThrownBy(() -> messageMetrics.timeSaveStage(SaveStage.IDEMPOTENCY_INSERT, CHANNEL_ID, () -> {
+            throw new IllegalStateException("DB 오류");
+        })).isInstanceOf(IllegalStateException.class);
+        messageMetrics.recordSave(SaveOutcome.ERROR, System.nanoTime());
+
+        // then
+        assertThat(stageTimer("chat.message.save.stage", "idempotency_insert").count()).isEqualTo(1);
+        assertThat(registry.get("chat.message.save").tag("outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(registry.get("chat.message.save").tag("outcome", "created").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("커밋 단계는 트랜잭션이 커밋될 때만 기록된다")
+    void commitStageRecordedAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            messageMetrics.timeCommit(CHANNEL_ID, System.nanoTime());
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(stageTimer("chat.message.save.stage", "commit").count()).isZero();
+
+            // when
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(stageTimer("chat.message.save.stage", "commit").count()).isEqualTo(1);
+
+        assertThat(registry.get("chat.message.save").tag("outcome", "created").timer().count()).isEqualTo(1);
+
+        // 트랜잭션 밖에서는 commit 단계 없이 바로 created로 기록
+        messageMetrics.timeCommit(CHANNEL_ID, System.nanoTime());
+        assertThat(stageTimer("chat.message.save.stage", "commit").count()).isEqualTo(1);
+        assertThat(registry.get("chat.message.save").tag("outcome", "created").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("커밋 단계는 먼저 등록된 커밋 후 작업(헤드 갱신, 이벤트)보다 먼저 끝나고 그 시간을 포함하지 않는다")
+    void commitStageExcludesOtherAfterCommitCallbacks() {
+        // given
+        RedisCircuitBreaker circuitBreaker = mock(RedisCircuitBreaker.class);
+        when(circuitBreaker.allowRequest()).thenReturn(true);
+        List<Long> commitCountsSeenByCallbacks = new ArrayList<>();
+        doAnswer(invocation -> {
+            commitCountsSeenByCallbacks.add(stageTimer("chat.message.save.stage", "commit").count());
+            return null;
+        }).when(circuitBreaker).execute(anyString(), any(Runnable.class));
+        ChannelHeadService channelHeadService = new ChannelHeadService(
+                mock(RedisTemplate.class), circuitBreaker, new ChannelHeadProperties());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // MessageService와 달리 다른 작업이 먼저 등록되어도 commit 단계가 먼저 실행되어야 한다
+            channelHeadService.advanceAfterCommit(CHANNEL_ID, 1L);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    commitCountsSeenByCallbacks.add(stageTimer("chat.message.save.stage", "commit").count());
+                }
+            });
+            messageMetrics.timeCommit(CHANNEL_ID, System.nanoTime());
+
+            // when - 트랜잭션 매니저와 같은 방식으로 콜백 실행
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(commitCountsSeenByCallbacks).containsExactly(1L, 1L);
+        assertThat(registry.get("chat.message.save").tag("outcome", "created").timer().count()).isEqualTo(1);
+        assertThat(registry.get("chat.message.save").tag("outcome", "error").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("커밋이 실패하면 created 대신 error로 기록된다")
+    void commitFailureRecordedAsError() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            messageMetrics.timeCommit(CHANNEL_ID, System.nanoTime());
+
+            // when - beforeCommit 이후 커밋 실패로 롤백
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then
+        assertThat(stageTimer("chat.message.save.stage", "commit").count()).isZero();
+        assertThat(registry.get("chat.message.save").tag("outcome", "created").timer().count()).isZero();
+        assertThat(registry.get("chat.message.save").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시 결과와 출처별 조회 건수를 조회 모드별로 기록한다")
+    void readMetrics() {
+        // given
+        List<String> partial = List.of("a", "b");
+
+        // when
+        messageMetrics.timeReadStage(ReadMode.AFTER, ReadStage.DB, CHANNEL_ID, () -> null);
+        messageMetrics.recordRows(ReadMode.AFTER, RowSource.CACHE, CHANNEL_ID, partial.size());
+        messageMetrics.recordRows(ReadMode.AFTER, RowSource.DB, CHANNEL_ID, 18);
+        messageMetrics.recordRows(ReadMode.AFTER, RowSource.ARCHIVE, CHANNEL_ID, 0);
+        messageMetrics.recordRead(ReadMode.AFTER, MessageMetrics.cacheResultOf(partial, 20), System.nanoTime());
+
+        // then
+        assertThat(MessageMetrics.cacheResultOf(null, 20)).isEqualTo(CacheResult.MISS);
+        assertThat(MessageMetrics.cacheResultOf(List.of(), 20)).isEqualTo(CacheResult.MISS);
+        assertThat(MessageMetrics.cacheResultOf(partial, 2)).isEqualTo(CacheResult.HIT);
+        assertThat(ReadMode.of(null, 10L)).isEqualTo(ReadMode.BEFORE);
+
+        assertThat(registry.get("chat.message.read").tags("mode", "after", "cache", "partial").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("chat.message.read.stage").tags("mode", "after", "stage", "db", "channel.bucket", bucket)
+                .timer().count()).isEqualTo(1);
+        assertThat(rows("cache")).isEqualTo(2);
+        assertThat(rows("db")).isEqualTo(18);
+        assertThat(rows("archive")).isZero();
+    }
+
+    private Timer stageTimer(String name, String stage) {
+        return registry.get(name).tags("stage", stage, "channel.bucket", bucket).timer();
+    }
+
+    private double rows(String source) {
+        return registry.get("chat.message.read.rows")
+                .tags("mode", "after", "source", source, "channel.bucket", bucket)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.MessagePartitionProperties;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.repository.MessagePartitionRepository;
+import com.example.chatapp.repository.MessagePartitionRepository.Partition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MessagePartitionManagerTest {
+
+    private static final OffsetDateTime CURRENT_MONTH = OffsetDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final MessagePartitionRepository partitionRepository = mock(MessagePartitionRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final MessagePartitionProperties properties = new MessagePartitionProperties();
+    private MessagePartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMonthsAhead(0);
+        properties.setRetentionMonths(3);
+        when(shardRouter.getShardCount()).thenReturn(1);
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.monthStart(anyInt()))
+                .thenAnswer(invocation -> CURRENT_MONTH.plusMonths(invocation.<Integer>getArgument(0)));
+        partitionManager = new MessagePartitionManager(partitionRepository, properties, shardRouter);
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 파티션은 분리/삭제 전에 채널별 마지막 시퀀스를 기록한다")
+    void savesSequenceFloorsBeforeDetachAndDrop() {
+        // given
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                new Partition("messages_2024_01", CURRENT_MONTH.minusMonths(4), false),
+                new Partition("messages_2024_02", CURRENT_MONTH.minusMonths(3), true),
+                new Partition("messages_2024_06", CURRENT_MONTH.plusMonths(1), false)));
+
+        // when
+        partitionManager.maintainPartitions();
+
+        // then
+        InOrder order = inOrder(partitionRepository);
+        order.verify(partitionRepository).saveSequenceFloors("messages_2024_01");
+        order.verify(partitionRepository).detachPartition(eq("messages_2024_01"), any());
+        order.verify(partitionRepository).dropTable(eq("messages_2024_01"), any());
+        order.verify(partitionRepository).saveSequenceFloors("messages_2024_02");
+        order.verify(partitionRepository).finalizeDetach(eq("messages_2024_02"), any());
+        order.verify(partitionRepository).dropTable(eq("messages_2024_02"), any());
+        verify(partitionRepository, never()).saveSequenceFloors("messages_2024_06");
+    }
+
+    @Test
+    @DisplayName("파티션 테이블이 아니면 시퀀스 하한을 조회하지 않는다")
+    void findSequenceFloors_notPartitioned() {
+        // given
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        // when
+        Map<String, Long> floors = partitionManager.findSequenceFloors(List.of("channel-1"));
+
+        // then
+        assertThat(floors).isEmpty();
+        verify(partitionRepository, never()).findSequenceFloors(anyList());
+    }
+}
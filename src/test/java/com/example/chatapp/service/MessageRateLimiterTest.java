@@ -0,0 +1,159 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.RateLimitProperties;
+import com.example.chatapp.config.RedisResilienceProperties;
+import com.example.chatapp.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MessageRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MessageRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(
+                new RedisResilienceProperties.CircuitBreaker(), () -> true, clock);
+        rateLimiter = new MessageRateLimiter(redisTemplate, circuitBreaker,
+                new RedisClusterSupport(redisTemplate, circuitBreaker, false), new RateLimitProperties(), registry, clock);
+    }
+
+    @Test
+    @DisplayName("Redis가 거부하면 재시도 시각까지 같은 키는 Redis 호출 없이 로컬에서 거부한다")
+    void rejectsLocallyUntilRetryAfter() {
+        // given - 채널 버킷(2번째 키)이 1500ms 후 재시도
+        givenScriptResult(List.of(0L, 1500L, 2L));
+
+        // when & then
+        assertThatThrownBy(() -> rateLimiter.check("user1", "busy-channel"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterMillis").isEqualTo(1500L);
+
+        clock.advance(Duration.ofMillis(1000));
+        assertThatThrownBy(() -> rateLimiter.check("user2", "busy-channel"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterMillis").isEqualTo(500L);
+        verifyScriptCalls(1);
+        assertThat(registry.counter("chat.ratelimit.rejected", "scope", "channel", "source", "local").count())
+                .isEqualTo(1.0);
+
+        // 재시도 시각이 지나면 다시 Redis로 확인
+        givenScriptResult(List.of(1L, 0L, 0L));
+        clock.advance(Duration.ofMillis(500));
+        assertThatCode(() -> rateLimiter.check("user2", "busy-channel")).doesNotThrowAnyException();
+        verifyScriptCalls(2);
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시에는 요청을 허용한다")
+    @SuppressWarnings("unchecked")
+    void allowsWhenRedisFails() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // when & then
+        assertThatCode(() -> rateLimiter.check("user1", "channel1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("만료된 로컬 거부 상태는 정리된다")
+    void sweepsExpiredDenials() {
+        // given
+        givenScriptResult(List.of(0L, 200L, 1L));
+        assertThatThrownBy(() -> rateLimiter.check("flooding-user", "channel1"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(rateLimiter.getTrackedCount()).isEqualTo(1);
+
+        // when
+        clock.advance(Duration.ofMillis(200));
+        rateLimiter.sweepExpired();
+
+        // then
+        assertThat(rateLimiter.getTrackedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("클러스터 모드에서는 버킷마다 따로 차감하고 채널 버킷이 거부하면 사용자 토큰을 되돌린다")
+    @SuppressWarnings("unchecked")
+    void refundsUserTokenWhenChannelDeniesInClusterMode() {
+        // given
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(
+                new RedisResilienceProperties.CircuitBreaker(), () -> true, clock);
+        MessageRateLimiter clusterRateLimiter = new MessageRateLimiter(redisTemplate, circuitBreaker,
+                new RedisClusterSupport(redisTemplate, circuitBreaker, true), new RateLimitProperties(), registry, clock);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("rate_limit:user:user1")), any(), any()))
+                .thenReturn(List.of(1L, 0L, 0L));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("rate_limit:channel:busy-channel")), any(), any()))
+                .thenReturn(List.of(0L, 300L, 1L));
+
+        // when & then
+        assertThatThrownBy(() -> clusterRateLimiter.check("user1", "busy-channel"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting("retryAfterMillis").isEqualTo(300L);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("rate_limit:user:user1")), eq("20"));
+        assertThat(registry.counter("chat.ratelimit.rejected", "scope", "channel", "source", "redis").count())
+                .isEqualTo(1.0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenScriptResult(List<Long> result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyScriptCalls(int times) {
+        verify(redisTemplate, times(times)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
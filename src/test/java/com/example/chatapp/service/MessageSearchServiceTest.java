@@ -0,0 +1,103 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.MessageSearchProperties;
+import com.example.chatapp.config.ReadReplicaProperties;
+import com.example.chatapp.datasource.ShardRouter;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.dto.MessageSearchHit;
+import com.example.chatapp.dto.MessageSearchResponse;
+import com.example.chatapp.entity.Message;
+import com.example.chatapp.exception.InvalidSearchQueryException;
+import com.example.chatapp.repository.MessageSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MessageSearchServiceTest {
+
+    private static final String CHANNEL_ID = "search-channel";
+    private static final ZonedDateTime BASE = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+    private final MessageSearchRepository messageSearchRepository = mock(MessageSearchRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private MessageSearchService messageSearchService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(shardRouter.onShardOf(anyString(), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        messageSearchService = new MessageSearchService(messageSearchRepository, shardRouter,
+                new ReadReplicaProperties(), new MessageSearchProperties());
+    }
+
+    @Test
+    @DisplayName("limit보다 결과가 많으면 마지막 결과의 (rank, sequence)로 다음 페이지 커서를 만든다")
+    void returnsKeysetCursorForNextPage() {
+        // given - limit 2, 3건 조회됨
+        when(messageSearchRepository.search(eq(CHANNEL_ID), eq("배포"), isNull(), isNull(), eq(3), anyString()))
+                .thenReturn(List.of(hit(9, 0.3f), hit(7, 0.1f), hit(4, 0.1f)));
+        when(messageSearchRepository.search(eq(CHANNEL_ID), eq("배포"), eq(0.1f), eq(7L), eq(3), anyString()))
+                .thenReturn(List.of(hit(4, 0.1f)));
+
+        // when
+        MessageSearchResponse first = messageSearchService.search(CHANNEL_ID, "배포", null, 2);
+        MessageSearchResponse second = messageSearchService.search(CHANNEL_ID, "배포", first.getNextCursor(), 2);
+
+        // then
+        assertThat(first.getHits()).extracting(hit -> hit.getMessage().getSequenceNumber()).containsExactly(9L, 7L);
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getHits()).extracting(hit -> hit.getMessage().getSequenceNumber()).containsExactly(4L);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("하이라이트는 본문을 HTML 이스케이프하고 일치한 단어만 mark로 감싼다")
+    void escapesHighlight() {
+        // given
+        when(messageSearchRepository.search(anyString(), anyString(), any(), any(), anyInt(), anyString()))
+                .thenReturn(List.of(new MessageSearchHit(message(1), 0.1f,
+                        "<b>" + MessageSearchRepository.HIGHLIGHT_START + "배포" + MessageSearchRepository.HIGHLIGHT_STOP + "</b>")));
+
+        // when
+        MessageSearchResponse response = messageSearchService.search(CHANNEL_ID, "배포", null, null);
+
+        // then
+        assertThat(response.getHits().get(0).getHighlight()).isEqualTo("&lt;b&gt;<mark>배포</mark>&lt;/b&gt;");
+    }
+
+    @Test
+    @DisplayName("빈 검색어, 범위를 벗어난 limit, 잘못된 커서는 거부한다")
+    void rejectsInvalidRequests() {
+        assertThatThrownBy(() -> messageSearchService.search(CHANNEL_ID, " ", null, null))
+                .isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> messageSearchService.search(CHANNEL_ID, "배포", null, 101))
+                .isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> messageSearchService.search(CHANNEL_ID, "배포", "not-a-cursor", null))
+                .isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    private MessageSearchHit hit(long sequence, float rank) {
+        return new MessageSearchHit(message(sequence), rank, "메시지 " + sequence);
+    }
+
+    private MessageResponse message(long sequence) {
+        return new MessageResponse(100 + sequence, CHANNEL_ID, "user-1", "배포 메시지 " + sequence,
+                Message.MessageType.CHAT, sequence, BASE.plusSeconds(sequence));
+    }
+}
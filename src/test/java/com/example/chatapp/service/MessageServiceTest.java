@@ -24,6 +24,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -42,6 +46,12 @@ class MessageServiceTest {
     @MockBean
     private MessageCacheService messageCacheService;
 
+    @MockBean
+    private ChannelHeadService channelHeadService;
+
+    @MockBean
+    private InboxService inboxService;
+
     @Autowired
     private TransactionTemplate transactionTemplate;
 
@@ -86,6 +96,20 @@ class MessageServiceTest {
         assertThat(savedMessage.getSequenceNumber()).isEqualTo(1L);
     }
 
+    @Test
+    @DisplayName("채널 헤드는 트랜잭션 커밋 후에만 갱신되도록 등록")
+    void saveMessage_advancesChannelHeadAfterCommit() {
+        // given
+        MessageRequest request = createMessageRequest("user1", "channel1", "안녕하세요", "client-msg-1");
+
+        // when
+        messageService.saveMessage(request);
+
+        // then
+        verify(channelHeadService).advanceAfterCommit("channel1", 1L);
+        verify(channelHeadService, never()).advance(anyString(), anyLong());
+    }
+
     @Test
     @DisplayName("채널별 시퀀스 번호 순차 증가")
     void saveMessage_sequenceNumberIncrement() {
@@ -289,7 +313,7 @@ class MessageServiceTest {
         MessageResponse response = messageService.saveMessage(request);
 
         // then
-        String expectedIdempotencyHash = IdempotencyKey.generateHash(userId, channelId, clientMessageId);
+        byte[] expectedIdempotencyHash = IdempotencyKey.generateHash(userId, channelId, clientMessageId);
 
         // 멱등키가 올바르게 저장되었는지 확인
         var idempotencyKey = idempotencyRepository.findById(expectedIdempotencyHash);
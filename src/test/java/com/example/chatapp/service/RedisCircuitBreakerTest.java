@@ -0,0 +1,140 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.RedisResilienceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicBoolean redisHealthy = new AtomicBoolean(false);
+    private RedisCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        RedisResilienceProperties.CircuitBreaker properties = new RedisResilienceProperties.CircuitBreaker();
+        properties.setFailureThreshold(3);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        circuitBreaker = new RedisCircuitBreaker(properties, redisHealthy::get, clock);
+    }
+
+    @Test
+    @DisplayName("연속 실패가 임계치에 도달하면 OPEN 되고 이후 요청은 Redis를 호출하지 않는다")
+    void opensAfterFailureThreshold() {
+        // given
+        AtomicInteger redisCalls = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.execute("캐시 조회", () -> {
+                redisCalls.incrementAndGet();
+                throw new IllegalStateException("timeout");
+            }, "fallback");
+        }
+        String result = circuitBreaker.execute("캐시 조회", () -> {
+            redisCalls.incrementAndGet();
+            return "redis";
+        }, "fallback");
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(result).isEqualTo("fallback");
+        assertThat(redisCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("성공이 끼어들면 연속 실패 횟수가 초기화된다")
+    void successResetsFailureCount() {
+        // when
+        circuitBreaker.execute("캐시 조회", () -> { throw new IllegalStateException("timeout"); }, null);
+        circuitBreaker.execute("캐시 조회", () -> { throw new IllegalStateException("timeout"); }, null);
+        circuitBreaker.execute("캐시 조회", () -> "ok", null);
+        circuitBreaker.execute("캐시 조회", () -> { throw new IllegalStateException("timeout"); }, null);
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getConsecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("OPEN 기간 동안에는 probe 하지 않고, 이후 probe 성공 시 CLOSED로 복구된다")
+    void probeClosesBreakerAfterOpenDuration() {
+        // given
+        openBreaker();
+        redisHealthy.set(true);
+
+        // when - 쿨다운 이전
+        clock.advance(Duration.ofSeconds(5));
+        circuitBreaker.probe();
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        // when - 쿨다운 이후
+        clock.advance(Duration.ofSeconds(5));
+        circuitBreaker.probe();
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    @DisplayName("probe 실패 시 OPEN 상태가 유지되고 쿨다운이 다시 시작된다")
+    void failedProbeRestartsOpenDuration() {
+        // given
+        openBreaker();
+        clock.advance(Duration.ofSeconds(10));
+
+        // when
+        circuitBreaker.probe();
+        redisHealthy.set(true);
+        clock.advance(Duration.ofSeconds(5));
+        circuitBreaker.probe();
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.execute("캐시 조회", () -> { throw new IllegalStateException("timeout"); }, null);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.RedisResilienceProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisClusterSupportTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(
+            new RedisResilienceProperties.CircuitBreaker(), () -> true, Clock.systemUTC());
+
+    @Test
+    @DisplayName("같은 채널의 키는 prefix가 달라도 같은 슬롯에 놓인다")
+    void channelKeysShareSlot() {
+        // given
+        String cacheKey = RedisClusterSupport.channelKey("message_cache:", "channel-1");
+        String headKey = RedisClusterSupport.channelKey("channel_head:", "channel-1");
+        String lastKey = RedisClusterSupport.channelKey("channel_last:", "channel-1");
+
+        // when & then
+        assertThat(cacheKey).isEqualTo("message_cache:{channel-1}");
+        assertThat(RedisClusterSupport.slotOf(headKey)).isEqualTo(RedisClusterSupport.slotOf(cacheKey));
+        assertThat(RedisClusterSupport.slotOf(lastKey)).isEqualTo(RedisClusterSupport.slotOf(cacheKey));
+        assertThat(RedisClusterSupport.groupBySlot(List.of(cacheKey, headKey, lastKey))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("클러스터 모드에서는 노드별로 파이프라인을 나누고, 실패한 노드의 키만 결과가 비어 있다")
+    @SuppressWarnings("unchecked")
+    void pipelinesPerNodeAndKeepsOtherNodesOnFailure() {
+        // given - 슬롯이 다른 세 채널 중 둘은 node-a, 하나는 node-b (node-b 장애)
+        List<String> keys = List.of(
+                RedisClusterSupport.channelKey("channel_last:", "channel-1"),
+                RedisClusterSupport.channelKey("channel_last:", "channel-2"),
+                RedisClusterSupport.channelKey("channel_last:", "channel-3"));
+        RedisClusterNode nodeA = new RedisClusterNode("10.0.0.1", 7001);
+        RedisClusterNode nodeB = new RedisClusterNode("10.0.0.2", 7002);
+        RedisClusterConnection clusterConnection = mock(RedisClusterConnection.class);
+        when(clusterConnection.clusterGetNodeForSlot(RedisClusterSupport.slotOf(keys.get(0)))).thenReturn(nodeA);
+        when(clusterConnection.clusterGetNodeForSlot(RedisClusterSupport.slotOf(keys.get(1)))).thenReturn(nodeB);
+        when(clusterConnection.clusterGetNodeForSlot(RedisClusterSupport.slotOf(keys.get(2)))).thenReturn(nodeA);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(clusterConnection));
+
+        List<List<String>> pipelines = new ArrayList<>();
+        List<String> queued = new ArrayList<>();
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            queued.clear();
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(mock(RedisConnection.class));
+            pipelines.add(List.copyOf(queued));
+            if (queued.contains(keys.get(1))) {
+                throw new RedisConnectionFailureException("node-b down");
+            }
+            return queued.stream().map(key -> "value:" + key).collect(Collectors.toList());
+        });
+
+        RedisClusterSupport clusterSupport = new RedisClusterSupport(redisTemplate, circuitBreaker, true);
+
+        // when
+        List<Object> values = clusterSupport.executePipelined("조회", keys,
+                (connection, key) -> queued.add(new String(key, StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(pipelines).hasSize(2);
+        assertThat(pipelines).anySatisfy(pipeline -> assertThat(pipeline).containsExactlyInAnyOrder(keys.get(0), keys.get(2)));
+        assertThat(values).containsExactly("value:" + keys.get(0), null, "value:" + keys.get(2));
+    }
+
+    @Test
+    @DisplayName("단일 노드 모드에서는 파이프라인 한 번으로 보낸다")
+    @SuppressWarnings("unchecked")
+    void pipelinesOnceInStandaloneMode() {
+        // given
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of("a", "b"));
+        RedisClusterSupport clusterSupport = new RedisClusterSupport(redisTemplate, circuitBreaker, false);
+
+        // when
+        List<Object> values = clusterSupport.executePipelined("조회", List.of("k1", "k2"), (connection, key) -> { });
+
+        // then
+        assertThat(values).containsExactly("a", "b");
+    }
+}
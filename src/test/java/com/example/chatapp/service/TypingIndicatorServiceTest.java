@@ -0,0 +1,143 @@
+package com.example.chatapp.service;
+
+import com.example.chatapp.config.TypingIndicatorProperties;
+import com.example.chatapp.dto.MessageResponse;
+import com.example.chatapp.dto.TypingEvent;
+import com.example.chatapp.entity.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TypingIndicatorServiceTest {
+
+    private static final String CHANNEL_ID = "typing-channel";
+    private static final String DESTINATION = "/topic/channel/" + CHANNEL_ID + "/typing";
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private TypingIndicatorService typingIndicatorService;
+
+    @BeforeEach
+    void setUp() {
+        TypingIndicatorProperties properties = new TypingIndicatorProperties();
+        properties.setThrottleInterval(Duration.ofSeconds(1));
+        properties.setTtl(Duration.ofSeconds(5));
+        typingIndicatorService = new TypingIndicatorService(messagingTemplate, properties, clock);
+    }
+
+    @Test
+    @DisplayName("연속 입력 신호는 합쳐지고 ttl의 절반마다 한 번만 갱신 알림을 보낸다")
+    void coalescesTypingSignals() {
+        // when - 200ms 간격으로 4초 동안 입력
+        for (int i = 0; i < 20; i++) {
+            typingIndicatorService.onTyping(CHANNEL_ID, "user1", true);
+            clock.advance(Duration.ofMillis(200));
+        }
+
+        // then - 0s 최초 알림 + 2.5s 갱신
+        List<TypingEvent> events = sentEvents(2);
+        assertThat(events).allMatch(TypingEvent::isTyping);
+        assertThat(events.get(0).getUserId()).isEqualTo("user1");
+        assertThat(events.get(0).getTtlMs()).isEqualTo(5000);
+    }
+
+    @Test
+    @DisplayName("throttle 구간 안의 중단 신호는 보류했다가 sweep에서 한 번 보낸다")
+    void deferredStopIsSentBySweep() {
+        // given
+        typingIndicatorService.onTyping(CHANNEL_ID, "user1", true);
+        clock.advance(Duration.ofMillis(300));
+
+        // when
+        typingIndicatorService.onTyping(CHANNEL_ID, "user1", false);
+        typingIndicatorService.sweep();
+
+        // then - 아직 throttle 구간
+        sentEvents(1);
+        assertThat(typingIndicatorService.getTrackedCount()).isEqualTo(1);
+
+        clock.advance(Duration.ofMillis(700));
+        typingIndicatorService.sweep();
+
+        List<TypingEvent> events = sentEvents(2);
+        assertThat(events.get(1).isTyping()).isFalse();
+        assertThat(typingIndicatorService.getTrackedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("중단 신호 없이 ttl이 지나면 알림 없이 만료된다")
+    void expiresSilently() {
+        // given
+        typingIndicatorService.onTyping(CHANNEL_ID, "user1", true);
+
+        // when
+        clock.advance(Duration.ofSeconds(5));
+        typingIndicatorService.sweep();
+
+        // then
+        sentEvents(1);
+        assertThat(typingIndicatorService.getTrackedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("메시지를 보내면 입력 중 상태가 정리되고, 입력한 적 없는 사용자의 중단 신호는 무시된다")
+    void messageClearsTypingState() {
+        // given
+        typingIndicatorService.onTyping(CHANNEL_ID, "user1", true);
+
+        // when
+        typingIndicatorService.onMessageCreated(new MessageCreatedEvent(new MessageResponse(1L, CHANNEL_ID, "user1",
+                "안녕하세요", Message.MessageType.CHAT, 1L, ZonedDateTime.now())));
+        typingIndicatorService.onTyping(CHANNEL_ID, "user2", false);
+
+        // then
+        assertThat(typingIndicatorService.getTrackedCount()).isZero();
+        sentEvents(1);
+    }
+
+    private List<TypingEvent> sentEvents(int expected) {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(expected)).convertAndSend(eq(DESTINATION), captor.capture());
+        return captor.getAllValues().stream().map(TypingEvent.class::cast).toList();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.chatapp.websocket;
+
+import com.example.chatapp.config.WebSocketBrokerProperties;
+import com.example.chatapp.config.WebSocketBrokerProperties.Outbound.SlowConsumerPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundQueueSessionTest {
+
+    private static final int MAX_QUEUED = 10;
+    private static final int FRAMES = 200;
+    private static final int SENDER_THREADS = 4;
+
+    private WebSocketBrokerProperties.Outbound settings;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundQueueMetrics metrics;
+    private ExecutorService senderExecutor;
+    private ExecutorService closeExecutor;
+
+    @BeforeEach
+    void setUp() {
+        settings = new WebSocketBrokerProperties.Outbound();
+        settings.setMaxQueuedMessages(MAX_QUEUED);
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new OutboundQueueMetrics(meterRegistry);
+        senderExecutor = Executors.newFixedThreadPool(SENDER_THREADS);
+        closeExecutor = Executors.newFixedThreadPool(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        senderExecutor.shutdownNow();
+        closeExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("느린 세션이 소켓 쓰기에 묶여 있어도 다른 세션은 지연 없이 모든 프레임을 받는다")
+    void slowConsumerDoesNotDelayOthers() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> slowReceived = Collections.synchronizedList(new ArrayList<>());
+        List<String> fastReceived = Collections.synchronizedList(new ArrayList<>());
+        OutboundQueueSession slow = session("slow", slowReceived, release);
+        // 빠른 세션은 한도를 넉넉히 두어 (이 테스트 스레드가 송신 스레드보다 앞서 나가도) 버림 없이 받는지만 본다
+        WebSocketBrokerProperties.Outbound fastSettings = new WebSocketBrokerProperties.Outbound();
+        fastSettings.setMaxQueuedMessages(FRAMES);
+        OutboundQueueSession fast = new OutboundQueueSession(
+                delegate("fast", fastReceived, null), fastSettings, senderExecutor, closeExecutor, metrics);
+
+        // when - 브로커 스레드처럼 두 세션에 번갈아 전송
+        long startedAt = System.nanoTime();
+        for (int i = 1; i <= FRAMES; i++) {
+            slow.sendMessage(messageFrame("sub-0", i));
+            fast.sendMessage(messageFrame("sub-0", i));
+        }
+        long brokerMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // then
+        waitUntil(() -> fastReceived.size() == FRAMES);
+        assertThat(brokerMillis).isLessThan(1000);
+        assertThat(fastReceived).allMatch(frame -> !frame.contains("\ngap:"));
+        assertThat(slow.getQueueSize()).isLessThanOrEqualTo(MAX_QUEUED);
+        assertThat(slowReceived).hasSize(1);
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST는 오래된 MESSAGE 프레임을 버리고 버린 수를 담은 GAP 프레임을 보낸다")
+    void dropOldestSendsGapFrame() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        OutboundQueueSession slow = session("slow", received, release);
+
+        // when - 첫 프레임 전송이 소켓에 묶인 뒤 나머지를 보냄
+        slow.sendMessage(messageFrame("sub-0", 1));
+        waitUntil(() -> received.size() == 1);
+        for (int i = 2; i <= FRAMES; i++) {
+            slow.sendMessage(messageFrame("sub-0", i));
+            if (i == 5) {
+                slow.sendMessage(new TextMessage("RECEIPT\nreceipt-id:r-1\n\n\u0000"));
+            }
+        }
+        release.countDown();
+
+        // then - 소켓에 묶였던 첫 프레임 + 남은 대기열(RECEIPT, GAP, 최근 프레임들)
+        waitUntil(() -> slow.getQueueSize() == 0 && received.size() == MAX_QUEUED + 1);
+
+        List<String> gaps = received.stream().filter(frame -> frame.contains("\ngap:")).toList();
+        assertThat(gaps).hasSize(1);
+        String gap = gaps.get(0);
+        int dropped = Integer.parseInt(gap.substring(gap.indexOf("\ngap:") + 5, gap.indexOf('\n', gap.indexOf("\ngap:") + 1)));
+
+        assertThat(gap).startsWith("MESSAGE\n")
+                .contains("\nsubscription:sub-0\n")
+                .contains("\ndestination:/topic/channel/c1\n")
+                .contains("{\"type\":\"GAP\",\"dropped\":" + dropped + "}");
+        assertThat(received).anyMatch(frame -> frame.startsWith("RECEIPT\n"));
+
+        long delivered = received.stream().filter(frame -> frame.contains("\nmessage-id:m-")).count();
+        assertThat(delivered + dropped).isEqualTo(FRAMES);
+        assertThat(received.get(received.size() - 1)).contains("\nmessage-id:m-" + FRAMES + "\n");
+        assertThat(meterRegistry.counter("chat.websocket.outbound.dropped").count()).isEqualTo(dropped);
+        assertThat(meterRegistry.counter("chat.websocket.outbound.gaps").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT는 대기열이 넘치면 세션을 닫고 이후 프레임은 무시한다")
+    void disconnectClosesSession() throws Exception {
+        // given
+        settings.setSlowConsumerPolicy(SlowConsumerPolicy.DISCONNECT);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        WebSocketSession delegate = delegate("slow", received, release);
+        OutboundQueueSession slow = new OutboundQueueSession(delegate, settings, senderExecutor, closeExecutor, metrics);
+
+        // when
+        for (int i = 1; i <= FRAMES; i++) {
+            slow.sendMessage(messageFrame("sub-0", i));
+        }
+        release.countDown();
+
+        // then
+        verify(delegate, timeout(2000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(slow.getQueueSize()).isZero();
+        assertThat(received).hasSizeLessThanOrEqualTo(1);
+        assertThat(meterRegistry.counter("chat.websocket.outbound.slow.disconnects").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("송신 스레드가 모두 소켓 쓰기에 묶여 있어도 느린 세션은 바로 닫힌다")
+    void closesWhileAllSenderThreadsBlocked() throws Exception {
+        // given - 송신 스레드 수만큼의 세션이 첫 프레임 전송에서 멈춤
+        CountDownLatch release = new CountDownLatch(1);
+        List<WebSocketSession> blockedDelegates = new ArrayList<>();
+        List<OutboundQueueSession> blocked = new ArrayList<>();
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < SENDER_THREADS; i++) {
+            WebSocketSession delegate = delegate("blocked-" + i, received, release);
+            blockedDelegates.add(delegate);
+            blocked.add(new OutboundQueueSession(delegate, settings, senderExecutor, closeExecutor, metrics));
+        }
+        for (OutboundQueueSession session : blocked) {
+            session.sendMessage(messageFrame("sub-0", 1));
+        }
+        waitUntil(() -> received.size() == SENDER_THREADS);
+
+        // when - 정리 스레드가 멈춘 세션을 닫고, 다른 세션은 대기열 초과로 끊김
+        blocked.get(0).closeSlowConsumer("전송 시간 초과");
+
+        WebSocketBrokerProperties.Outbound disconnectSettings = new WebSocketBrokerProperties.Outbound();
+        disconnectSettings.setMaxQueuedMessages(MAX_QUEUED);
+        disconnectSettings.setSlowConsumerPolicy(SlowConsumerPolicy.DISCONNECT);
+        WebSocketSession overflowDelegate = delegate("overflow", received, null);
+        OutboundQueueSession overflow = new OutboundQueueSession(
+                overflowDelegate, disconnectSettings, senderExecutor, closeExecutor, metrics);
+        for (int i = 1; i <= FRAMES; i++) {
+            overflow.sendMessage(messageFrame("sub-0", i));
+        }
+
+        // then - release 전에 두 세션 모두 닫힘
+        verify(blockedDelegates.get(0), timeout(2000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(overflowDelegate, timeout(2000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(release.getCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("chat.websocket.outbound.slow.disconnects").count()).isEqualTo(2);
+
+        release.countDown();
+    }
+
+    private OutboundQueueSession session(String id, List<String> received, CountDownLatch release) {
+        try {
+            return new OutboundQueueSession(delegate(id, received, release), settings, senderExecutor, closeExecutor, metrics);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // release가 있으면 첫 전송에서 release 될 때까지 멈추는 (느린 소켓) 세션
+    private WebSocketSession delegate(String id, List<String> received, CountDownLatch release) throws Exception {
+        WebSocketSession delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn(id);
+        doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            received.add((String) message.getPayload());
+            if (release != null) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(delegate).sendMessage(any());
+        return delegate;
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("조건 대기 시간 초과").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private TextMessage messageFrame(String subscription, int sequence) {
+        String body = "{\"channelId\":\"c1\",\"sequenceNumber\":" + sequence + "}";
+        return new TextMessage("MESSAGE\n" +
+                "destination:/topic/channel/c1\n" +
+                "subscription:" + subscription + "\n" +
+                "message-id:m-" + sequence + "\n" +
+                "content-length:" + body.length() + "\n" +
+                "\n" + body + "\u0000");
+    }
+}